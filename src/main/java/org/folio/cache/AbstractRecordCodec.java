@@ -0,0 +1,55 @@
+package org.folio.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers for writing nullable values. Strings are written as a length prefixed UTF-8 byte array with {@code -1}
+ * standing for {@code null}, enums as their ordinal with {@code -1} for {@code null}.
+ */
+public abstract class AbstractRecordCodec<V> implements RecordCodec<V> {
+
+  private static final int NULL_MARKER = -1;
+
+  protected void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(NULL_MARKER);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  protected String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length == NULL_MARKER) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  protected void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+    out.writeByte(value == null ? NULL_MARKER : value.ordinal());
+  }
+
+  protected <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+    int ordinal = in.readByte();
+    return ordinal == NULL_MARKER ? null : values[ordinal];
+  }
+
+  protected void writeInteger(DataOutput out, Integer value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeInt(value);
+    }
+  }
+
+  protected Integer readInteger(DataInput in) throws IOException {
+    return in.readBoolean() ? in.readInt() : null;
+  }
+}
@@ -0,0 +1,37 @@
+package org.folio.cache;
+
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
+
+import org.folio.holdingsiq.model.Configuration;
+
+/**
+ * Builds the cache partition of an RM API account.
+ *
+ * Tenants configured with the same customer id, url and API key see the same knowledge base, so cached records and
+ * responses are partitioned by account rather than by tenant and shared between those tenants. The API key only
+ * enters the partition as a truncated hash, so it never shows up in cache keys or statistics.
+ */
+public final class AccountKeys {
+  private static final int API_KEY_HASH_LENGTH = 16;
+
+  private AccountKeys() {
+  }
+
+  public static String of(Configuration configuration) {
+    String apiKeyHash = Hashing.sha256()
+      .hashString(Strings.nullToEmpty(configuration.getApiKey()), StandardCharsets.UTF_8)
+      .toString()
+      .substring(0, API_KEY_HASH_LENGTH);
+    return escape(configuration.getCustomerId()) + "@" + escape(configuration.getUrl()) + "#" + apiKeyHash;
+  }
+
+  /**
+   * Keeps the key separator of {@link ResponseCache#key(String...)} out of the partition.
+   */
+  private static String escape(String value) {
+    return Strings.nullToEmpty(value).replace("|", "%7C");
+  }
+}
@@ -0,0 +1,77 @@
+package org.folio.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Byte budget of a cache, shared fairly between its partitions.
+ *
+ * Any partition may use the whole budget while there is room. Once the budget is nearly used up, a partition using
+ * more than an equal share of it is the one that has to give up entries, so one busy tenant cannot push everybody
+ * else out of the cache.
+ *
+ * The module's heap budget is split between the heap caches with {@link #share(double)}, so that together they never
+ * retain more than it.
+ */
+public class CacheBudget {
+  private static final double HIGH_WATER_MARK = 0.9;
+
+  private final long totalBytes;
+  private final Map<String, Long> partitions = new ConcurrentHashMap<>();
+  private final AtomicLong usedBytes = new AtomicLong();
+
+  public CacheBudget(long totalBytes) {
+    this.totalBytes = totalBytes;
+  }
+
+  /**
+   * Creates a budget of the given fraction of the maximum heap size.
+   */
+  public static CacheBudget ofHeapFraction(double fraction) {
+    return new CacheBudget((long) (Runtime.getRuntime().maxMemory() * fraction));
+  }
+
+  /**
+   * Creates a budget of the given fraction of this one, for one of the caches splitting it.
+   */
+  public CacheBudget share(double fraction) {
+    return new CacheBudget((long) (totalBytes * fraction));
+  }
+
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public long getUsedBytes() {
+    return usedBytes.get();
+  }
+
+  public long getUsedBytes(String partition) {
+    return partitions.getOrDefault(partition, 0L);
+  }
+
+  public void add(String partition, long bytes) {
+    partitions.merge(partition, bytes, Long::sum);
+    usedBytes.addAndGet(bytes);
+  }
+
+  public void release(String partition, long bytes) {
+    partitions.computeIfPresent(partition, (key, used) -> used > bytes ? used - bytes : null);
+    usedBytes.addAndGet(-bytes);
+  }
+
+  /**
+   * Whether the budget is nearly used up and partitions over their share should give up entries.
+   */
+  public boolean isFull() {
+    return usedBytes.get() > totalBytes * HIGH_WATER_MARK;
+  }
+
+  /**
+   * Whether the partition uses more than an equal share of the budget among the partitions currently using it.
+   */
+  public boolean isOverShare(String partition) {
+    return getUsedBytes(partition) > totalBytes / Math.max(1, partitions.size());
+  }
+}
@@ -0,0 +1,48 @@
+package org.folio.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per partition hit, miss and eviction counters of a cache.
+ */
+public class CacheCounters {
+
+  private final Map<String, Counters> partitions = new ConcurrentHashMap<>();
+
+  public void recordHit(String partition) {
+    counters(partition).hits.increment();
+  }
+
+  public void recordMiss(String partition) {
+    counters(partition).misses.increment();
+  }
+
+  public void recordEviction(String partition) {
+    counters(partition).evictions.increment();
+  }
+
+  public Set<String> getPartitions() {
+    return partitions.keySet();
+  }
+
+  public CacheUsage usage(String partition, long entries, long weight) {
+    Counters counters = partitions.get(partition);
+    if (counters == null) {
+      return new CacheUsage(entries, weight, 0, 0, 0);
+    }
+    return new CacheUsage(entries, weight, counters.hits.sum(), counters.misses.sum(), counters.evictions.sum());
+  }
+
+  private Counters counters(String partition) {
+    return partitions.computeIfAbsent(partition, t -> new Counters());
+  }
+
+  private static final class Counters {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+  }
+}
@@ -0,0 +1,48 @@
+package org.folio.cache;
+
+/**
+ * Snapshot of the usage of a cache by one partition.
+ */
+public final class CacheUsage {
+  private final long entries;
+  private final long weight;
+  private final long hits;
+  private final long misses;
+  private final long evictions;
+
+  public CacheUsage(long entries, long weight, long hits, long misses, long evictions) {
+    this.entries = entries;
+    this.weight = weight;
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+  }
+
+  public long getEntries() {
+    return entries;
+  }
+
+  /**
+   * Approximate number of bytes taken by the entries.
+   */
+  public long getWeight() {
+    return weight;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  public long getEvictions() {
+    return evictions;
+  }
+
+  public double getHitRatio() {
+    long requests = hits + misses;
+    return requests == 0 ? 0 : (double) hits / requests;
+  }
+}
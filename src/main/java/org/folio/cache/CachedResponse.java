@@ -0,0 +1,55 @@
+package org.folio.cache;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Serialized response body together with its strong entity tag and the time it was serialized.
+ *
+ * A compressed body carries the content encoding it was compressed with, {@code null} for an uncompressed one.
+ */
+public final class CachedResponse {
+
+  private final byte[] body;
+  private final String etag;
+  private final long createdAt;
+  private final String contentEncoding;
+
+  private CachedResponse(byte[] body, String etag, long createdAt, String contentEncoding) {
+    this.body = body;
+    this.etag = etag;
+    this.createdAt = createdAt;
+    this.contentEncoding = contentEncoding;
+  }
+
+  public static CachedResponse of(byte[] body) {
+    return of(body, null);
+  }
+
+  public static CachedResponse of(byte[] body, String contentEncoding) {
+    return new CachedResponse(body, '"' + Hashing.murmur3_128().hashBytes(body).toString() + '"',
+      System.currentTimeMillis(), contentEncoding);
+  }
+
+  /**
+   * Restores a response whose entity tag has been computed before.
+   */
+  static CachedResponse of(byte[] body, String etag, long createdAt, String contentEncoding) {
+    return new CachedResponse(body, etag, createdAt, contentEncoding);
+  }
+
+  public byte[] getBody() {
+    return body;
+  }
+
+  public String getEtag() {
+    return etag;
+  }
+
+  public long getCreatedAt() {
+    return createdAt;
+  }
+
+  public String getContentEncoding() {
+    return contentEncoding;
+  }
+}
@@ -0,0 +1,30 @@
+package org.folio.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes a {@link CachedResponse} as its entity tag and creation time followed by the length prefixed body and its
+ * content encoding.
+ */
+public class CachedResponseCodec extends AbstractRecordCodec<CachedResponse> {
+
+  @Override
+  public void write(CachedResponse value, DataOutput out) throws IOException {
+    writeString(out, value.getEtag());
+    out.writeLong(value.getCreatedAt());
+    out.writeInt(value.getBody().length);
+    out.write(value.getBody());
+    writeString(out, value.getContentEncoding());
+  }
+
+  @Override
+  public CachedResponse read(DataInput in) throws IOException {
+    String etag = readString(in);
+    long createdAt = in.readLong();
+    byte[] body = new byte[in.readInt()];
+    in.readFully(body);
+    return CachedResponse.of(body, etag, createdAt, readString(in));
+  }
+}
@@ -0,0 +1,141 @@
+package org.folio.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.shareddata.AsyncMap;
+
+/**
+ * Second level cache shared by all module instances of a Vert.x cluster.
+ *
+ * Records are kept encoded in a clustered {@link AsyncMap} and sit behind the local caches of every instance, which
+ * act as near caches: a local miss is looked up here before the RM API is called. Invalidations remove the record
+ * from the map and are published on the event bus, so that every instance drops its local copy as well. Invalidations
+ * of all keys with a prefix, such as a partition or the variants of a response, scan the keys of the map. When Vert.x
+ * is not clustered the map is local to the instance, which keeps the tier usable, if pointless, for local testing.
+ *
+ * Errors of the clustered map are logged and treated as misses, the tier never fails a request.
+ *
+ * @param <V> type of the record
+ */
+public class ClusterCacheTier<V> {
+  private static final Logger log = LoggerFactory.getLogger(ClusterCacheTier.class);
+
+  private static final String MAP_PREFIX = "codex.cache.";
+  private static final String INVALIDATION_ADDRESS_PREFIX = "codex.cache.invalidate.";
+  private static final String KEY = "key";
+  private static final String PREFIX = "prefix";
+
+  private final Vertx vertx;
+  private final RecordCodec<V> codec;
+  private final long expirationMillis;
+  private final String invalidationAddress;
+  private final CompletableFuture<AsyncMap<String, Buffer>> map = new CompletableFuture<>();
+
+  private volatile Consumer<String> keyListener = key -> { };
+  private volatile Consumer<String> prefixListener = prefix -> { };
+
+  public ClusterCacheTier(Vertx vertx, String name, RecordCodec<V> codec, long expirationMillis) {
+    this.vertx = vertx;
+    this.codec = codec;
+    this.expirationMillis = expirationMillis;
+    this.invalidationAddress = INVALIDATION_ADDRESS_PREFIX + name;
+
+    vertx.sharedData().<String, Buffer>getAsyncMap(MAP_PREFIX + name, result -> {
+      if (result.succeeded()) {
+        map.complete(result.result());
+      } else {
+        log.error("Unable to get clustered cache map " + name, result.cause());
+        map.completeExceptionally(result.cause());
+      }
+    });
+    vertx.eventBus().<JsonObject>consumer(invalidationAddress, message -> {
+      JsonObject body = message.body();
+      if (body.containsKey(KEY)) {
+        keyListener.accept(body.getString(KEY));
+      } else if (body.containsKey(PREFIX)) {
+        prefixListener.accept(body.getString(PREFIX));
+      }
+    });
+  }
+
+  /**
+   * Registers the listeners called when any instance invalidates a key or all keys with a prefix, including this one.
+   */
+  public void setInvalidationListeners(Consumer<String> keyListener, Consumer<String> prefixListener) {
+    this.keyListener = keyListener;
+    this.prefixListener = prefixListener;
+  }
+
+  /**
+   * Returns the record stored under the key or {@code null} if there is none.
+   */
+  public CompletableFuture<V> get(String key) {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    map.whenComplete((asyncMap, mapFailure) -> {
+      if (mapFailure != null) {
+        future.complete(null);
+        return;
+      }
+      asyncMap.get(key, result -> {
+        if (result.failed()) {
+          log.warn("Lookup of " + key + " in clustered cache failed", result.cause());
+          future.complete(null);
+        } else {
+          future.complete(result.result() == null ? null : codec.decode(result.result().getBytes()));
+        }
+      });
+    });
+    return future;
+  }
+
+  public void put(String key, V value) {
+    Buffer encoded = Buffer.buffer(codec.encode(value));
+    map.thenAccept(asyncMap -> asyncMap.put(key, encoded, expirationMillis, result -> {
+      if (result.failed()) {
+        log.warn("Store of " + key + " in clustered cache failed", result.cause());
+      }
+    }));
+  }
+
+  public void invalidate(String key) {
+    map.thenAccept(asyncMap -> asyncMap.remove(key, result ->
+      vertx.eventBus().publish(invalidationAddress, new JsonObject().put(KEY, key))));
+  }
+
+  /**
+   * Removes every key starting with the prefix, then publishes the invalidation once all of them are removed.
+   */
+  public void invalidatePrefix(String prefix) {
+    map.thenAccept(asyncMap -> asyncMap.keys(keys -> {
+      List<CompletableFuture<Void>> removals = new ArrayList<>();
+      if (keys.succeeded()) {
+        for (String key : keys.result()) {
+          if (key.startsWith(prefix)) {
+            CompletableFuture<Void> removal = new CompletableFuture<>();
+            asyncMap.remove(key, result -> removal.complete(null));
+            removals.add(removal);
+          }
+        }
+      } else {
+        log.warn("Listing the keys of clustered cache failed", keys.cause());
+      }
+      CompletableFuture.allOf(removals.toArray(new CompletableFuture[0])).thenRun(() ->
+        vertx.eventBus().publish(invalidationAddress, new JsonObject().put(PREFIX, prefix)));
+    }));
+  }
+
+  /**
+   * Invalidates all keys of the partition, see {@link ResponseCache#partition(String)}.
+   */
+  public void invalidatePartition(String partition) {
+    invalidatePrefix(ResponseCache.key(partition, ""));
+  }
+}
@@ -0,0 +1,31 @@
+package org.folio.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.folio.holdingsiq.model.Configuration;
+
+/**
+ * Encodes the RM API connection settings of a {@link Configuration}. Only configurations retrieved successfully are
+ * cached, so a decoded configuration is always marked valid.
+ */
+public class ConfigurationRecordCodec extends AbstractRecordCodec<Configuration> {
+
+  @Override
+  public void write(Configuration value, DataOutput out) throws IOException {
+    writeString(out, value.getCustomerId());
+    writeString(out, value.getApiKey());
+    writeString(out, value.getUrl());
+  }
+
+  @Override
+  public Configuration read(DataInput in) throws IOException {
+    return Configuration.builder()
+      .customerId(readString(in))
+      .apiKey(readString(in))
+      .url(readString(in))
+      .configValid(true)
+      .build();
+  }
+}
@@ -0,0 +1,59 @@
+package org.folio.cache;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Vertx;
+
+/**
+ * Creates the {@link DiskRecordStore}s of the persistent cache tier and takes care of opening and compacting them on
+ * a worker thread.
+ */
+public class DiskCacheManager {
+  private static final String FILE_EXTENSION = ".log";
+
+  private final Vertx vertx;
+  private final boolean enabled;
+  private final Path directory;
+  private final int maxBytes;
+  private final long expirationMillis;
+  private final long compactionIntervalMillis;
+
+  public DiskCacheManager(Vertx vertx, boolean enabled, String directory, int maxBytes, long expirationTime,
+                          long compactionInterval) {
+    this.vertx = vertx;
+    this.enabled = enabled;
+    this.directory = Paths.get(directory);
+    this.maxBytes = maxBytes;
+    this.expirationMillis = TimeUnit.SECONDS.toMillis(expirationTime);
+    this.compactionIntervalMillis = TimeUnit.SECONDS.toMillis(compactionInterval);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Creates a store persisted to {@code <directory>/<name>.log}. The file is loaded in the background, the store
+   * behaves as empty until then.
+   */
+  public <V> DiskRecordStore<V> createStore(String name, RecordCodec<V> codec) {
+    DiskRecordStore<V> store = new DiskRecordStore<>(directory.resolve(name + FILE_EXTENSION), codec, maxBytes,
+      expirationMillis);
+
+    vertx.executeBlocking(future -> {
+      store.open();
+      future.complete();
+    }, false, null);
+    vertx.setPeriodic(compactionIntervalMillis, timerId ->
+      vertx.executeBlocking(future -> {
+        if (store.needsCompaction()) {
+          store.compact();
+        }
+        future.complete();
+      }, false, null));
+
+    return store;
+  }
+}
@@ -0,0 +1,283 @@
+package org.folio.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Record store persisted to a local memory-mapped, append-only file, so that caches survive restarts.
+ *
+ * Every write appends a record {@code [key length][key][written at][value length][value]} to the file, a value length
+ * of {@code -1} marks a removed key. The index of live records is kept on the heap and is rebuilt by scanning the
+ * file in {@link #open()}; until then the store behaves as if it was empty. Overwritten and removed records are only
+ * reclaimed by {@link #compact()}.
+ *
+ * @param <V> type of the record
+ */
+public class DiskRecordStore<V> implements RecordStore<String, V> {
+  private static final Logger log = LoggerFactory.getLogger(DiskRecordStore.class);
+
+  private static final int REMOVED = -1;
+  private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+  private static final String COMPACTION_SUFFIX = ".compact";
+
+  private final Path file;
+  private final RecordCodec<V> codec;
+  private final int maxBytes;
+  private final long expirationMillis;
+
+  private final Map<String, Location> index = new HashMap<>();
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private long liveBytes;
+  private volatile boolean loaded;
+
+  public DiskRecordStore(Path file, RecordCodec<V> codec, int maxBytes, long expirationMillis) {
+    this.file = file;
+    this.codec = codec;
+    this.maxBytes = maxBytes;
+    this.expirationMillis = expirationMillis;
+  }
+
+  /**
+   * Maps the file and rebuilds the index from it. This is blocking and meant to be run off the event loop at startup.
+   */
+  public synchronized void open() {
+    try {
+      Files.createDirectories(file.getParent());
+      if (Files.notExists(file)) {
+        Files.createFile(file);
+        restrictPermissions(file);
+      }
+      map(file);
+      scan();
+      loaded = true;
+      log.info("Loaded " + index.size() + " records from " + file);
+    } catch (IOException e) {
+      log.error("Unable to open disk cache " + file, e);
+    }
+  }
+
+  @Override
+  public synchronized V get(String key) {
+    return read(key, expirationMillis);
+  }
+
+  @Override
+  public synchronized V getStale(String key, long maxStalenessMillis) {
+    return read(key, expirationMillis + maxStalenessMillis);
+  }
+
+  @Override
+  public void put(String key, V value) {
+    byte[] bytes = codec.encode(value);
+    synchronized (this) {
+      if (loaded) {
+        append(key, bytes, System.currentTimeMillis());
+      }
+    }
+  }
+
+  /**
+   * Returns the time the record stored under the key was written, or {@code -1} if there is none.
+   */
+  public synchronized long writtenAt(String key) {
+    Location location = loaded ? index.get(key) : null;
+    return location == null ? -1 : location.writtenAt;
+  }
+
+  @Override
+  public synchronized void invalidate(String key) {
+    if (loaded && index.containsKey(key)) {
+      append(key, null, System.currentTimeMillis());
+    }
+  }
+
+  @Override
+  public synchronized void invalidateAll() {
+    if (loaded) {
+      index.clear();
+      liveBytes = 0;
+      compact();
+    }
+  }
+
+  @Override
+  public synchronized int size() {
+    return index.size();
+  }
+
+  @Override
+  public synchronized void forEach(ObjIntConsumer<String> consumer) {
+    for (Map.Entry<String, Location> entry : index.entrySet()) {
+      consumer.accept(entry.getKey(), entry.getValue().size);
+    }
+  }
+
+  /**
+   * Whether more than half of the used part of the file is taken by overwritten or removed records.
+   */
+  public synchronized boolean needsCompaction() {
+    return loaded && buffer.position() > 2 * liveBytes;
+  }
+
+  /**
+   * Rewrites the file keeping only live records.
+   */
+  public synchronized void compact() {
+    if (!loaded) {
+      return;
+    }
+    Path compacted = file.resolveSibling(file.getFileName() + COMPACTION_SUFFIX);
+    Map<String, Location> live = new HashMap<>(index);
+    MappedByteBuffer source = buffer;
+    long now = System.currentTimeMillis();
+    try {
+      Files.deleteIfExists(compacted);
+      Files.createFile(compacted);
+      restrictPermissions(compacted);
+      map(compacted);
+      index.clear();
+      liveBytes = 0;
+      for (Map.Entry<String, Location> entry : live.entrySet()) {
+        Location location = entry.getValue();
+        if (now - location.writtenAt <= expirationMillis) {
+          byte[] bytes = new byte[location.length];
+          ByteBuffer view = source.duplicate();
+          view.position(location.offset);
+          view.get(bytes);
+          append(entry.getKey(), bytes, location.writtenAt);
+        }
+      }
+      buffer.force();
+      Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      log.info("Compacted " + file + " to " + index.size() + " records");
+    } catch (IOException e) {
+      log.error("Compaction of disk cache " + file + " failed", e);
+      loaded = false;
+    }
+  }
+
+  private V read(String key, long maxAgeMillis) {
+    Location location = loaded ? index.get(key) : null;
+    if (location == null || System.currentTimeMillis() - location.writtenAt > maxAgeMillis) {
+      return null;
+    }
+
+    byte[] bytes = new byte[location.length];
+    ByteBuffer view = buffer.duplicate();
+    view.position(location.offset);
+    view.get(bytes);
+    return codec.decode(bytes);
+  }
+
+  private void append(String key, byte[] value, long writtenAt) {
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    int size = HEADER_SIZE + keyBytes.length + (value == null ? 0 : value.length);
+    if (buffer.remaining() < size + Integer.BYTES) {
+      // keep room for the terminating zero key length
+      if (!needsCompaction()) {
+        log.debug("Disk cache " + file + " is full, record " + key + " is not stored");
+        return;
+      }
+      compact();
+      if (!loaded || buffer.remaining() < size + Integer.BYTES) {
+        return;
+      }
+    }
+
+    Location previous = index.remove(key);
+    if (previous != null) {
+      liveBytes -= previous.size;
+    }
+
+    buffer.putInt(keyBytes.length);
+    buffer.put(keyBytes);
+    buffer.putLong(writtenAt);
+    if (value == null) {
+      buffer.putInt(REMOVED);
+    } else {
+      buffer.putInt(value.length);
+      int offset = buffer.position();
+      buffer.put(value);
+      index.put(key, new Location(offset, value.length, writtenAt, size));
+      liveBytes += size;
+    }
+  }
+
+  private void scan() {
+    buffer.position(0);
+    while (buffer.remaining() >= HEADER_SIZE) {
+      int start = buffer.position();
+      int keyLength = buffer.getInt();
+      if (keyLength <= 0 || keyLength > buffer.remaining() - Long.BYTES - Integer.BYTES) {
+        buffer.position(start);
+        break;
+      }
+      byte[] keyBytes = new byte[keyLength];
+      buffer.get(keyBytes);
+      long writtenAt = buffer.getLong();
+      int valueLength = buffer.getInt();
+      if (valueLength < REMOVED || valueLength > buffer.remaining()) {
+        log.warn("Disk cache " + file + " is truncated at " + start);
+        buffer.position(start);
+        break;
+      }
+
+      String key = new String(keyBytes, StandardCharsets.UTF_8);
+      Location previous = index.remove(key);
+      if (previous != null) {
+        liveBytes -= previous.size;
+      }
+      if (valueLength != REMOVED) {
+        int size = buffer.position() + valueLength - start;
+        index.put(key, new Location(buffer.position(), valueLength, writtenAt, size));
+        liveBytes += size;
+        buffer.position(buffer.position() + valueLength);
+      }
+    }
+  }
+
+  private void map(Path path) throws IOException {
+    if (channel != null) {
+      channel.close();
+    }
+    channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, maxBytes);
+  }
+
+  private void restrictPermissions(Path path) {
+    try {
+      Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+    } catch (UnsupportedOperationException | IOException e) {
+      log.debug("Unable to restrict permissions of " + path, e);
+    }
+  }
+
+  private static final class Location {
+    private final int offset;
+    private final int length;
+    private final long writtenAt;
+    private final int size;
+
+    private Location(int offset, int length, long writtenAt, int size) {
+      this.offset = offset;
+      this.length = length;
+      this.writtenAt = writtenAt;
+      this.size = size;
+    }
+  }
+}
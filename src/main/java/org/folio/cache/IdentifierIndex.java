@@ -0,0 +1,133 @@
+package org.folio.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Index from normalised ISBN, ISSN and ZDBID values to the ids of the titles carrying them, per RM API account.
+ *
+ * An entry is only ever the complete result of an exact RM API identifier search, in the order the RM API returned it
+ * with the sort of that search, so that the same search can be answered from the instance record cache. Every search
+ * replaces the entry, which drops titles that no longer carry the identifier. Values are normalised by dropping
+ * hyphens and whitespace and upper-casing the check character, both when indexing and when looking up.
+ */
+public class IdentifierIndex implements ManagedCache {
+  private static final String NAME = "identifiers";
+  private static final Pattern SEPARATORS = Pattern.compile("[\\s-]");
+  // estimated retained size of the cache entry and the list, and of each title id string
+  private static final int ENTRY_OVERHEAD = 96;
+  private static final int TITLE_ID_OVERHEAD = 48;
+
+  private final boolean enabled;
+  private final Cache<String, List<String>> index;
+  private final CacheCounters counters = new CacheCounters();
+
+  public IdentifierIndex(boolean enabled, long maxBytes, long expirationTime) {
+    this.enabled = enabled;
+    this.index = CacheBuilder.newBuilder()
+      .maximumWeight(maxBytes)
+      .weigher(IdentifierIndex::weigh)
+      .expireAfterWrite(expirationTime, TimeUnit.SECONDS)
+      .build();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Stores the ids of all titles an exact RM API search for the identifier with the given sort found. Must not be
+   * called with a partial result, e.g. a single page of a larger one.
+   */
+  public void putComplete(String account, String identifier, String sort, List<String> titleIds) {
+    if (enabled) {
+      index.put(key(account, identifier, sort), Collections.unmodifiableList(new ArrayList<>(titleIds)));
+    }
+  }
+
+  /**
+   * Returns the ids of all titles carrying the identifier in the order of the sort, or {@code null} if no complete
+   * result is known.
+   */
+  public List<String> lookup(String account, String identifier, String sort) {
+    if (!enabled) {
+      return null;
+    }
+    List<String> titleIds = index.getIfPresent(key(account, identifier, sort));
+    if (titleIds == null) {
+      counters.recordMiss(account);
+    } else {
+      counters.recordHit(account);
+    }
+    return titleIds;
+  }
+
+  /**
+   * Drops the entries listing the title, e.g. because its identifiers may have changed.
+   */
+  public void invalidateTitle(String account, String titleId) {
+    index.asMap().entrySet().removeIf(entry ->
+      account.equals(ResponseCache.partition(entry.getKey())) && entry.getValue().contains(titleId));
+  }
+
+  public static String normalize(String identifier) {
+    return SEPARATORS.matcher(identifier).replaceAll("").toUpperCase(Locale.ROOT);
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public Set<String> getPartitions() {
+    Set<String> partitions = new HashSet<>(counters.getPartitions());
+    for (String key : index.asMap().keySet()) {
+      partitions.add(ResponseCache.partition(key));
+    }
+    return partitions;
+  }
+
+  /**
+   * The weight is the estimated retained size of the entries.
+   */
+  @Override
+  public CacheUsage getUsage(String partition) {
+    long entries = 0;
+    long weight = 0;
+    for (Map.Entry<String, List<String>> entry : index.asMap().entrySet()) {
+      if (partition.equals(ResponseCache.partition(entry.getKey()))) {
+        entries++;
+        weight += weigh(entry.getKey(), entry.getValue());
+      }
+    }
+    return counters.usage(partition, entries, weight);
+  }
+
+  @Override
+  public void invalidatePartition(String partition) {
+    index.asMap().keySet().removeIf(key -> partition.equals(ResponseCache.partition(key)));
+  }
+
+  private static int weigh(String key, List<String> titleIds) {
+    int weight = ENTRY_OVERHEAD + key.length() * 2;
+    for (String titleId : titleIds) {
+      weight += TITLE_ID_OVERHEAD + titleId.length() * 2;
+    }
+    return weight;
+  }
+
+  private static String key(String account, String identifier, String sort) {
+    return ResponseCache.key(account, sort, normalize(identifier));
+  }
+}
@@ -0,0 +1,78 @@
+package org.folio.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Set;
+
+import org.folio.rest.jaxrs.model.Contributor;
+import org.folio.rest.jaxrs.model.Identifier;
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.Subject;
+
+/**
+ * Encodes the {@link Instance} fields populated by {@link org.folio.converter.hld2cdx.TitleConverter}.
+ */
+public class InstanceRecordCodec extends AbstractRecordCodec<Instance> {
+
+  @Override
+  public void write(Instance value, DataOutput out) throws IOException {
+    writeString(out, value.getId());
+    writeString(out, value.getTitle());
+    writeString(out, value.getPublisher());
+    writeEnum(out, value.getType());
+    writeString(out, value.getFormat());
+    writeString(out, value.getSource());
+    writeString(out, value.getVersion());
+
+    Set<Identifier> identifiers = value.getIdentifier();
+    out.writeShort(identifiers.size());
+    for (Identifier identifier : identifiers) {
+      writeString(out, identifier.getType());
+      writeString(out, identifier.getValue());
+    }
+
+    Set<Contributor> contributors = value.getContributor();
+    out.writeShort(contributors.size());
+    for (Contributor contributor : contributors) {
+      writeString(out, contributor.getName());
+      writeString(out, contributor.getType());
+    }
+
+    Set<Subject> subjects = value.getSubject();
+    out.writeShort(subjects.size());
+    for (Subject subject : subjects) {
+      writeString(out, subject.getName());
+      writeString(out, subject.getType());
+    }
+  }
+
+  @Override
+  public Instance read(DataInput in) throws IOException {
+    Instance instance = new Instance()
+      .withId(readString(in))
+      .withTitle(readString(in))
+      .withPublisher(readString(in))
+      .withType(readEnum(in, Instance.Type.values()))
+      .withFormat(readString(in))
+      .withSource(readString(in))
+      .withVersion(readString(in));
+
+    int identifierCount = in.readShort();
+    for (int i = 0; i < identifierCount; i++) {
+      instance.getIdentifier().add(new Identifier().withType(readString(in)).withValue(readString(in)));
+    }
+
+    int contributorCount = in.readShort();
+    for (int i = 0; i < contributorCount; i++) {
+      instance.getContributor().add(new Contributor().withName(readString(in)).withType(readString(in)));
+    }
+
+    int subjectCount = in.readShort();
+    for (int i = 0; i < subjectCount; i++) {
+      instance.getSubject().add(new Subject().withName(readString(in)).withType(readString(in)));
+    }
+
+    return instance;
+  }
+}
@@ -0,0 +1,21 @@
+package org.folio.cache;
+
+import java.util.Set;
+
+/**
+ * Cache that reports its usage per partition and can be flushed for a single partition. Depending on the cache a
+ * partition is a tenant or an RM API account, see {@link AccountKeys}.
+ */
+public interface ManagedCache {
+
+  String getName();
+
+  /**
+   * Partitions that have entries in the cache or have used it since startup.
+   */
+  Set<String> getPartitions();
+
+  CacheUsage getUsage(String partition);
+
+  void invalidatePartition(String partition);
+}
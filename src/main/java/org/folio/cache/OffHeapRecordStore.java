@@ -0,0 +1,201 @@
+package org.folio.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Record store that keeps encoded records outside of the Java heap.
+ *
+ * Memory is split into a fixed number of direct {@link ByteBuffer} slabs which are allocated lazily. Records are
+ * appended to the current slab; once it is full, writing continues in an unused slab or, when there is none, in the
+ * least recently used one, whose records are all evicted at once. Only the index (key to slab offset) lives on the
+ * heap, records are decoded on every read.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the record
+ */
+public class OffHeapRecordStore<K, V> implements RecordStore<K, V> {
+  private static final Logger log = LoggerFactory.getLogger(OffHeapRecordStore.class);
+
+  private final RecordCodec<V> codec;
+  private final int slabSize;
+  private final long expirationMillis;
+
+  private final ByteBuffer[] slabs;
+  private final long[] slabLastAccess;
+  private final List<List<K>> slabKeys;
+  private final Map<K, Location> index = new HashMap<>();
+
+  private int currentSlab = -1;
+  private long clock;
+  private long evictionCount;
+  private Consumer<K> evictionListener = key -> { };
+
+  public OffHeapRecordStore(RecordCodec<V> codec, int slabSize, int slabCount, long expirationMillis) {
+    this.codec = codec;
+    this.slabSize = slabSize;
+    this.expirationMillis = expirationMillis;
+    this.slabs = new ByteBuffer[slabCount];
+    this.slabLastAccess = new long[slabCount];
+    this.slabKeys = new ArrayList<>(slabCount);
+    for (int i = 0; i < slabCount; i++) {
+      slabKeys.add(new ArrayList<>());
+    }
+  }
+
+  /**
+   * Decodes the record stored under the key, returns {@code null} if there is none or it has expired.
+   */
+  @Override
+  public synchronized V get(K key) {
+    return read(key, expirationMillis);
+  }
+
+  /**
+   * Expired records are kept until their slab is reused, so they can still be read here.
+   */
+  @Override
+  public synchronized V getStale(K key, long maxStalenessMillis) {
+    return read(key, expirationMillis + maxStalenessMillis);
+  }
+
+  @Override
+  public void put(K key, V value) {
+    byte[] bytes = codec.encode(value);
+    if (bytes.length > slabSize) {
+      log.debug("Record " + key + " does not fit into a slab and will not be cached");
+      return;
+    }
+    synchronized (this) {
+      if (currentSlab < 0 || slabs[currentSlab].remaining() < bytes.length) {
+        nextSlab();
+      }
+      ByteBuffer slab = slabs[currentSlab];
+      int offset = slab.position();
+      slab.put(bytes);
+      slabLastAccess[currentSlab] = ++clock;
+      slabKeys.get(currentSlab).add(key);
+      index.put(key, new Location(currentSlab, offset, bytes.length, System.currentTimeMillis()));
+    }
+  }
+
+  @Override
+  public synchronized void invalidate(K key) {
+    index.remove(key);
+  }
+
+  @Override
+  public synchronized void invalidateAll() {
+    index.clear();
+    for (int i = 0; i < slabs.length; i++) {
+      slabKeys.get(i).clear();
+      if (slabs[i] != null) {
+        slabs[i].clear();
+      }
+    }
+    currentSlab = -1;
+  }
+
+  @Override
+  public synchronized int size() {
+    return index.size();
+  }
+
+  @Override
+  public synchronized void forEach(ObjIntConsumer<K> consumer) {
+    for (Map.Entry<K, Location> entry : index.entrySet()) {
+      consumer.accept(entry.getKey(), entry.getValue().length);
+    }
+  }
+
+  @Override
+  public synchronized void setEvictionListener(Consumer<K> listener) {
+    this.evictionListener = listener;
+  }
+
+  public synchronized long evictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Off-heap memory reserved by the slabs allocated so far.
+   */
+  public synchronized long allocatedBytes() {
+    long allocated = 0;
+    for (ByteBuffer slab : slabs) {
+      if (slab != null) {
+        allocated += slab.capacity();
+      }
+    }
+    return allocated;
+  }
+
+  private V read(K key, long maxAgeMillis) {
+    Location location = index.get(key);
+    if (location == null || System.currentTimeMillis() - location.writtenAt > maxAgeMillis) {
+      return null;
+    }
+    slabLastAccess[location.slab] = ++clock;
+
+    byte[] bytes = new byte[location.length];
+    ByteBuffer view = slabs[location.slab].duplicate();
+    view.position(location.offset);
+    view.get(bytes);
+    return codec.decode(bytes);
+  }
+
+  private void nextSlab() {
+    for (int i = 0; i < slabs.length; i++) {
+      if (slabs[i] == null) {
+        slabs[i] = ByteBuffer.allocateDirect(slabSize);
+        currentSlab = i;
+        return;
+      }
+    }
+
+    int victim = 0;
+    for (int i = 1; i < slabs.length; i++) {
+      if (slabLastAccess[i] < slabLastAccess[victim]) {
+        victim = i;
+      }
+    }
+    evictSlab(victim);
+    currentSlab = victim;
+  }
+
+  private void evictSlab(int slab) {
+    for (K key : slabKeys.get(slab)) {
+      Location location = index.get(key);
+      // the key may have been rewritten into another slab since
+      if (location != null && location.slab == slab) {
+        index.remove(key);
+        evictionCount++;
+        evictionListener.accept(key);
+      }
+    }
+    slabKeys.get(slab).clear();
+    slabs[slab].clear();
+  }
+
+  private static final class Location {
+    private final int slab;
+    private final int offset;
+    private final int length;
+    private final long writtenAt;
+
+    private Location(int slab, int offset, int length, long writtenAt) {
+      this.slab = slab;
+      this.offset = offset;
+      this.length = length;
+      this.writtenAt = writtenAt;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package org.folio.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.folio.rest.jaxrs.model.Coverage;
+import org.folio.rest.jaxrs.model.Package;
+
+/**
+ * Encodes the {@link Package} fields populated by {@link org.folio.converter.hld2cdx.PackageConverter}.
+ */
+public class PackageRecordCodec extends AbstractRecordCodec<Package> {
+
+  @Override
+  public void write(Package value, DataOutput out) throws IOException {
+    writeString(out, value.getId());
+    writeString(out, value.getName());
+    writeString(out, value.getProvider());
+    writeString(out, value.getProviderId());
+    writeEnum(out, value.getType());
+    writeInteger(out, value.getItemCount());
+    writeEnum(out, value.getIsSelected());
+    writeString(out, value.getSource());
+
+    Coverage coverage = value.getCoverage();
+    out.writeBoolean(coverage != null);
+    if (coverage != null) {
+      writeString(out, coverage.getBeginCoverage());
+      writeString(out, coverage.getEndCoverage());
+    }
+  }
+
+  @Override
+  public Package read(DataInput in) throws IOException {
+    Package result = new Package()
+      .withId(readString(in))
+      .withName(readString(in))
+      .withProvider(readString(in))
+      .withProviderId(readString(in))
+      .withType(readEnum(in, Package.Type.values()))
+      .withItemCount(readInteger(in))
+      .withIsSelected(readEnum(in, Package.IsSelected.values()))
+      .withSource(readString(in));
+
+    if (in.readBoolean()) {
+      result.setCoverage(new Coverage()
+        .withBeginCoverage(readString(in))
+        .withEndCoverage(readString(in)));
+    }
+
+    return result;
+  }
+}
@@ -0,0 +1,100 @@
+package org.folio.cache;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Total number of records of recent collection queries, per RM API account.
+ *
+ * Keys built with {@link ResponseCache#key(String...)} start with the account. The totals let windows past the end
+ * of a result be answered without asking the RM API. As totals change with the knowledge base, they should only be
+ * kept for a short time.
+ */
+public class QueryTotals implements ManagedCache {
+  private static final String NAME = "query-totals";
+  // estimated retained size of the cache entry and the boxed total
+  private static final int ENTRY_OVERHEAD = 64;
+
+  private final boolean enabled;
+  private final Cache<String, Integer> totals;
+  private final CacheCounters counters = new CacheCounters();
+
+  public QueryTotals(boolean enabled, long maxBytes, long expirationTime) {
+    this.enabled = enabled;
+    this.totals = CacheBuilder.newBuilder()
+      .maximumWeight(maxBytes)
+      .weigher(QueryTotals::weigh)
+      .expireAfterWrite(expirationTime, TimeUnit.SECONDS)
+      .build();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void put(String key, int total) {
+    if (enabled) {
+      totals.put(key, total);
+    }
+  }
+
+  /**
+   * Returns the total of the query, or {@code null} if it is not known.
+   */
+  public Integer get(String key) {
+    if (!enabled) {
+      return null;
+    }
+    Integer total = totals.getIfPresent(key);
+    if (total == null) {
+      counters.recordMiss(ResponseCache.partition(key));
+    } else {
+      counters.recordHit(ResponseCache.partition(key));
+    }
+    return total;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public Set<String> getPartitions() {
+    Set<String> partitions = new HashSet<>(counters.getPartitions());
+    for (String key : totals.asMap().keySet()) {
+      partitions.add(ResponseCache.partition(key));
+    }
+    return partitions;
+  }
+
+  /**
+   * The weight is the estimated retained size of the entries.
+   */
+  @Override
+  public CacheUsage getUsage(String partition) {
+    long entries = 0;
+    long weight = 0;
+    for (Map.Entry<String, Integer> entry : totals.asMap().entrySet()) {
+      if (partition.equals(ResponseCache.partition(entry.getKey()))) {
+        entries++;
+        weight += weigh(entry.getKey(), entry.getValue());
+      }
+    }
+    return counters.usage(partition, entries, weight);
+  }
+
+  @Override
+  public void invalidatePartition(String partition) {
+    totals.asMap().keySet().removeIf(key -> partition.equals(ResponseCache.partition(key)));
+  }
+
+  private static int weigh(String key, Integer total) {
+    return ENTRY_OVERHEAD + key.length() * 2;
+  }
+}
@@ -0,0 +1,263 @@
+package org.folio.cache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.vertx.core.Vertx;
+
+/**
+ * Cache of converted codex records backed by one or more {@link RecordStore} tiers, fastest first.
+ *
+ * A record found in a slower tier is copied into the faster ones; loaded records are written to all tiers. Keys are
+ * expected to be built with {@link ResponseCache#key(String...)}, so that usage can be reported per partition.
+ *
+ * An optional {@link ClusterCacheTier} is consulted asynchronously after all local tiers missed, and receives loaded
+ * records and invalidations too. Invalidations published by other instances only clear the local tiers.
+ *
+ * Concurrent misses on the same key are coalesced into a single load.
+ *
+ * @param <V> type of the record
+ */
+public class RecordCache<V> implements ManagedCache {
+
+  private final String name;
+  private final List<RecordStore<String, V>> tiers;
+  private final ClusterCacheTier<V> clusterTier;
+  private final CacheCounters counters = new CacheCounters();
+  private final ConcurrentMap<String, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+  private RefreshAhead<V> refreshAhead;
+  private StaleFallback staleFallback = StaleFallback.disabled();
+
+  public RecordCache(String name, List<RecordStore<String, V>> tiers) {
+    this(name, tiers, null);
+  }
+
+  public RecordCache(String name, List<RecordStore<String, V>> tiers, ClusterCacheTier<V> clusterTier) {
+    this.name = name;
+    this.tiers = tiers;
+    this.clusterTier = clusterTier;
+    for (RecordStore<String, V> tier : tiers) {
+      tier.setEvictionListener(key -> counters.recordEviction(ResponseCache.partition(key)));
+    }
+    if (clusterTier != null) {
+      clusterTier.setInvalidationListeners(this::invalidateLocal, this::invalidateLocalPrefix);
+    }
+  }
+
+  public boolean isEnabled() {
+    return !tiers.isEmpty() || clusterTier != null;
+  }
+
+  /**
+   * Reloads hot records loaded through {@link #getOrLoad(String, Supplier)} before they expire.
+   */
+  public void enableRefreshAhead(Vertx vertx, RefreshAhead<V> refreshAhead) {
+    this.refreshAhead = refreshAhead;
+    refreshAhead.start(vertx, this::put);
+  }
+
+  /**
+   * Lets {@link #getOrLoad(String, Supplier, Runnable)} answer from expired records when loading fails.
+   */
+  public void enableStaleFallback(StaleFallback staleFallback) {
+    this.staleFallback = staleFallback;
+  }
+
+  /**
+   * Like {@link #getOrLoad(String, Supplier)}, but if loading fails in a way the stale fallback applies to, an expired
+   * record is returned instead and {@code onStale} is run.
+   */
+  public CompletableFuture<V> getOrLoad(String key, Supplier<CompletableFuture<V>> loader, Runnable onStale) {
+    CompletableFuture<V> result = getOrLoad(key, loader);
+    if (!staleFallback.isEnabled()) {
+      return result;
+    }
+    return result.handle((value, throwable) -> {
+      if (throwable == null) {
+        return CompletableFuture.completedFuture(value);
+      }
+      V stale = staleFallback.appliesTo(throwable) ? getStale(key) : null;
+      if (stale == null) {
+        CompletableFuture<V> failed = new CompletableFuture<>();
+        failed.completeExceptionally(throwable);
+        return failed;
+      }
+      onStale.run();
+      return CompletableFuture.completedFuture(stale);
+    }).thenCompose(Function.identity());
+  }
+
+  public CompletableFuture<V> getOrLoad(String key, Supplier<CompletableFuture<V>> loader) {
+    V cached = get(key);
+    if (cached != null) {
+      if (refreshAhead != null) {
+        refreshAhead.recordHit(key, loader);
+      }
+      return CompletableFuture.completedFuture(cached);
+    }
+    if (clusterTier == null) {
+      return load(key, loader);
+    }
+    return clusterTier.get(key).thenCompose(clustered -> {
+      if (clustered != null) {
+        putLocal(key, clustered);
+        return CompletableFuture.completedFuture(clustered);
+      }
+      return load(key, loader);
+    });
+  }
+
+  public V get(String key) {
+    for (int i = 0; i < tiers.size(); i++) {
+      V value = tiers.get(i).get(key);
+      if (value != null) {
+        for (int j = 0; j < i; j++) {
+          tiers.get(j).put(key, value);
+        }
+        counters.recordHit(ResponseCache.partition(key));
+        return value;
+      }
+    }
+    counters.recordMiss(ResponseCache.partition(key));
+    return null;
+  }
+
+  private V getStale(String key) {
+    for (RecordStore<String, V> tier : tiers) {
+      V value = tier.getStale(key, staleFallback.getMaxStalenessMillis());
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  public void put(String key, V value) {
+    putLocal(key, value);
+    if (clusterTier != null) {
+      clusterTier.put(key, value);
+    }
+  }
+
+  public void invalidate(String key) {
+    invalidateLocal(key);
+    if (clusterTier != null) {
+      clusterTier.invalidate(key);
+    }
+  }
+
+  public void invalidateAll() {
+    for (RecordStore<String, V> tier : tiers) {
+      tier.invalidateAll();
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Set<String> getPartitions() {
+    Set<String> partitions = new HashSet<>(counters.getPartitions());
+    for (RecordStore<String, V> tier : tiers) {
+      tier.forEach((key, size) -> partitions.add(ResponseCache.partition(key)));
+    }
+    return partitions;
+  }
+
+  /**
+   * Entries are the distinct keys over all tiers, weight is the sum of the encoded records in all tiers.
+   */
+  @Override
+  public CacheUsage getUsage(String partition) {
+    Set<String> keys = new HashSet<>();
+    long[] weight = new long[1];
+    for (RecordStore<String, V> tier : tiers) {
+      tier.forEach((key, size) -> {
+        if (partition.equals(ResponseCache.partition(key))) {
+          keys.add(key);
+          weight[0] += size;
+        }
+      });
+    }
+    return counters.usage(partition, keys.size(), weight[0]);
+  }
+
+  @Override
+  public void invalidatePartition(String partition) {
+    invalidateLocalPrefix(ResponseCache.key(partition, ""));
+    if (clusterTier != null) {
+      clusterTier.invalidatePartition(partition);
+    }
+  }
+
+  public List<RecordStore<String, V>> getTiers() {
+    return tiers;
+  }
+
+  private CompletableFuture<V> load(String key, Supplier<CompletableFuture<V>> loader) {
+    CompletableFuture<V> pending = new CompletableFuture<>();
+    CompletableFuture<V> inFlight = loading.putIfAbsent(key, pending);
+    if (inFlight != null) {
+      return inFlight;
+    }
+
+    CompletableFuture<V> loaded;
+    try {
+      loaded = loader.get().thenApply(value -> {
+        put(key, value);
+        if (refreshAhead != null) {
+          refreshAhead.recordLoad(key, loader);
+        }
+        return value;
+      });
+    } catch (RuntimeException e) {
+      loaded = new CompletableFuture<>();
+      loaded.completeExceptionally(e);
+    }
+    loaded.whenComplete((value, throwable) -> {
+      loading.remove(key, pending);
+      if (throwable == null) {
+        pending.complete(value);
+      } else {
+        pending.completeExceptionally(throwable);
+      }
+    });
+    return pending;
+  }
+
+  private void putLocal(String key, V value) {
+    for (RecordStore<String, V> tier : tiers) {
+      tier.put(key, value);
+    }
+  }
+
+  private void invalidateLocal(String key) {
+    for (RecordStore<String, V> tier : tiers) {
+      tier.invalidate(key);
+    }
+    if (refreshAhead != null) {
+      refreshAhead.forget(key);
+    }
+  }
+
+  private void invalidateLocalPrefix(String prefix) {
+    for (RecordStore<String, V> tier : tiers) {
+      List<String> keys = new ArrayList<>();
+      tier.forEach((key, size) -> {
+        if (key.startsWith(prefix)) {
+          keys.add(key);
+        }
+      });
+      keys.forEach(tier::invalidate);
+    }
+  }
+}
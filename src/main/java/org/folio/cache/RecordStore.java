@@ -0,0 +1,44 @@
+package org.folio.cache;
+
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * One tier of a {@link RecordCache}.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the record
+ */
+public interface RecordStore<K, V> {
+
+  /**
+   * Returns the record stored under the key or {@code null} if there is none or it has expired.
+   */
+  V get(K key);
+
+  /**
+   * Returns the record stored under the key even if it has expired, as long as it did so at most
+   * {@code maxStalenessMillis} ago, or {@code null}.
+   */
+  V getStale(K key, long maxStalenessMillis);
+
+  void put(K key, V value);
+
+  void invalidate(K key);
+
+  void invalidateAll();
+
+  int size();
+
+  /**
+   * Calls the consumer with the key and the encoded size in bytes of every record in the store. The store may be
+   * locked meanwhile, so the consumer must not call back into it.
+   */
+  void forEach(ObjIntConsumer<K> consumer);
+
+  /**
+   * Registers a listener called with the key of every record removed to make room for another one.
+   */
+  default void setEvictionListener(Consumer<K> listener) {
+  }
+}
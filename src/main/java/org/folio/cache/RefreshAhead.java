@@ -0,0 +1,149 @@
+package org.folio.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Reloads frequently read records of a {@link RecordCache} in the background shortly before they expire, so that
+ * popular records never cause a synchronous miss.
+ *
+ * Every record loaded through the cache is tracked together with its loader and a read counter. On each tick, records
+ * read at least {@code minHits} times since they were loaded and due to expire within the refresh window are reloaded,
+ * the most read first, with at most {@code maxPerPartition} reloads of a partition (RM API account) in flight at any
+ * time. A partition whose reload fails, for example because the RM API throttles it, is left alone for two ticks.
+ *
+ * The loader is replaced on every read with the one of the reading request, so a reload uses the current RM API
+ * configuration and Vert.x context rather than those of the request that first loaded the record.
+ *
+ * @param <V> type of the record
+ */
+public class RefreshAhead<V> {
+  private static final Logger log = LoggerFactory.getLogger(RefreshAhead.class);
+
+  private final long expirationMillis;
+  private final long windowMillis;
+  private final int minHits;
+  private final int maxPerPartition;
+  private final long intervalMillis;
+  private final LongSupplier clock;
+
+  private final Cache<String, Tracked<V>> tracked;
+  private final Map<String, Long> backOffUntil = new ConcurrentHashMap<>();
+  private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+  public RefreshAhead(long expirationTime, long window, int minHits, int maxPerPartition, long interval,
+                      long maxTracked) {
+    this(expirationTime, window, minHits, maxPerPartition, interval, maxTracked, System::currentTimeMillis);
+  }
+
+  RefreshAhead(long expirationTime, long window, int minHits, int maxPerPartition, long interval, long maxTracked,
+               LongSupplier clock) {
+    this.expirationMillis = TimeUnit.SECONDS.toMillis(expirationTime);
+    this.windowMillis = TimeUnit.SECONDS.toMillis(window);
+    this.minHits = minHits;
+    this.maxPerPartition = maxPerPartition;
+    this.intervalMillis = TimeUnit.SECONDS.toMillis(interval);
+    this.clock = clock;
+    this.tracked = CacheBuilder.newBuilder()
+      .maximumSize(maxTracked)
+      .expireAfterAccess(expirationTime, TimeUnit.SECONDS)
+      .build();
+  }
+
+  /**
+   * Starts the periodic refresh, reloaded records are handed to the sink.
+   */
+  public void start(Vertx vertx, BiConsumer<String, V> sink) {
+    vertx.setPeriodic(intervalMillis, timerId -> refresh(sink));
+  }
+
+  public void recordLoad(String key, Supplier<CompletableFuture<V>> loader) {
+    tracked.put(key, new Tracked<>(loader, clock.getAsLong()));
+  }
+
+  /**
+   * Counts a read of a cached record and replaces its loader with the one of the reading request. Records loaded
+   * before tracking started, e.g. restored from disk, are tracked from now on.
+   */
+  public void recordHit(String key, Supplier<CompletableFuture<V>> loader) {
+    Tracked<V> entry = tracked.getIfPresent(key);
+    if (entry == null) {
+      tracked.put(key, new Tracked<>(loader, clock.getAsLong()));
+    } else {
+      entry.loader = loader;
+      entry.hits.incrementAndGet();
+    }
+  }
+
+  public void forget(String key) {
+    tracked.invalidate(key);
+  }
+
+  void refresh(BiConsumer<String, V> sink) {
+    long now = clock.getAsLong();
+    Map<String, List<Map.Entry<String, Tracked<V>>>> due = new HashMap<>();
+    for (Map.Entry<String, Tracked<V>> entry : tracked.asMap().entrySet()) {
+      Tracked<V> value = entry.getValue();
+      if (value.hits.get() >= minHits && now - value.loadedAt >= expirationMillis - windowMillis) {
+        due.computeIfAbsent(ResponseCache.partition(entry.getKey()), partition -> new ArrayList<>()).add(entry);
+      }
+    }
+
+    for (Map.Entry<String, List<Map.Entry<String, Tracked<V>>>> partition : due.entrySet()) {
+      if (backOffUntil.getOrDefault(partition.getKey(), 0L) > now) {
+        continue;
+      }
+      AtomicInteger running = inFlight.computeIfAbsent(partition.getKey(), key -> new AtomicInteger());
+      List<Map.Entry<String, Tracked<V>>> candidates = partition.getValue();
+      candidates.sort(Comparator.comparingInt((Map.Entry<String, Tracked<V>> entry) -> entry.getValue().hits.get())
+        .reversed());
+      for (int i = 0; i < candidates.size() && running.get() < maxPerPartition; i++) {
+        reload(partition.getKey(), candidates.get(i).getKey(), candidates.get(i).getValue(), running, sink);
+      }
+    }
+  }
+
+  private void reload(String partition, String key, Tracked<V> entry, AtomicInteger running,
+                      BiConsumer<String, V> sink) {
+    running.incrementAndGet();
+    entry.hits.set(0);
+    entry.loader.get().whenComplete((value, throwable) -> {
+      running.decrementAndGet();
+      if (throwable != null) {
+        log.debug("Refresh ahead of " + key + " failed", throwable);
+        backOffUntil.put(partition, clock.getAsLong() + 2 * intervalMillis);
+      } else {
+        sink.accept(key, value);
+        tracked.put(key, new Tracked<>(entry.loader, clock.getAsLong()));
+      }
+    });
+  }
+
+  private static final class Tracked<V> {
+    private volatile Supplier<CompletableFuture<V>> loader;
+    private final long loadedAt;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private Tracked(Supplier<CompletableFuture<V>> loader, long loadedAt) {
+      this.loader = loader;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
@@ -0,0 +1,296 @@
+package org.folio.cache;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+
+import org.folio.rest.util.CodexEncoding;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Cache of fully serialized response bodies and their entity tags.
+ *
+ * A hit is written to the response as-is, so Jackson is skipped entirely. Entries are weighted by the estimated
+ * bytes they retain, which keeps the memory used by the cache bounded by a {@link CacheBudget} regardless of how big
+ * individual collections get. Once the budget is nearly used up, partitions over their fair share of it are evicted
+ * from first.
+ *
+ * Keys built with {@link #key(String...)} start with the partition, usually the RM API account the response was
+ * loaded from, which is what usage is reported and entries are invalidated by.
+ *
+ * Like {@link RecordCache}, the cache can be backed by a {@link ClusterCacheTier} shared with other instances. All
+ * invalidations, of a key together with its variants, of a prefix and of a partition, remove the entries from the
+ * cluster tier as well and are broadcast to the other instances.
+ *
+ * With a {@link StaleFallback} entries are kept past their expiration for the allowed staleness, and are only
+ * returned then if reloading them fails.
+ */
+public class ResponseCache implements ManagedCache {
+  private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+  private static final String NAME = "responses";
+  private static final String KEY_SEPARATOR = "|";
+  // estimated retained size of the cache entry, the response and the headers of its arrays and strings
+  private static final int ENTRY_OVERHEAD = 160;
+
+  private final boolean enabled;
+  private final long expirationMillis;
+  private final StaleFallback staleFallback;
+  private final CacheBudget budget;
+  private final Cache<String, CachedResponse> cache;
+  private final CacheCounters counters = new CacheCounters();
+  private final ClusterCacheTier<CachedResponse> clusterTier;
+
+  public ResponseCache(boolean enabled, long maxBytes, long expirationTime) {
+    this(enabled, maxBytes, expirationTime, null);
+  }
+
+  public ResponseCache(boolean enabled, long maxBytes, long expirationTime,
+                       ClusterCacheTier<CachedResponse> clusterTier) {
+    this(enabled, maxBytes, expirationTime, clusterTier, StaleFallback.disabled());
+  }
+
+  public ResponseCache(boolean enabled, long maxBytes, long expirationTime,
+                       ClusterCacheTier<CachedResponse> clusterTier, StaleFallback staleFallback) {
+    this(enabled, new CacheBudget(maxBytes), expirationTime, clusterTier, staleFallback);
+  }
+
+  public ResponseCache(boolean enabled, CacheBudget budget, long expirationTime,
+                       ClusterCacheTier<CachedResponse> clusterTier, StaleFallback staleFallback) {
+    this.enabled = enabled;
+    this.budget = budget;
+    this.expirationMillis = TimeUnit.SECONDS.toMillis(expirationTime);
+    this.staleFallback = staleFallback;
+    this.clusterTier = clusterTier;
+    this.cache = CacheBuilder.newBuilder()
+      .maximumWeight(budget.getTotalBytes())
+      .weigher(ResponseCache::weigh)
+      .expireAfterWrite(expirationMillis + staleFallback.getMaxStalenessMillis(), TimeUnit.MILLISECONDS)
+      .removalListener(notification -> {
+        String key = (String) notification.getKey();
+        budget.release(partition(key), weigh(key, (CachedResponse) notification.getValue()));
+        if (notification.getCause() == RemovalCause.SIZE) {
+          counters.recordEviction(partition(key));
+        }
+      })
+      .recordStats()
+      .build();
+    if (clusterTier != null) {
+      clusterTier.setInvalidationListeners(cache::invalidate, this::invalidateLocalPrefix);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the serialized value stored under the key, loading and serializing the value on a miss.
+   */
+  public <T> CompletableFuture<CachedResponse> getOrLoad(String key, Supplier<? extends CompletionStage<T>> loader) {
+    return getOrLoad(key, loader, () -> { });
+  }
+
+  /**
+   * Like {@link #getOrLoad(String, Supplier)}, but if loading fails in a way the stale fallback applies to, an expired
+   * entry is returned instead and {@code onStale} is run.
+   */
+  public <T> CompletableFuture<CachedResponse> getOrLoad(String key, Supplier<? extends CompletionStage<T>> loader,
+                                                         Runnable onStale) {
+    return getOrLoad(key, ResponseCache::serialize, loader, onStale);
+  }
+
+  /**
+   * Like {@link #getOrLoad(String, Supplier, Runnable)}, with the loaded value serialized by the given function.
+   */
+  public <T> CompletableFuture<CachedResponse> getOrLoad(String key, Function<? super T, CachedResponse> serializer,
+                                                         Supplier<? extends CompletionStage<T>> loader,
+                                                         Runnable onStale) {
+    CachedResponse cached = cache.getIfPresent(key);
+    if (cached != null && isFresh(cached)) {
+      log.debug("Response cache hit for " + key);
+      counters.recordHit(partition(key));
+      return CompletableFuture.completedFuture(cached);
+    }
+    counters.recordMiss(partition(key));
+
+    CompletableFuture<CachedResponse> result;
+    if (clusterTier == null) {
+      result = load(key, serializer, loader);
+    } else {
+      result = clusterTier.get(key).thenCompose(clustered -> {
+        if (clustered != null && isFresh(clustered)) {
+          putLocal(key, clustered);
+          return CompletableFuture.completedFuture(clustered);
+        }
+        return load(key, serializer, loader);
+      });
+    }
+    if (cached == null) {
+      return result;
+    }
+    return result.handle((value, throwable) -> {
+      if (throwable == null) {
+        return CompletableFuture.completedFuture(value);
+      }
+      if (!staleFallback.appliesTo(throwable)) {
+        CompletableFuture<CachedResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(throwable);
+        return failed;
+      }
+      log.debug("Serving stale response for " + key);
+      onStale.run();
+      return CompletableFuture.completedFuture(cached);
+    }).thenCompose(Function.identity());
+  }
+
+  public static CachedResponse serialize(Object value) {
+    return serialize(value, CodexEncoding.JSON);
+  }
+
+  public static CachedResponse serialize(Object value, CodexEncoding encoding) {
+    return CachedResponse.of(encoding.encode(value));
+  }
+
+  /**
+   * Invalidates the entry and the entries whose keys extend it, such as other encodings of the same response.
+   */
+  public void invalidate(String key) {
+    String prefix = key + KEY_SEPARATOR;
+    cache.invalidate(key);
+    invalidateLocalPrefix(prefix);
+    if (clusterTier != null) {
+      clusterTier.invalidate(key);
+      clusterTier.invalidatePrefix(prefix);
+    }
+  }
+
+  /**
+   * Invalidates all entries whose key starts with the given parts.
+   */
+  public void invalidatePrefix(String... parts) {
+    String prefix = key(parts) + KEY_SEPARATOR;
+    invalidateLocalPrefix(prefix);
+    if (clusterTier != null) {
+      clusterTier.invalidatePrefix(prefix);
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public Set<String> getPartitions() {
+    Set<String> partitions = new HashSet<>(counters.getPartitions());
+    for (String key : cache.asMap().keySet()) {
+      partitions.add(partition(key));
+    }
+    return partitions;
+  }
+
+  @Override
+  public CacheUsage getUsage(String partition) {
+    long entries = 0;
+    long weight = 0;
+    for (Map.Entry<String, CachedResponse> entry : cache.asMap().entrySet()) {
+      if (partition.equals(partition(entry.getKey()))) {
+        entries++;
+        weight += weigh(entry.getKey(), entry.getValue());
+      }
+    }
+    return counters.usage(partition, entries, weight);
+  }
+
+  @Override
+  public void invalidatePartition(String partition) {
+    invalidateLocalPrefix(partition + KEY_SEPARATOR);
+    if (clusterTier != null) {
+      clusterTier.invalidatePartition(partition);
+    }
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public static String key(String... parts) {
+    return String.join(KEY_SEPARATOR, parts);
+  }
+
+  /**
+   * Returns the partition, the first part of a key built with {@link #key(String...)}.
+   */
+  public static String partition(String key) {
+    int separator = key.indexOf(KEY_SEPARATOR);
+    return separator < 0 ? key : key.substring(0, separator);
+  }
+
+  private <T> CompletableFuture<CachedResponse> load(String key, Function<? super T, CachedResponse> serializer,
+                                                     Supplier<? extends CompletionStage<T>> loader) {
+    return loader.get().toCompletableFuture().thenApply(value -> {
+      CachedResponse serialized = serializer.apply(value);
+      putLocal(key, serialized);
+      if (clusterTier != null) {
+        clusterTier.put(key, serialized);
+      }
+      return serialized;
+    });
+  }
+
+  /**
+   * Stores the entry, then, if the budget is nearly used up and the partition is over its share, evicts other entries
+   * of the partition until it is back within its share.
+   */
+  private void putLocal(String key, CachedResponse value) {
+    String partition = partition(key);
+    budget.add(partition, weigh(key, value));
+    cache.put(key, value);
+
+    if (!budget.isFull() || !budget.isOverShare(partition)) {
+      return;
+    }
+    Iterator<String> keys = cache.asMap().keySet().iterator();
+    while (keys.hasNext() && budget.isFull() && budget.isOverShare(partition)) {
+      String candidate = keys.next();
+      if (!candidate.equals(key) && partition.equals(partition(candidate))) {
+        keys.remove();
+        counters.recordEviction(partition);
+      }
+    }
+  }
+
+  private boolean isFresh(CachedResponse response) {
+    return System.currentTimeMillis() - response.getCreatedAt() < expirationMillis;
+  }
+
+  private void invalidateLocalPrefix(String prefix) {
+    cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  private static int weigh(String key, CachedResponse value) {
+    return ENTRY_OVERHEAD + key.length() * 2 + value.getBody().length + value.getEtag().length() * 2;
+  }
+}
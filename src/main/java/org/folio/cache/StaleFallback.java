@@ -0,0 +1,49 @@
+package org.folio.cache;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.ValidationException;
+
+import org.folio.cql2rmapi.QueryValidationException;
+import org.folio.holdingsiq.service.exception.ResourceNotFoundException;
+
+/**
+ * Decides when an expired cache entry may answer a request because loading a fresh one failed.
+ *
+ * Entries may be served for up to {@code maxStaleness} seconds past their expiration, and only for failures that
+ * indicate the RM API is unavailable: a record the RM API reports as missing or an invalid request is never answered
+ * from stale data.
+ */
+public class StaleFallback {
+
+  private static final StaleFallback DISABLED = new StaleFallback(0);
+
+  private final long maxStalenessMillis;
+
+  public StaleFallback(long maxStaleness) {
+    this.maxStalenessMillis = TimeUnit.SECONDS.toMillis(maxStaleness);
+  }
+
+  public static StaleFallback disabled() {
+    return DISABLED;
+  }
+
+  public boolean isEnabled() {
+    return maxStalenessMillis > 0;
+  }
+
+  public long getMaxStalenessMillis() {
+    return maxStalenessMillis;
+  }
+
+  public boolean appliesTo(Throwable throwable) {
+    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+      ? throwable.getCause()
+      : throwable;
+    return isEnabled()
+      && !(cause instanceof ResourceNotFoundException)
+      && !(cause instanceof ValidationException)
+      && !(cause instanceof QueryValidationException);
+  }
+}
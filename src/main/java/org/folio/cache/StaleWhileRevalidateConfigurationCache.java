@@ -0,0 +1,211 @@
+package org.folio.cache;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.folio.holdingsiq.model.Configuration;
+import org.folio.holdingsiq.model.ConfigurationError;
+import org.folio.holdingsiq.model.OkapiData;
+import org.folio.holdingsiq.service.ConfigurationService;
+
+import io.vertx.core.Context;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Per tenant cache of RM API configuration with a soft and a hard expiration time.
+ *
+ * Until the soft expiration time the cached configuration is returned as is. Between the soft and the hard
+ * expiration time the cached configuration is still returned, but a single background refresh is started for the
+ * tenant. Only when the hard expiration time has passed does the caller wait for mod-configuration.
+ *
+ * If a persistent store is given, configurations are also written to it and, on a cold start, read back from it as
+ * if they were past the soft expiration time.
+ */
+public class StaleWhileRevalidateConfigurationCache implements ConfigurationService, ManagedCache {
+  private static final Logger log = LoggerFactory.getLogger(StaleWhileRevalidateConfigurationCache.class);
+
+  private static final String NAME = "configurations";
+
+  private final ConfigurationService delegate;
+  private final long softExpirationMillis;
+  private final long hardExpirationMillis;
+  private final RecordStore<String, Configuration> persistentStore;
+  private final LongSupplier clock;
+
+  private final Map<String, CachedConfiguration> configurations = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Configuration>> refreshes = new ConcurrentHashMap<>();
+  private final CacheCounters counters = new CacheCounters();
+
+  public StaleWhileRevalidateConfigurationCache(ConfigurationService delegate, long softExpirationTime,
+                                                long hardExpirationTime) {
+    this(delegate, softExpirationTime, hardExpirationTime, null);
+  }
+
+  public StaleWhileRevalidateConfigurationCache(ConfigurationService delegate, long softExpirationTime,
+                                                long hardExpirationTime,
+                                                RecordStore<String, Configuration> persistentStore) {
+    this(delegate, softExpirationTime, hardExpirationTime, persistentStore, System::currentTimeMillis);
+  }
+
+  StaleWhileRevalidateConfigurationCache(ConfigurationService delegate, long softExpirationTime,
+                                         long hardExpirationTime, RecordStore<String, Configuration> persistentStore,
+                                         LongSupplier clock) {
+    this.delegate = delegate;
+    this.softExpirationMillis = TimeUnit.SECONDS.toMillis(softExpirationTime);
+    this.hardExpirationMillis = TimeUnit.SECONDS.toMillis(Math.max(softExpirationTime, hardExpirationTime));
+    this.persistentStore = persistentStore;
+    this.clock = clock;
+  }
+
+  @Override
+  public CompletableFuture<Configuration> retrieveConfiguration(OkapiData okapiData) {
+    String tenant = okapiData.getTenant();
+    CachedConfiguration cached = configurations.get(tenant);
+    if (cached == null) {
+      cached = restore(tenant);
+    }
+
+    if (cached != null) {
+      long age = clock.getAsLong() - cached.loadedAt;
+      if (age < softExpirationMillis) {
+        counters.recordHit(tenant);
+        return CompletableFuture.completedFuture(cached.configuration);
+      }
+      if (age < hardExpirationMillis) {
+        counters.recordHit(tenant);
+        refresh(tenant, okapiData).exceptionally(throwable -> {
+          log.warn("Background refresh of configuration for tenant " + tenant + " failed", throwable);
+          return null;
+        });
+        return CompletableFuture.completedFuture(cached.configuration);
+      }
+    }
+
+    counters.recordMiss(tenant);
+    return refresh(tenant, okapiData);
+  }
+
+  @Override
+  public CompletableFuture<Configuration> updateConfiguration(Configuration configuration, OkapiData okapiData) {
+    invalidate(okapiData.getTenant());
+    return delegate.updateConfiguration(configuration, okapiData);
+  }
+
+  @Override
+  public CompletableFuture<List<ConfigurationError>> verifyCredentials(Configuration configuration,
+                                                                       Context vertxContext, String tenant) {
+    return delegate.verifyCredentials(configuration, vertxContext, tenant);
+  }
+
+  public void invalidate(String tenant) {
+    configurations.remove(tenant);
+    if (persistentStore != null) {
+      persistentStore.invalidate(tenant);
+    }
+  }
+
+  public void invalidateAll() {
+    configurations.clear();
+    if (persistentStore != null) {
+      persistentStore.invalidateAll();
+    }
+  }
+
+  public int size() {
+    return configurations.size();
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public Set<String> getPartitions() {
+    Set<String> tenants = new HashSet<>(counters.getPartitions());
+    tenants.addAll(configurations.keySet());
+    return tenants;
+  }
+
+  /**
+   * Configurations are partitioned by tenant. The weight is estimated from the length of the configuration values.
+   */
+  @Override
+  public CacheUsage getUsage(String tenant) {
+    CachedConfiguration cached = configurations.get(tenant);
+    if (cached == null) {
+      return counters.usage(tenant, 0, 0);
+    }
+    Configuration configuration = cached.configuration;
+    long weight = 2L * (length(configuration.getCustomerId()) + length(configuration.getApiKey())
+      + length(configuration.getUrl()));
+    return counters.usage(tenant, 1, weight);
+  }
+
+  @Override
+  public void invalidatePartition(String tenant) {
+    invalidate(tenant);
+  }
+
+  /**
+   * Starts loading the configuration of the tenant unless a load is already running, in which case the running one
+   * is joined.
+   */
+  private CompletableFuture<Configuration> refresh(String tenant, OkapiData okapiData) {
+    CompletableFuture<Configuration> running = refreshes.get(tenant);
+    if (running != null) {
+      return running;
+    }
+
+    CompletableFuture<Configuration> refresh = new CompletableFuture<>();
+    running = refreshes.putIfAbsent(tenant, refresh);
+    if (running != null) {
+      return running;
+    }
+
+    delegate.retrieveConfiguration(okapiData).whenComplete((configuration, throwable) -> {
+      refreshes.remove(tenant, refresh);
+      if (throwable != null) {
+        refresh.completeExceptionally(throwable);
+      } else {
+        configurations.put(tenant, new CachedConfiguration(configuration, clock.getAsLong()));
+        if (persistentStore != null) {
+          persistentStore.put(tenant, configuration);
+        }
+        refresh.complete(configuration);
+      }
+    });
+    return refresh;
+  }
+
+  private CachedConfiguration restore(String tenant) {
+    Configuration configuration = persistentStore == null ? null : persistentStore.get(tenant);
+    if (configuration == null) {
+      return null;
+    }
+    CachedConfiguration restored = new CachedConfiguration(configuration, clock.getAsLong() - softExpirationMillis);
+    configurations.putIfAbsent(tenant, restored);
+    return restored;
+  }
+
+  private static int length(String value) {
+    return value == null ? 0 : value.length();
+  }
+
+  private static final class CachedConfiguration {
+    private final Configuration configuration;
+    private final long loadedAt;
+
+    private CachedConfiguration(Configuration configuration, long loadedAt) {
+      this.configuration = configuration;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
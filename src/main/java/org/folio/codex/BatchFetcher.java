@@ -0,0 +1,186 @@
+package org.folio.codex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.validation.ValidationException;
+
+import org.folio.holdingsiq.service.exception.ResourceNotFoundException;
+
+/**
+ * Fetches records for a list of ids with at most a fixed number of fetches in flight at a time.
+ *
+ * Records come back in the order of the ids. Ids that are not found are reported as missing, any other failure,
+ * including an invalid id, fails the whole batch.
+ */
+public class BatchFetcher {
+
+  private final int maxConcurrency;
+  private final int maxIds;
+
+  public BatchFetcher(int maxConcurrency) {
+    this(maxConcurrency, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param maxConcurrency most fetches in flight at a time
+   * @param maxIds         most ids a batch may ask for
+   */
+  public BatchFetcher(int maxConcurrency, int maxIds) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be at least 1: " + maxConcurrency);
+    }
+    this.maxConcurrency = maxConcurrency;
+    this.maxIds = maxIds;
+  }
+
+  /**
+   * Returns the ids without repetitions, in the order they were first given.
+   *
+   * @throws ValidationException if there are more ids than a batch may ask for
+   */
+  public List<String> distinctIds(Collection<String> ids) {
+    List<String> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+    if (distinct.size() > maxIds) {
+      throw new ValidationException("Unsupported Query Format : More than " + maxIds + " ids are not supported.");
+    }
+    return distinct;
+  }
+
+  public <K, V> CompletableFuture<Result<K, V>> fetch(List<K> ids, Function<K, CompletableFuture<V>> fetcher) {
+    CompletableFuture<Result<K, V>> result = new CompletableFuture<>();
+    if (ids.isEmpty()) {
+      result.complete(new Result<>(new ArrayList<>(), new ArrayList<>()));
+      return result;
+    }
+
+    Batch<K, V> batch = new Batch<>(ids, fetcher, result);
+    for (int i = 0; i < Math.min(maxConcurrency, ids.size()); i++) {
+      batch.fetchNext();
+    }
+    return result;
+  }
+
+  /**
+   * Records found, in the order of their ids, and the ids that were not found.
+   */
+  public static final class Result<K, V> {
+    private final List<V> found;
+    private final List<K> missing;
+
+    private Result(List<V> found, List<K> missing) {
+      this.found = found;
+      this.missing = missing;
+    }
+
+    public List<V> getFound() {
+      return found;
+    }
+
+    public List<K> getMissing() {
+      return missing;
+    }
+  }
+
+  private static final class Batch<K, V> {
+    private final List<K> ids;
+    private final Function<K, CompletableFuture<V>> fetcher;
+    private final CompletableFuture<Result<K, V>> result;
+    private final Object[] records;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger remaining;
+
+    private Batch(List<K> ids, Function<K, CompletableFuture<V>> fetcher, CompletableFuture<Result<K, V>> result) {
+      this.ids = ids;
+      this.fetcher = fetcher;
+      this.result = result;
+      this.records = new Object[ids.size()];
+      this.remaining = new AtomicInteger(ids.size());
+    }
+
+    /**
+     * Starts fetches until one is still in flight, which continues the batch when it completes. Records that are
+     * already there, e.g. from a cache, are taken in the loop rather than in a callback, so a long run of them does
+     * not nest calls.
+     */
+    private void fetchNext() {
+      while (true) {
+        int index = next.getAndIncrement();
+        if (index >= ids.size() || result.isDone()) {
+          return;
+        }
+        CompletableFuture<V> record = start(ids.get(index));
+        if (!record.isDone()) {
+          record.whenComplete((value, throwable) -> {
+            if (accept(index, value, throwable)) {
+              fetchNext();
+            }
+          });
+          return;
+        }
+        V value = null;
+        Throwable throwable = null;
+        try {
+          value = record.join();
+        } catch (RuntimeException e) {
+          throwable = e;
+        }
+        if (!accept(index, value, throwable)) {
+          return;
+        }
+      }
+    }
+
+    private CompletableFuture<V> start(K id) {
+      try {
+        return fetcher.apply(id);
+      } catch (RuntimeException e) {
+        CompletableFuture<V> record = new CompletableFuture<>();
+        record.completeExceptionally(e);
+        return record;
+      }
+    }
+
+    /**
+     * Stores the outcome of a fetch, returns whether more fetches should be started.
+     */
+    private boolean accept(int index, V value, Throwable throwable) {
+      if (throwable != null && !isMissing(throwable)) {
+        result.completeExceptionally(throwable);
+        return false;
+      }
+      records[index] = value;
+      if (remaining.decrementAndGet() == 0) {
+        complete();
+        return false;
+      }
+      return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete() {
+      List<V> found = new ArrayList<>(records.length);
+      List<K> missing = new ArrayList<>();
+      for (int i = 0; i < records.length; i++) {
+        if (records[i] == null) {
+          missing.add(ids.get(i));
+        } else {
+          found.add((V) records[i]);
+        }
+      }
+      result.complete(new Result<>(found, missing));
+    }
+
+    private static boolean isMissing(Throwable throwable) {
+      Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+        ? throwable.getCause() : throwable;
+      return cause instanceof ResourceNotFoundException;
+    }
+  }
+}
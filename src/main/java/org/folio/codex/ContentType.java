@@ -1,7 +1,6 @@
 package org.folio.codex;
 
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.Map;
 
 import org.folio.rest.jaxrs.model.Package;
@@ -20,12 +19,11 @@ public enum ContentType {
   private final String rmAPI;
 
   private static final Map<Package.Type, ContentType> CODEX_MAP = new EnumMap<>(Package.Type.class);
-  private static final Map<String, ContentType> RM_API_MAP = new HashMap<>();
+  private static final ContentType[] VALUES = values();
 
   static {
-    for (ContentType contentType : ContentType.values()) {
+    for (ContentType contentType : VALUES) {
       CODEX_MAP.put(contentType.codex, contentType);
-      RM_API_MAP.put(contentType.rmAPI, contentType);
     }
   }
 
@@ -38,8 +36,16 @@ public enum ContentType {
     return lookup(CODEX_MAP, Package.Type.fromValue(codex));
   }
 
+  /**
+   * Matches the RM API value ignoring case, without allocating a lower-cased copy of it.
+   */
   public static ContentType fromRMAPI(String rmAPI) {
-    return lookup(RM_API_MAP, rmAPI.toLowerCase());
+    for (ContentType contentType : VALUES) {
+      if (contentType.rmAPI.equalsIgnoreCase(rmAPI)) {
+        return contentType;
+      }
+    }
+    throw new IllegalArgumentException("Unknown Resource Type: " + rmAPI);
   }
 
   private static <T> ContentType lookup(Map<T, ContentType> map, T value) {
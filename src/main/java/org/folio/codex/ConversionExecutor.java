@@ -0,0 +1,160 @@
+package org.folio.codex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.vertx.core.Context;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Converts batches of RM API records to codex records.
+ *
+ * Batches smaller than the threshold are converted on the calling thread. Larger ones are split across a dedicated
+ * fork/join pool of bounded parallelism, and the result is completed on the Vert.x context the conversion was started
+ * from. The time spent converting on event loop threads is recorded, so the threshold can be tuned.
+ */
+public class ConversionExecutor {
+  private static final Logger log = LoggerFactory.getLogger(ConversionExecutor.class);
+
+  private static final int SPLIT_SIZE = 64;
+  private static final String THREAD_NAME_PREFIX = "codex-conversion-";
+
+  private final int threshold;
+  private final ForkJoinPool pool;
+
+  private final LongAdder eventLoopConversions = new LongAdder();
+  private final LongAdder eventLoopNanos = new LongAdder();
+  private final LongAccumulator maxEventLoopNanos = new LongAccumulator(Math::max, 0);
+  private final LongAdder offloadedConversions = new LongAdder();
+
+  /**
+   * @param threshold   smallest batch that is converted on the worker pool, 0 disables offloading
+   * @param parallelism number of worker threads, 0 for the number of available processors
+   */
+  public ConversionExecutor(int threshold, int parallelism) {
+    this.threshold = threshold;
+    this.pool = threshold <= 0 ? null : new ForkJoinPool(
+      parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+      forkJoinPool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+        thread.setName(THREAD_NAME_PREFIX + thread.getPoolIndex());
+        return thread;
+      }, null, false);
+  }
+
+  /**
+   * Executor that converts every batch on the calling thread.
+   */
+  public static ConversionExecutor direct() {
+    return new ConversionExecutor(0, 0);
+  }
+
+  public <S, T> CompletableFuture<List<T>> convert(Context context, List<S> sources, Function<S, T> converter) {
+    if (pool == null || sources.size() < threshold) {
+      return CompletableFuture.completedFuture(convertInline(sources, converter));
+    }
+
+    offloadedConversions.increment();
+    CompletableFuture<List<T>> result = new CompletableFuture<>();
+    pool.execute(() -> {
+      try {
+        Object[] converted = new Object[sources.size()];
+        new ConversionTask<>(sources, converted, 0, sources.size(), converter).invoke();
+        @SuppressWarnings("unchecked")
+        List<T> records = new ArrayList<>((List<T>) Arrays.asList(converted));
+        context.runOnContext(v -> result.complete(records));
+      } catch (Throwable e) {
+        // an error would otherwise only end the task and leave the result incomplete forever
+        context.runOnContext(v -> result.completeExceptionally(e));
+      }
+    });
+    return result;
+  }
+
+  public long getEventLoopConversions() {
+    return eventLoopConversions.sum();
+  }
+
+  public long getEventLoopMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(eventLoopNanos.sum());
+  }
+
+  public long getMaxEventLoopMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxEventLoopNanos.get());
+  }
+
+  public long getOffloadedConversions() {
+    return offloadedConversions.sum();
+  }
+
+  public void shutdown() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  private <S, T> List<T> convertInline(List<S> sources, Function<S, T> converter) {
+    boolean onEventLoop = Context.isOnEventLoopThread();
+    long start = onEventLoop ? System.nanoTime() : 0;
+
+    List<T> converted = new ArrayList<>(sources.size());
+    for (S source : sources) {
+      converted.add(converter.apply(source));
+    }
+
+    if (onEventLoop) {
+      long elapsed = System.nanoTime() - start;
+      eventLoopConversions.increment();
+      eventLoopNanos.add(elapsed);
+      maxEventLoopNanos.accumulate(elapsed);
+      if (log.isDebugEnabled()) {
+        log.debug("Converted " + converted.size() + " records on the event loop in "
+          + TimeUnit.NANOSECONDS.toMicros(elapsed) + " microseconds");
+      }
+    }
+    return converted;
+  }
+
+  /**
+   * Converts a range of the sources into the same range of the result array, splitting it in halves down to
+   * {@value #SPLIT_SIZE} records.
+   */
+  private static final class ConversionTask<S, T> extends RecursiveAction {
+    private final List<S> sources;
+    private final Object[] converted;
+    private final int from;
+    private final int to;
+    private final Function<S, T> converter;
+
+    private ConversionTask(List<S> sources, Object[] converted, int from, int to, Function<S, T> converter) {
+      this.sources = sources;
+      this.converted = converted;
+      this.from = from;
+      this.to = to;
+      this.converter = converter;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= SPLIT_SIZE) {
+        for (int i = from; i < to; i++) {
+          converted[i] = converter.apply(sources.get(i));
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new ConversionTask<>(sources, converted, from, middle, converter),
+        new ConversionTask<>(sources, converted, middle, to, converter));
+    }
+  }
+}
@@ -1,8 +1,5 @@
 package org.folio.codex;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * @author mreno
  *
@@ -12,16 +9,29 @@ public enum IdentifierSubType {
   PRINT(1, "Print"),
   ONLINE(2, "Online");
 
-  private static final Map<Integer, IdentifierSubType> MAP = new HashMap<>();
+  /**
+   * Types indexed by their RM API code, codes are small non-negative numbers.
+   */
+  private static final IdentifierSubType[] BY_CODE;
 
   static {
+    int maxCode = 0;
     for (IdentifierSubType id : IdentifierSubType.values()) {
-      MAP.put(id.code, id);
+      maxCode = Math.max(maxCode, id.code);
+    }
+    BY_CODE = new IdentifierSubType[maxCode + 1];
+    for (IdentifierSubType id : IdentifierSubType.values()) {
+      if (id.code >= 0) {
+        BY_CODE[id.code] = id;
+      }
     }
   }
 
   public static IdentifierSubType valueOf(Integer i) {
-    return MAP.getOrDefault(i, UNKNOWN);
+    if (i == null || i < 0 || i >= BY_CODE.length || BY_CODE[i] == null) {
+      return UNKNOWN;
+    }
+    return BY_CODE[i];
   }
 
   private final int code;
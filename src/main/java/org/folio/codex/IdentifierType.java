@@ -1,8 +1,5 @@
 package org.folio.codex;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * @author mreno
  *
@@ -13,16 +10,29 @@ public enum IdentifierType {
   ISBN(1, "ISBN"),
   ZDBID(6, "ZDBID");
 
-  private static final Map<Integer, IdentifierType> MAP = new HashMap<>();
+  /**
+   * Types indexed by their RM API code, codes are small non-negative numbers.
+   */
+  private static final IdentifierType[] BY_CODE;
 
   static {
+    int maxCode = 0;
     for (IdentifierType id : IdentifierType.values()) {
-      MAP.put(id.code, id);
+      maxCode = Math.max(maxCode, id.code);
+    }
+    BY_CODE = new IdentifierType[maxCode + 1];
+    for (IdentifierType id : IdentifierType.values()) {
+      if (id.code >= 0) {
+        BY_CODE[id.code] = id;
+      }
     }
   }
 
   public static IdentifierType valueOf(Integer i) {
-    return MAP.getOrDefault(i, UNKNOWN);
+    if (i == null || i < 0 || i >= BY_CODE.length || BY_CODE[i] == null) {
+      return UNKNOWN;
+    }
+    return BY_CODE[i];
   }
 
   private final int code;
@@ -0,0 +1,216 @@
+package org.folio.codex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.folio.cql2rmapi.UnsupportedQueryException;
+
+/**
+ * Runs the branches of an OR query in parallel and merges their results into one window.
+ *
+ * Every branch is a search returning records in the same order, so the merged result is a k-way merge of the branches
+ * with records found by more than one branch kept only once. To fill the window {@code [offset, offset + limit)} each
+ * branch is read from its start up to {@code offset + limit} records. If duplicates leave the merged result short and
+ * some branch has more records, the branches are read further, doubling the number of records read up to
+ * {@value #MAX_GROWTH} times the window end. No branch is ever read past {@value #MAX_BRANCH_RECORDS} records, and
+ * windows ending past that are rejected, so a query costs at most that many records per branch.
+ *
+ * The total of the merged result is exact once all branches are read to their end, otherwise it is the sum of the
+ * branch totals less the duplicates seen so far.
+ *
+ * @param <T> the type of the records
+ */
+public final class MergedSearch<T> {
+  /**
+   * Most branches a query may be split into, as every branch is a separate RM API search.
+   */
+  public static final int MAX_BRANCHES = 10;
+
+  /**
+   * Most records read from one branch, which also limits how far the merged result can be paged.
+   */
+  public static final int MAX_BRANCH_RECORDS = 1000;
+
+  private static final int MAX_GROWTH = 8;
+  private static final String WINDOW_TOO_FAR = "Unsupported Query Format : Search with OR branches can not be paged past "
+    + MAX_BRANCH_RECORDS + " records.";
+
+  /**
+   * A search returning up to {@code limit} records starting at {@code offset}.
+   */
+  @FunctionalInterface
+  public interface Branch<T> {
+    CompletableFuture<Chunk<T>> fetch(int offset, int limit);
+  }
+
+  /**
+   * Records of a branch together with the total number of records the branch has.
+   */
+  public static final class Chunk<T> {
+    private final List<T> records;
+    private final int totalResults;
+
+    public Chunk(List<T> records, int totalResults) {
+      this.records = records;
+      this.totalResults = totalResults;
+    }
+
+    public List<T> getRecords() {
+      return records;
+    }
+
+    public int getTotalResults() {
+      return totalResults;
+    }
+  }
+
+  private final List<Branch<T>> branches;
+  private final Comparator<? super T> order;
+  private final Function<? super T, ?> id;
+
+  /**
+   * @param order the order every branch returns its records in
+   * @param id    identity of a record, records with equal identities are kept once
+   */
+  public MergedSearch(List<Branch<T>> branches, Comparator<? super T> order, Function<? super T, ?> id) {
+    this.branches = branches;
+    this.order = order;
+    this.id = id;
+  }
+
+  /**
+   * Returns the window of the merged result, or fails with {@link UnsupportedQueryException} if the window ends past
+   * {@value #MAX_BRANCH_RECORDS} records.
+   */
+  public CompletableFuture<Chunk<T>> search(int offset, int limit) {
+    if ((long) offset + limit > MAX_BRANCH_RECORDS) {
+      CompletableFuture<Chunk<T>> rejected = new CompletableFuture<>();
+      rejected.completeExceptionally(new UnsupportedQueryException(WINDOW_TOO_FAR));
+      return rejected;
+    }
+    List<BranchState<T>> states = new ArrayList<>(branches.size());
+    for (Branch<T> branch : branches) {
+      states.add(new BranchState<>(branch));
+    }
+    int end = offset + limit;
+    return read(states, end, offset, limit);
+  }
+
+  private CompletableFuture<Chunk<T>> read(List<BranchState<T>> states, int target, int offset, int limit) {
+    List<CompletableFuture<Void>> reads = new ArrayList<>(states.size());
+    for (BranchState<T> state : states) {
+      if (!state.exhausted && state.records.size() < target) {
+        reads.add(state.readUpTo(target));
+      }
+    }
+    return CompletableFuture.allOf(reads.toArray(new CompletableFuture[0])).thenCompose(v -> {
+      int end = offset + limit;
+      Merge<T> merge = merge(states, target);
+      boolean exhausted = states.stream().allMatch(state -> state.exhausted);
+      if (merge.distinct.size() >= end || exhausted || target >= Math.min((long) end * MAX_GROWTH, MAX_BRANCH_RECORDS)) {
+        return CompletableFuture.completedFuture(window(merge, states, exhausted, offset, end));
+      }
+      return read(states, Math.min(target * 2, MAX_BRANCH_RECORDS), offset, limit);
+    });
+  }
+
+  /**
+   * Merges the first {@code count} records of the branches, which are read at least that far or to their end, so the
+   * result is exactly the start of the merge of the complete branches.
+   */
+  private Merge<T> merge(List<BranchState<T>> states, int count) {
+    PriorityQueue<Cursor<T>> cursors = new PriorityQueue<>(states.size(),
+      (first, second) -> order.compare(first.current(), second.current()));
+    for (BranchState<T> state : states) {
+      if (!state.records.isEmpty()) {
+        cursors.add(new Cursor<>(state.records));
+      }
+    }
+
+    Merge<T> merge = new Merge<>(count);
+    Set<Object> seen = new HashSet<>();
+    int merged = 0;
+    while (merged < count && !cursors.isEmpty()) {
+      Cursor<T> cursor = cursors.poll();
+      T record = cursor.current();
+      if (seen.add(id.apply(record))) {
+        merge.distinct.add(record);
+      } else {
+        merge.duplicates++;
+      }
+      merged++;
+      if (cursor.advance()) {
+        cursors.add(cursor);
+      }
+    }
+    return merge;
+  }
+
+  private Chunk<T> window(Merge<T> merge, List<BranchState<T>> states, boolean exhausted, int offset, int end) {
+    int total;
+    if (exhausted) {
+      total = merge.distinct.size();
+    } else {
+      long sum = 0;
+      for (BranchState<T> state : states) {
+        sum += state.totalResults;
+      }
+      total = (int) Math.max(merge.distinct.size(), Math.min(Integer.MAX_VALUE, sum - merge.duplicates));
+    }
+    int from = Math.min(offset, merge.distinct.size());
+    int to = Math.min(end, merge.distinct.size());
+    return new Chunk<>(new ArrayList<>(merge.distinct.subList(from, to)), total);
+  }
+
+  private static final class BranchState<T> {
+    private final Branch<T> branch;
+    private final List<T> records = new ArrayList<>();
+    private int totalResults;
+    private boolean exhausted;
+
+    private BranchState(Branch<T> branch) {
+      this.branch = branch;
+    }
+
+    private CompletableFuture<Void> readUpTo(int target) {
+      int requested = target - records.size();
+      return branch.fetch(records.size(), requested).thenAccept(chunk -> {
+        records.addAll(chunk.getRecords());
+        totalResults = chunk.getTotalResults();
+        exhausted = chunk.getRecords().size() < requested || records.size() >= totalResults;
+      });
+    }
+  }
+
+  private static final class Cursor<T> {
+    private final List<T> records;
+    private int index;
+
+    private Cursor(List<T> records) {
+      this.records = records;
+    }
+
+    private T current() {
+      return records.get(index);
+    }
+
+    private boolean advance() {
+      return ++index < records.size();
+    }
+  }
+
+  private static final class Merge<T> {
+    private final List<T> distinct;
+    private int duplicates;
+
+    private Merge(int count) {
+      this.distinct = new ArrayList<>(count);
+    }
+  }
+}
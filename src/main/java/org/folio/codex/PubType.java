@@ -4,7 +4,6 @@
 package org.folio.codex;
 
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.Map;
 
 import org.folio.rest.jaxrs.model.Instance;
@@ -30,12 +29,11 @@ public enum PubType {
   WEB_RESOURCES(Instance.Type.WEBRESOURCES, "website");
 
   private static final Map<Instance.Type, PubType> CODEX_MAP = new EnumMap<>(Instance.Type.class);
-  private static final Map<String, PubType> RM_API_MAP = new HashMap<>();
+  private static final PubType[] VALUES = values();
 
   static {
-    for (PubType pt : PubType.values()) {
+    for (PubType pt : VALUES) {
       CODEX_MAP.put(pt.codex, pt);
-      RM_API_MAP.put(pt.rmAPI, pt);
     }
   }
 
@@ -43,8 +41,16 @@ public enum PubType {
     return lookup(CODEX_MAP, Instance.Type.fromValue(codex));
   }
 
+  /**
+   * Matches the RM API value ignoring case, without allocating a lower-cased copy of it.
+   */
   public static PubType fromRMAPI(String rmAPI) {
-    return lookup(RM_API_MAP, rmAPI.toLowerCase());
+    for (PubType pt : VALUES) {
+      if (pt.rmAPI.equalsIgnoreCase(rmAPI)) {
+        return pt;
+      }
+    }
+    throw new IllegalArgumentException("Unknown publication type: " + rmAPI);
   }
 
   private static <T> PubType lookup(Map<T, PubType> map, T value) {
@@ -0,0 +1,25 @@
+package org.folio.codex;
+
+/**
+ * The strategy chosen for a query by the {@link QueryPlanner}, with the known total of an out of range window.
+ */
+public final class QueryPlan {
+  private final QueryStrategy strategy;
+  private final int totalRecords;
+
+  QueryPlan(QueryStrategy strategy, int totalRecords) {
+    this.strategy = strategy;
+    this.totalRecords = totalRecords;
+  }
+
+  public QueryStrategy getStrategy() {
+    return strategy;
+  }
+
+  /**
+   * Returns the known total of the query for {@link QueryStrategy#OUT_OF_RANGE}, 0 for other strategies.
+   */
+  public int getTotalRecords() {
+    return totalRecords;
+  }
+}
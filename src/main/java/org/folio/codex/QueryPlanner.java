@@ -0,0 +1,100 @@
+package org.folio.codex;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.folio.cache.IdentifierIndex;
+import org.folio.cache.QueryTotals;
+import org.folio.cql2rmapi.PackageParameters;
+import org.folio.cql2rmapi.ParsedQuery;
+import org.folio.cql2rmapi.TitleParameters;
+
+/**
+ * Picks the cheapest {@link QueryStrategy} for a parsed collection query and counts the strategies used per resource.
+ *
+ * In order of preference: id searches are answered by fetching the records, a window past the known total of the
+ * query gets no records, an exact identifier search is looked up in the {@link IdentifierIndex}, several OR branches
+ * are merged, and anything else is a single RM API search. A plan is a preference, e.g. the identifier index falls
+ * back to a search if some of the titles are no longer cached, so the strategy actually used is the one to record.
+ *
+ * Totals are remembered per query, keyed by {@link org.folio.cache.ResponseCache#key(String...)} of the account, the
+ * resource and the query without the window. Only single RM API searches remember their totals, as the total of
+ * merged OR branches is an estimate until all branches are read, so only those are answered {@link
+ * QueryStrategy#OUT_OF_RANGE}. Records added to the knowledge base stay hidden from such windows until the total
+ * expires, which is why remembering totals is off by default.
+ *
+ * Responses taken from the response cache are never planned. They are counted as {@link QueryStrategy#CACHE}, so the
+ * counts of the other strategies are those of the queries that reached the planner.
+ */
+public class QueryPlanner {
+
+  private final IdentifierIndex identifierIndex;
+  private final QueryTotals queryTotals;
+  private final Map<String, Map<QueryStrategy, LongAdder>> counts = new ConcurrentHashMap<>();
+
+  public QueryPlanner(IdentifierIndex identifierIndex, QueryTotals queryTotals) {
+    this.identifierIndex = identifierIndex;
+    this.queryTotals = queryTotals;
+  }
+
+  public QueryPlan planInstances(String totalsKey, ParsedQuery<TitleParameters> parsedQuery, int offset) {
+    QueryPlan plan = plan(totalsKey, parsedQuery, offset);
+    if (plan.getStrategy() == QueryStrategy.SEARCH && identifierIndex.isEnabled()
+      && parsedQuery.getParameters().get(0).isExactIdentifierSearch()) {
+      return new QueryPlan(QueryStrategy.IDENTIFIER_INDEX, 0);
+    }
+    return plan;
+  }
+
+  public QueryPlan planPackages(String totalsKey, ParsedQuery<PackageParameters> parsedQuery, int offset) {
+    return plan(totalsKey, parsedQuery, offset);
+  }
+
+  /**
+   * Remembers the total of a query answered by a single RM API search.
+   */
+  public void rememberTotal(String totalsKey, Integer totalRecords) {
+    if (totalRecords != null) {
+      queryTotals.put(totalsKey, totalRecords);
+    }
+  }
+
+  public void record(String resource, QueryStrategy strategy) {
+    counts.computeIfAbsent(resource, r -> newCounters()).get(strategy).increment();
+  }
+
+  public Set<String> getResources() {
+    return counts.keySet();
+  }
+
+  public long getCount(String resource, QueryStrategy strategy) {
+    Map<QueryStrategy, LongAdder> counters = counts.get(resource);
+    return counters == null ? 0 : counters.get(strategy).sum();
+  }
+
+  private QueryPlan plan(String totalsKey, ParsedQuery<?> parsedQuery, int offset) {
+    boolean branched = parsedQuery.getBranches().size() > 1;
+    if (parsedQuery.isIdSearch()) {
+      return new QueryPlan(branched ? QueryStrategy.ID_LIST : QueryStrategy.BY_ID, 0);
+    }
+    if (offset > 0 && !branched) {
+      Integer total = queryTotals.get(totalsKey);
+      if (total != null && offset >= total) {
+        return new QueryPlan(QueryStrategy.OUT_OF_RANGE, total);
+      }
+    }
+    return new QueryPlan(branched ? QueryStrategy.OR_MERGE : QueryStrategy.SEARCH, 0);
+  }
+
+  private static Map<QueryStrategy, LongAdder> newCounters() {
+    Map<QueryStrategy, LongAdder> counters = new EnumMap<>(QueryStrategy.class);
+    for (QueryStrategy strategy : QueryStrategy.values()) {
+      counters.put(strategy, new LongAdder());
+    }
+    return Collections.unmodifiableMap(counters);
+  }
+}
@@ -0,0 +1,47 @@
+package org.folio.codex;
+
+import java.util.Locale;
+
+/**
+ * Ways a codex collection query can be answered, see {@link QueryPlanner}.
+ */
+public enum QueryStrategy {
+  /**
+   * The whole response was taken from the response cache, so the query was not planned. The strategy that loaded the
+   * cached response was counted once, when it was loaded.
+   */
+  CACHE,
+  /**
+   * A single {@code id=} search, answered by fetching the record.
+   */
+  BY_ID,
+  /**
+   * {@code id=} searches joined by OR, answered by fetching the records from the record cache or the RM API.
+   */
+  ID_LIST,
+  /**
+   * An exact {@code identifier=} search, answered from the identifier index and the instance record cache.
+   */
+  IDENTIFIER_INDEX,
+  /**
+   * A window starting past the known total of the query, answered with no records.
+   */
+  OUT_OF_RANGE,
+  /**
+   * Several OR branches, answered by merging an RM API search per branch.
+   */
+  OR_MERGE,
+  /**
+   * A single RM API search.
+   */
+  SEARCH;
+
+  private final String name = name().toLowerCase(Locale.ROOT).replace('_', '-');
+
+  /**
+   * Returns the name reported in the query plan header, e.g. {@code identifier-index}.
+   */
+  public String getName() {
+    return name;
+  }
+}
@@ -1,9 +1,11 @@
 package org.folio.codex;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 import org.folio.converter.hld2cdx.ContributorConverter;
 import org.folio.converter.hld2cdx.CoverageConverter;
@@ -11,9 +13,12 @@ import org.folio.converter.hld2cdx.IdentifierConverter;
 import org.folio.converter.hld2cdx.PackageConverter;
 import org.folio.converter.hld2cdx.SubjectConverter;
 import org.folio.converter.hld2cdx.TitleConverter;
+import org.folio.cql2rmapi.FieldProjection;
 import org.folio.cql2rmapi.PackageParameters;
+import org.folio.cql2rmapi.ParsedQuery;
 import org.folio.cql2rmapi.TitleParameters;
 import org.folio.cql2rmapi.query.Page;
+import org.folio.cql2rmapi.query.PaginationCalculator;
 import org.folio.cql2rmapi.query.PaginationInfo;
 import org.folio.holdingsiq.model.Configuration;
 import org.folio.holdingsiq.model.PackageData;
@@ -30,7 +35,6 @@ import org.folio.rest.jaxrs.model.InstanceCollection;
 import org.folio.rest.jaxrs.model.Package;
 import org.folio.rest.jaxrs.model.PackageCollection;
 import org.folio.rest.jaxrs.model.ResultInfo;
-import org.springframework.core.convert.converter.Converter;
 
 import io.vertx.core.Context;
 import io.vertx.core.logging.Logger;
@@ -43,9 +47,11 @@ import io.vertx.core.logging.LoggerFactory;
 public final class RMAPIToCodex {
   private static final Logger log = LoggerFactory.getLogger(RMAPIToCodex.class);
 
-  private static final Converter<Title, Instance> TITLE_CONVERTER = new TitleConverter(
+  private static final TitleConverter TITLE_CONVERTER = new TitleConverter(
     new IdentifierConverter(), new ContributorConverter(), new SubjectConverter());
-  private static final Converter<PackageData, Package> PACKAGE_CONVERTER = new PackageConverter(new CoverageConverter());
+  private static final PackageConverter PACKAGE_CONVERTER = new PackageConverter(new CoverageConverter());
+
+  private static final Comparator<String> NAME_ORDER = Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER);
 
   private RMAPIToCodex() {
     super();
@@ -71,78 +77,143 @@ public final class RMAPIToCodex {
 
   public static CompletableFuture<InstanceCollection> getInstances(TitleParameters parameters, PaginationInfo pagination, Context vertxContext,
                                                                    Configuration rmAPIConfig) {
+    return getInstances(parameters, pagination, vertxContext, rmAPIConfig, ConversionExecutor.direct());
+  }
+
+  public static CompletableFuture<InstanceCollection> getInstances(TitleParameters parameters, PaginationInfo pagination, Context vertxContext,
+                                                                   Configuration rmAPIConfig,
+                                                                   ConversionExecutor conversionExecutor) {
     log.info("Calling getInstances");
 
-    final List<CompletableFuture<Titles>> titleCfs = new ArrayList<>();
+    return retrieveTitles(parameters, pagination, pagination.getLimit(), vertxContext, rmAPIConfig)
+      .thenCompose(titles -> conversionExecutor.convert(vertxContext, titles.getRecords(),
+        title -> TITLE_CONVERTER.convert(title, parameters.getFields()))
+        .thenApply(instances -> new InstanceCollection()
+          .withInstances(instances)
+          .withResultInfo(new ResultInfo().withTotalRecords(titles.getTotalResults()))));
+  }
 
-    for (Page page : pagination.getPages()) {
-      titleCfs.add(new TitlesHoldingsIQServiceImpl(rmAPIConfig, vertxContext.owner()).retrieveTitles(parameters.getFilterQuery(), parameters.getSortType(), page.getOffset(), page.getLimit()));
+  /**
+   * Runs the branches of an OR query in parallel and merges them by title into one collection without duplicates.
+   *
+   * The branches are merged by title name ignoring case, which is assumed to be the order the RM API sorts titles by
+   * name in. Where the two differ, e.g. for names with leading articles or punctuation, titles can be merged out of
+   * order, but none are lost or repeated. The branches share their fields, see {@link ParsedQuery}.
+   */
+  public static CompletableFuture<InstanceCollection> getInstances(List<TitleParameters> branches, int offset, int limit,
+                                                                   Context vertxContext, Configuration rmAPIConfig,
+                                                                   ConversionExecutor conversionExecutor) {
+    log.info("Calling getInstances with " + branches.size() + " branches");
+
+    List<MergedSearch.Branch<Title>> searches = new ArrayList<>(branches.size());
+    for (TitleParameters parameters : branches) {
+      searches.add((branchOffset, branchLimit) -> retrieveTitles(parameters,
+        new PaginationCalculator().getPagination(branchOffset, branchLimit), branchLimit, vertxContext, rmAPIConfig));
     }
-
-    return CompletableFuture
-      .allOf(titleCfs.toArray(new CompletableFuture[0]))
-      .thenCompose(aVoid -> {
-        final List<Titles> collect = titleCfs.stream().map(CompletableFuture::join).collect(Collectors.toList());
-        return convertRMTitleListToCodex(collect, pagination.getFirstObjectIndex(), pagination.getLimit());
-      });
+    FieldProjection fields = branches.get(0).getFields();
+    return new MergedSearch<>(searches, Comparator.comparing(Title::getTitleName, NAME_ORDER), Title::getTitleId)
+      .search(offset, limit)
+      .thenCompose(merged -> conversionExecutor.convert(vertxContext, merged.getRecords(),
+        title -> TITLE_CONVERTER.convert(title, fields))
+        .thenApply(instances -> new InstanceCollection()
+          .withInstances(instances)
+          .withResultInfo(new ResultInfo().withTotalRecords(merged.getTotalResults()))));
   }
 
-
-  private static CompletableFuture<InstanceCollection> convertRMTitleListToCodex(List<Titles> titles, int index, int limit) {
-    final InstanceCollection instanceCollection = new InstanceCollection();
-      List<Instance> instances = new ArrayList<>();
-      int totalResults = 0;
-
-      for (Titles title : titles) {
-        totalResults = Math.max(totalResults, title.getTotalResults());
-        instances.addAll(title.getTitleList().stream()
-            .map(TITLE_CONVERTER::convert)
-            .collect(Collectors.toList()));
-      }
-
-    instances = getSublist(index, limit, instances);
-
-    instanceCollection.setInstances(instances);
-      instanceCollection.setResultInfo(new ResultInfo().withTotalRecords(totalResults));
-
-      return CompletableFuture.completedFuture(instanceCollection);
+  private static CompletableFuture<MergedSearch.Chunk<Title>> retrieveTitles(TitleParameters parameters,
+                                                                             PaginationInfo pagination, int limit,
+                                                                             Context vertxContext,
+                                                                             Configuration rmAPIConfig) {
+    TitlesHoldingsIQService service = new TitlesHoldingsIQServiceImpl(rmAPIConfig, vertxContext.owner());
+    return retrievePages(pagination, limit,
+      page -> service.retrieveTitles(parameters.getFilterQuery(), parameters.getSortType(), page.getOffset(), page.getLimit()),
+      Titles::getTitleList, Titles::getTotalResults);
   }
 
   public static CompletableFuture<PackageCollection> getPackages(PackageParameters parameters, PaginationInfo pagination,
                                                                  Context vertxContext, Configuration rmAPIConfig) {
+    return getPackages(parameters, pagination, vertxContext, rmAPIConfig, ConversionExecutor.direct());
+  }
+
+  public static CompletableFuture<PackageCollection> getPackages(PackageParameters parameters, PaginationInfo pagination,
+                                                                 Context vertxContext, Configuration rmAPIConfig,
+                                                                 ConversionExecutor conversionExecutor) {
     log.info("Calling getPackages");
 
-    final List<CompletableFuture<Packages>> futures = new ArrayList<>();
+    return retrievePackages(parameters, pagination, pagination.getLimit(), vertxContext, rmAPIConfig)
+      .thenCompose(packageData -> conversionExecutor.convert(vertxContext, packageData.getRecords(),
+        data -> PACKAGE_CONVERTER.convert(data, parameters.getFields()))
+        .thenApply(packages -> new PackageCollection()
+          .withPackages(packages)
+          .withResultInfo(new ResultInfo().withTotalRecords(packageData.getTotalResults()))));
+  }
+
+  /**
+   * Runs the branches of an OR query in parallel and merges them by name into one collection without duplicates.
+   *
+   * As for titles, the branches are merged by package name ignoring case, which may differ from the RM API's order
+   * for some names. The branches share their fields, see {@link ParsedQuery}.
+   */
+  public static CompletableFuture<PackageCollection> getPackages(List<PackageParameters> branches, int offset, int limit,
+                                                                 Context vertxContext, Configuration rmAPIConfig,
+                                                                 ConversionExecutor conversionExecutor) {
+    log.info("Calling getPackages with " + branches.size() + " branches");
+
+    List<MergedSearch.Branch<PackageData>> searches = new ArrayList<>(branches.size());
+    for (PackageParameters parameters : branches) {
+      searches.add((branchOffset, branchLimit) -> retrievePackages(parameters,
+        new PaginationCalculator().getPagination(branchOffset, branchLimit), branchLimit, vertxContext, rmAPIConfig));
+    }
+    FieldProjection fields = branches.get(0).getFields();
+    return new MergedSearch<>(searches, Comparator.comparing(PackageData::getPackageName, NAME_ORDER),
+      packageData -> packageData.getVendorId() + "-" + packageData.getPackageId())
+      .search(offset, limit)
+      .thenCompose(merged -> conversionExecutor.convert(vertxContext, merged.getRecords(),
+        packageData -> PACKAGE_CONVERTER.convert(packageData, fields))
+        .thenApply(packages -> new PackageCollection()
+          .withPackages(packages)
+          .withResultInfo(new ResultInfo().withTotalRecords(merged.getTotalResults()))));
+  }
+
+  private static CompletableFuture<MergedSearch.Chunk<PackageData>> retrievePackages(PackageParameters parameters,
+                                                                                     PaginationInfo pagination,
+                                                                                     int limit, Context vertxContext,
+                                                                                     Configuration rmAPIConfig) {
+    PackagesHoldingsIQService service = new PackagesHoldingsIQServiceImpl(rmAPIConfig, vertxContext.owner());
+    return retrievePages(pagination, limit,
+      page -> service.retrievePackages(parameters.getSelection(), parameters.getFilterType(), null,
+        parameters.getSearchValue(), page.getOffset(), page.getLimit(), parameters.getSortType()),
+      Packages::getPackagesList, Packages::getTotalResults);
+  }
 
+  /**
+   * Fetches the RM API pages covering a window in parallel and returns the {@code limit} records of the window.
+   *
+   * Every page reports the total of the whole search, so the total is the largest one reported rather than their sum.
+   */
+  private static <R, T> CompletableFuture<MergedSearch.Chunk<T>> retrievePages(PaginationInfo pagination, int limit,
+                                                                               Function<Page, CompletableFuture<R>> retrievePage,
+                                                                               Function<R, List<T>> records,
+                                                                               ToIntFunction<R> totalResults) {
+    final List<CompletableFuture<R>> futures = new ArrayList<>();
     for (Page page : pagination.getPages()) {
-      futures.add(new PackagesHoldingsIQServiceImpl(rmAPIConfig, vertxContext.owner()).retrievePackages(
-        parameters.getSelection(), parameters.getFilterType(), null,parameters.getSearchValue(), page.getOffset(), page.getLimit(), parameters.getSortType()));
+      futures.add(retrievePage.apply(page));
     }
 
     return CompletableFuture
       .allOf(futures.toArray(new CompletableFuture[0]))
-      .thenCompose(aVoid -> {
-        final List<Packages> collect = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
-        return convertRMPackageListToCodex(collect, pagination.getFirstObjectIndex(), pagination.getLimit());
+      .thenApply(aVoid -> {
+        List<T> recordList = new ArrayList<>();
+        int total = 0;
+        for (CompletableFuture<R> future : futures) {
+          R result = future.join();
+          total = Math.max(total, totalResults.applyAsInt(result));
+          recordList.addAll(records.apply(result));
+        }
+        return new MergedSearch.Chunk<>(getSublist(pagination.getFirstObjectIndex(), limit, recordList), total);
       });
   }
 
-  private static CompletableFuture<PackageCollection> convertRMPackageListToCodex(List<Packages> packagesList, int index, int limit) {
-    int totalResults = packagesList.stream()
-      .mapToInt(Packages::getTotalResults)
-      .sum();
-
-    List<Package> packages = packagesList.stream()
-      .flatMap(packagesObject -> packagesObject.getPackagesList().stream())
-      .map(PACKAGE_CONVERTER::convert)
-      .collect(Collectors.toList());
-
-    final PackageCollection packageCollection = new PackageCollection()
-      .withPackages(getSublist(index, limit, packages))
-      .withResultInfo(new ResultInfo().withTotalRecords(totalResults));
-    return CompletableFuture.completedFuture(packageCollection);
-  }
-
   private static <T> List<T> getSublist(int firstIndex, int amount, List<T> list) {
     int start = Math.min(firstIndex, list.size());
     int end = Math.min(firstIndex + amount, list.size());
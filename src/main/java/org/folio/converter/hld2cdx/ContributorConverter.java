@@ -11,7 +11,7 @@ public class ContributorConverter implements Converter<org.folio.holdingsiq.mode
   public Contributor convert(@NonNull org.folio.holdingsiq.model.Contributor source) {
     return new Contributor()
       .withName(source.getTitleContributor())
-      .withType(source.getType());
+      .withType(StringPool.SHARED.canonical(source.getType()));
   }
 
 }
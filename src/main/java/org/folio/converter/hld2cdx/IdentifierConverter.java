@@ -9,27 +9,33 @@ import org.folio.rest.jaxrs.model.Identifier;
 
 public class IdentifierConverter implements Converter<org.folio.holdingsiq.model.Identifier, Identifier> {
 
+  /**
+   * Codex identifier types such as {@code ISBN(Print)}, indexed by type and subtype ordinal.
+   */
+  private static final String[][] TYPE_LABELS = new String[IdentifierType.values().length][];
+
+  static {
+    for (IdentifierType type : IdentifierType.values()) {
+      TYPE_LABELS[type.ordinal()] = new String[IdentifierSubType.values().length];
+      for (IdentifierSubType subType : IdentifierSubType.values()) {
+        TYPE_LABELS[type.ordinal()][subType.ordinal()] = subType == IdentifierSubType.UNKNOWN
+          ? type.getDisplayName()
+          : type.getDisplayName() + '(' + subType.getDisplayName() + ')';
+      }
+    }
+  }
+
   @Override
   public Identifier convert(@NonNull org.folio.holdingsiq.model.Identifier source) {
     final IdentifierType type = IdentifierType.valueOf(source.type);
-    final IdentifierSubType subType = IdentifierSubType.valueOf(source.subtype);
-
-    final Identifier codexIdentifier;
-    if (type != IdentifierType.UNKNOWN) {
-      String codexType = type.getDisplayName();
-
-      if (subType != IdentifierSubType.UNKNOWN) {
-        codexType += '(' + subType.getDisplayName() + ')';
-      }
-
-      codexIdentifier = new Identifier()
-        .withType(codexType)
-        .withValue(source.id);
-    } else {
-      codexIdentifier = null;
+    if (type == IdentifierType.UNKNOWN) {
+      return null;
     }
+    final IdentifierSubType subType = IdentifierSubType.valueOf(source.subtype);
 
-    return codexIdentifier;
+    return new Identifier()
+      .withType(TYPE_LABELS[type.ordinal()][subType.ordinal()])
+      .withValue(source.id);
   }
 
 }
@@ -7,6 +7,7 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.NonNull;
 
 import org.folio.codex.ContentType;
+import org.folio.cql2rmapi.FieldProjection;
 import org.folio.rest.jaxrs.model.Coverage;
 import org.folio.rest.jaxrs.model.Package;
 
@@ -21,6 +22,13 @@ public class PackageConverter implements Converter<PackageData, Package> {
 
   @Override
   public Package convert(@NonNull PackageData source) {
+    return convert(source, FieldProjection.all());
+  }
+
+  /**
+   * Converts only the requested fields, the others are left {@code null}.
+   */
+  public Package convert(@NonNull PackageData source, FieldProjection fields) {
     Package result = new Package();
 
     if (source.getVendorId() == null) {
@@ -32,16 +40,30 @@ public class PackageConverter implements Converter<PackageData, Package> {
 
     result.setId(source.getVendorId() + "-" + source.getPackageId());
 
-    result.setIsSelected(convertSelected(source.getIsSelected()));
-    if (source.getCustomCoverage() != null) {
+    if (fields.includes("isSelected")) {
+      result.setIsSelected(convertSelected(source.getIsSelected()));
+    }
+    if (fields.includes("coverage") && source.getCustomCoverage() != null) {
       result.setCoverage(coverageConverter.convert(source.getCustomCoverage()));
     }
-    result.setItemCount(source.getTitleCount());
-    result.setName(source.getPackageName());
-    result.setProvider(source.getVendorName());
-    result.setProviderId(Integer.toString(source.getVendorId()));
-    result.setSource("kb");
-    result.setType(ContentType.fromRMAPI(StringUtils.defaultString(source.getContentType())).getCodex());
+    if (fields.includes("itemCount")) {
+      result.setItemCount(source.getTitleCount());
+    }
+    if (fields.includes("name")) {
+      result.setName(source.getPackageName());
+    }
+    if (fields.includes("provider")) {
+      result.setProvider(StringPool.SHARED.canonical(source.getVendorName()));
+    }
+    if (fields.includes("providerId")) {
+      result.setProviderId(Integer.toString(source.getVendorId()));
+    }
+    if (fields.includes("source")) {
+      result.setSource("kb");
+    }
+    if (fields.includes("type")) {
+      result.setType(ContentType.fromRMAPI(StringUtils.defaultString(source.getContentType())).getCodex());
+    }
 
     return result;
   }
@@ -0,0 +1,46 @@
+package org.folio.converter.hld2cdx;
+
+/**
+ * Bounded pool of canonical string instances for values repeated across converted records, such as publisher and
+ * provider names or contributor and subject types.
+ *
+ * The pool is a fixed-size table indexed by the hash of the value, so it never grows: a value replaces whatever was in
+ * its slot before, and values that collide are simply not deduplicated. Reads and writes are not synchronized, which
+ * is safe as strings are immutable and a lost write only costs a missed deduplication.
+ */
+public final class StringPool {
+
+  public static final StringPool SHARED = new StringPool(4096);
+
+  private final String[] slots;
+  private final int mask;
+
+  /**
+   * @param size number of slots, rounded up to a power of two
+   */
+  public StringPool(int size) {
+    int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+    this.slots = new String[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Returns the pooled instance equal to the value, pooling the value itself if there is none.
+   */
+  public String canonical(String value) {
+    if (value == null || value.isEmpty()) {
+      return value;
+    }
+    int slot = spread(value.hashCode()) & mask;
+    String pooled = slots[slot];
+    if (value.equals(pooled)) {
+      return pooled;
+    }
+    slots[slot] = value;
+    return value;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+}
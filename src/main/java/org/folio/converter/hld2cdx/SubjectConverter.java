@@ -11,6 +11,6 @@ public class SubjectConverter implements Converter<org.folio.holdingsiq.model.Su
   public Subject convert(@NonNull org.folio.holdingsiq.model.Subject source) {
     return new Subject()
       .withName(source.getValue())
-      .withType(source.getType());
+      .withType(StringPool.SHARED.canonical(source.getType()));
   }
 }
@@ -1,16 +1,17 @@
 package org.folio.converter.hld2cdx;
 
-import static java.util.stream.Collectors.toSet;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 
-import java.util.Objects;
+import java.util.List;
 import java.util.Set;
 
+import com.google.common.collect.Sets;
 import org.folio.holdingsiq.model.Title;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.NonNull;
 
 import org.folio.codex.PubType;
+import org.folio.cql2rmapi.FieldProjection;
 import org.folio.rest.jaxrs.model.Contributor;
 import org.folio.rest.jaxrs.model.Identifier;
 import org.folio.rest.jaxrs.model.Instance;
@@ -36,37 +37,72 @@ public class TitleConverter implements Converter<Title, Instance> {
 
   @Override
   public Instance convert(@NonNull Title source) {
+    return convert(source, FieldProjection.all());
+  }
+
+  /**
+   * Converts only the requested fields, the others are left {@code null}.
+   */
+  public Instance convert(@NonNull Title source, FieldProjection fields) {
     final Instance codexInstance = new Instance();
 
     codexInstance.setId(Integer.toString(source.getTitleId()));
-    codexInstance.setTitle(source.getTitleName());
-    codexInstance.setPublisher(source.getPublisherName());
-    codexInstance.setType(PubType.fromRMAPI(source.getPubType()).getCodex());
-    codexInstance.setFormat(E_RESOURCE_FORMAT);
-    codexInstance.setSource(E_RESOURCE_SOURCE);
-    codexInstance.setVersion(source.getEdition());
-
-    if (isNotEmpty(source.getIdentifiersList())) {
-      final Set<Identifier> identifiers = source.getIdentifiersList().stream()
-        .map(identifierConverter::convert)
-        .filter(Objects::nonNull)
-        .collect(toSet());
+    if (fields.includes("title")) {
+      codexInstance.setTitle(source.getTitleName());
+    }
+    if (fields.includes("publisher")) {
+      codexInstance.setPublisher(StringPool.SHARED.canonical(source.getPublisherName()));
+    }
+    if (fields.includes("type")) {
+      codexInstance.setType(PubType.fromRMAPI(source.getPubType()).getCodex());
+    }
+    if (fields.includes("format")) {
+      codexInstance.setFormat(E_RESOURCE_FORMAT);
+    }
+    if (fields.includes("source")) {
+      codexInstance.setSource(E_RESOURCE_SOURCE);
+    }
+    if (fields.includes("version")) {
+      codexInstance.setVersion(source.getEdition());
+    }
+
+    if (!fields.includes("identifier")) {
+      codexInstance.setIdentifier(null);
+    } else if (isNotEmpty(source.getIdentifiersList())) {
+      final List<org.folio.holdingsiq.model.Identifier> sourceIdentifiers = source.getIdentifiersList();
+      final Set<Identifier> identifiers = Sets.newHashSetWithExpectedSize(sourceIdentifiers.size());
+      for (org.folio.holdingsiq.model.Identifier sourceIdentifier : sourceIdentifiers) {
+        final Identifier identifier = identifierConverter.convert(sourceIdentifier);
+        if (identifier != null) {
+          identifiers.add(identifier);
+        }
+      }
 
       if (!identifiers.isEmpty()) {
         codexInstance.setIdentifier(identifiers);
       }
     }
 
-    if (isNotEmpty(source.getContributorsList())) {
-      codexInstance.setContributor(source.getContributorsList().stream()
-        .map(contributorConverter::convert)
-        .collect(toSet()));
+    if (!fields.includes("contributor")) {
+      codexInstance.setContributor(null);
+    } else if (isNotEmpty(source.getContributorsList())) {
+      final List<org.folio.holdingsiq.model.Contributor> sourceContributors = source.getContributorsList();
+      final Set<Contributor> contributors = Sets.newHashSetWithExpectedSize(sourceContributors.size());
+      for (org.folio.holdingsiq.model.Contributor sourceContributor : sourceContributors) {
+        contributors.add(contributorConverter.convert(sourceContributor));
+      }
+      codexInstance.setContributor(contributors);
     }
 
-    if (isNotEmpty(source.getSubjectsList())) {
-      codexInstance.setSubject(source.getSubjectsList().stream()
-        .map(subjectConverter::convert)
-        .collect(toSet()));
+    if (!fields.includes("subject")) {
+      codexInstance.setSubject(null);
+    } else if (isNotEmpty(source.getSubjectsList())) {
+      final List<org.folio.holdingsiq.model.Subject> sourceSubjects = source.getSubjectsList();
+      final Set<Subject> subjects = Sets.newHashSetWithExpectedSize(sourceSubjects.size());
+      for (org.folio.holdingsiq.model.Subject sourceSubject : sourceSubjects) {
+        subjects.add(subjectConverter.convert(sourceSubject));
+      }
+      codexInstance.setSubject(subjects);
     }
 
     return codexInstance;
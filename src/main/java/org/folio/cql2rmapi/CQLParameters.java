@@ -1,14 +1,19 @@
 package org.folio.cql2rmapi;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.z3950.zing.cql.CQLAndNode;
 import org.z3950.zing.cql.CQLBooleanNode;
 import org.z3950.zing.cql.CQLNode;
+import org.z3950.zing.cql.CQLOrNode;
 import org.z3950.zing.cql.CQLParseException;
 import org.z3950.zing.cql.CQLParser;
 import org.z3950.zing.cql.CQLSortNode;
@@ -20,6 +25,7 @@ public class CQLParameters {
   private static final String CODEX_ID = "codex.id";
   private static final String ERROR = "Unsupported Query Format : ";
   private static final String UNSUPPORTED = " is not supported.";
+  private static final int MAX_BRANCHES = 100;
 
   private Map<String, String> parameters = new HashMap<>();
   private String sort;
@@ -34,8 +40,77 @@ public class CQLParameters {
   }
 
   public CQLParameters(String query) throws QueryValidationException {
+    CQLParameters parsed = FastCQLParser.parse(query);
+    if (parsed == null) {
+      parsed = parseWithCQLParser(query);
+    }
+    this.parameters = parsed.parameters;
+    this.sort = parsed.sort;
+    this.idSearch = parsed.idSearch;
+    this.idSearchValue = parsed.idSearchValue;
+  }
+
+  private CQLParameters() {
+  }
+
+  /**
+   * Parses a query that may combine terms with OR into one set of parameters per branch, by distributing AND over OR,
+   * e.g. {@code (title=a or title=b) and ext.selected=true sortby title} gives a branch for each title, both with the
+   * selection filter and the sort. A query without OR gives a single branch equal to {@link #CQLParameters(String)}.
+   */
+  public static List<CQLParameters> parseBranches(String query) throws QueryValidationException {
+    CQLParameters parsed = FastCQLParser.parse(query);
+    if (parsed != null) {
+      return Collections.singletonList(parsed);
+    }
+
     CQLNode node = initCQLParser(query);
-    parseNode(node);
+    String sort = null;
+    if (node instanceof CQLSortNode) {
+      sort = parseSortIndex((CQLSortNode) node);
+      node = ((CQLSortNode) node).getSubtree();
+    }
+
+    List<CQLParameters> branches = new ArrayList<>();
+    for (List<CQLTermNode> terms : expand(node)) {
+      CQLParameters branch = new CQLParameters();
+      for (CQLTermNode term : terms) {
+        branch.parseCQLTermNode(term);
+      }
+      branch.sort = sort;
+      branches.add(branch);
+    }
+    return branches;
+  }
+
+  /**
+   * Returns whether every branch is a search for a single id, so that the branches together ask for a list of ids.
+   */
+  public static boolean isIdListSearch(List<CQLParameters> branches) {
+    for (CQLParameters branch : branches) {
+      if (!branch.isIdSearch()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the ids searched for by the branches in query order, without repetitions.
+   */
+  public static List<String> getIdSearchValues(List<CQLParameters> branches) {
+    return new ArrayList<>(branches.stream()
+      .map(CQLParameters::getIdSearchValue)
+      .collect(Collectors.toCollection(LinkedHashSet::new)));
+  }
+
+  /**
+   * Parses the query with the general {@link CQLParser}, bypassing {@link FastCQLParser}.
+   */
+  static CQLParameters parseWithCQLParser(String query) throws QueryValidationException {
+    CQLParameters parsed = new CQLParameters();
+    parsed.parseNode(initCQLParser(query));
+    return parsed;
   }
 
   public Map<String, String> getParameters() {
@@ -91,18 +166,60 @@ public class CQLParameters {
   }
 
   private void parseCQLSortNode(CQLSortNode node) throws QueryValidationException {
+    sort = parseSortIndex(node);
+
+    // Get the search field and search value from sort node
+    parseNode(node.getSubtree());
+  }
+
+  private static String parseSortIndex(CQLSortNode node) throws QueryValidationException {
     final List<ModifierSet> sortIndexes = node.getSortIndexes();
     if (sortIndexes.size() > 1) {
       throw new QueryValidationException(ERROR + "Sorting on multiple keys" + UNSUPPORTED);
     }
     // At this point RM API supports only sort by title and relevance
     // Inventory does not support relevance, so we only sort by title
+    String index = null;
     for (final ModifierSet ms : sortIndexes) {
-      sort = ms.getBase();
+      index = ms.getBase();
     }
+    return index;
+  }
 
-    // Get the search field and search value from sort node
-    parseNode(node.getSubtree());
+  /**
+   * Expands the node into the terms of each OR branch.
+   */
+  private static List<List<CQLTermNode>> expand(CQLNode node) throws QueryValidationException {
+    if (node instanceof CQLTermNode) {
+      return Collections.singletonList(Collections.singletonList((CQLTermNode) node));
+    }
+    if (node instanceof CQLOrNode) {
+      List<List<CQLTermNode>> branches = new ArrayList<>(expand(((CQLOrNode) node).getLeftOperand()));
+      branches.addAll(expand(((CQLOrNode) node).getRightOperand()));
+      return checkBranchCount(branches);
+    }
+    if (node instanceof CQLAndNode) {
+      List<List<CQLTermNode>> left = expand(((CQLAndNode) node).getLeftOperand());
+      List<List<CQLTermNode>> right = expand(((CQLAndNode) node).getRightOperand());
+      List<List<CQLTermNode>> branches = new ArrayList<>(left.size() * right.size());
+      for (List<CQLTermNode> leftTerms : left) {
+        for (List<CQLTermNode> rightTerms : right) {
+          List<CQLTermNode> terms = new ArrayList<>(leftTerms);
+          terms.addAll(rightTerms);
+          branches.add(terms);
+        }
+      }
+      return checkBranchCount(branches);
+    }
+    throw new QueryUnsupportedFeatureException(ERROR + "Boolean operators NOT and PROX are unsupported.");
+  }
+
+  private static List<List<CQLTermNode>> checkBranchCount(List<List<CQLTermNode>> branches)
+    throws QueryValidationException {
+    if (branches.size() > MAX_BRANCHES) {
+      throw new QueryValidationException(ERROR + "More than " + MAX_BRANCHES + " OR branches" + UNSUPPORTED);
+    }
+    return branches;
   }
 
   private void parseCQLBooleanNode(CQLBooleanNode node) throws QueryValidationException {
@@ -116,7 +233,7 @@ public class CQLParameters {
     }
   }
 
-  private CQLNode initCQLParser(String query) throws QueryValidationException {
+  private static CQLNode initCQLParser(String query) throws QueryValidationException {
     final CQLParser parser = new CQLParser();
     try {
       return parser.parse(query);
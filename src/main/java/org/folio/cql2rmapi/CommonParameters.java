@@ -6,8 +6,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import javax.validation.ValidationException;
-
 import org.apache.commons.lang3.EnumUtils;
 import org.folio.holdingsiq.model.Sort;
 
@@ -44,7 +42,7 @@ public abstract class CommonParameters {
       String termNode = parameters.get(sourceParameters.get(0));
       //Throw an exception and log an error if source is invalid, if it is valid, do nothing.
       if(!EnumUtils.isValidEnum(ValidSources.class, termNode.toUpperCase())) {
-        throw new ValidationException(ERROR + "Source " + termNode + UNSUPPORTED);
+        throw new UnsupportedQueryException(ERROR + "Source " + termNode + UNSUPPORTED);
       }
     }
   }
@@ -55,7 +53,7 @@ public abstract class CommonParameters {
       if (selection != null) {
         return selection;
       }
-      throw new ValidationException(ERROR + "Selected value " + parameters.get(SELECTED) + UNSUPPORTED);
+      throw new UnsupportedQueryException(ERROR + "Selected value " + parameters.get(SELECTED) + UNSUPPORTED);
     }
     return null;
   }
@@ -64,7 +62,7 @@ public abstract class CommonParameters {
     String param = parameters.get(key);
     String codexParam = parameters.get(CODEX_PREFIX + key);
     if (param != null && codexParam != null) {
-      throw new ValidationException(ERROR + "Using parameter " + key + "multiple times " + UNSUPPORTED);
+      throw new UnsupportedQueryException(ERROR + "Using parameter " + key + "multiple times " + UNSUPPORTED);
     }
     return param != null ? param : codexParam;
   }
@@ -0,0 +1,147 @@
+package org.folio.cql2rmapi;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Recogniser for the CQL subset the module supports: {@code index = term} clauses joined by AND, optionally followed by
+ * a single unmodified sort key, e.g. {@code title = "moby dick" and ext.selected = true sortby title}.
+ *
+ * It reads the query in one pass without building a parse tree. Anything outside the subset, including every query
+ * that is invalid for the module, is left to {@link org.z3950.zing.cql.CQLParser}, so accepted queries give the same
+ * parameters and rejected ones the same errors as before. The subset is kept conservative: parentheses, relation and
+ * sort modifiers, escapes in quoted terms, quoted terms not followed by whitespace, non-ASCII characters outside quotes
+ * and words that may be CQL keywords all fall back.
+ */
+final class FastCQLParser {
+  private static final String ID = "id";
+  private static final String CODEX_ID = "codex.id";
+  private static final String AND = "and";
+  private static final String SORTBY = "sortby";
+  private static final String SPECIAL_CHARS = "()=<>\"/\\";
+  private static final Collection<String> KEYWORDS = Arrays.asList(AND, "or", "not", "prox", SORTBY, "any", "all",
+    "adj", "within", "encloses", "exact");
+
+  private final String query;
+  private int position;
+
+  private FastCQLParser(String query) {
+    this.query = query;
+  }
+
+  /**
+   * Returns the parameters of the query, or {@code null} if the query is not in the supported subset.
+   */
+  static CQLParameters parse(String query) {
+    return query == null ? null : new FastCQLParser(query).parse();
+  }
+
+  private CQLParameters parse() {
+    Map<String, String> parameters = new HashMap<>();
+    boolean idSearch = false;
+    String idSearchValue = null;
+    String sort = null;
+    while (true) {
+      String index = word();
+      if (index == null || isKeyword(index) || !relation()) {
+        return null;
+      }
+      String term = term();
+      if (term == null || parameters.put(index, term) != null) {
+        return null;
+      }
+      if (ID.equals(index) || CODEX_ID.equals(index)) {
+        idSearch = true;
+        idSearchValue = term;
+      }
+      if (atEnd()) {
+        break;
+      }
+      String keyword = word();
+      if (AND.equalsIgnoreCase(keyword)) {
+        continue;
+      }
+      if (!SORTBY.equalsIgnoreCase(keyword)) {
+        return null;
+      }
+      sort = word();
+      if (sort == null || isKeyword(sort) || !atEnd()) {
+        return null;
+      }
+      break;
+    }
+    return new CQLParameters(parameters, sort, idSearch, idSearchValue);
+  }
+
+  /**
+   * Consumes a plain {@code =}, but not {@code ==}.
+   */
+  private boolean relation() {
+    skipWhitespace();
+    if (position == query.length() || query.charAt(position) != '=') {
+      return false;
+    }
+    position++;
+    return position == query.length() || query.charAt(position) != '=';
+  }
+
+  private String term() {
+    skipWhitespace();
+    if (position == query.length() || query.charAt(position) != '"') {
+      String word = word();
+      return word == null || isKeyword(word) ? null : word;
+    }
+    int start = position + 1;
+    for (int i = start; i < query.length(); i++) {
+      char c = query.charAt(i);
+      if (c == '\\') {
+        return null;
+      }
+      if (c == '"') {
+        position = i + 1;
+        boolean separated = position == query.length() || isWhitespace(query.charAt(position));
+        return i == start || !separated ? null : query.substring(start, i);
+      }
+    }
+    return null;
+  }
+
+  private String word() {
+    skipWhitespace();
+    int start = position;
+    while (position < query.length() && isWordChar(query.charAt(position))) {
+      position++;
+    }
+    return position == start ? null : query.substring(start, position);
+  }
+
+  private boolean atEnd() {
+    skipWhitespace();
+    return position == query.length();
+  }
+
+  private void skipWhitespace() {
+    while (position < query.length() && isWhitespace(query.charAt(position))) {
+      position++;
+    }
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+  }
+
+  private static boolean isWordChar(char c) {
+    return c > ' ' && c < 127 && SPECIAL_CHARS.indexOf(c) < 0;
+  }
+
+  private static boolean isKeyword(String word) {
+    for (String keyword : KEYWORDS) {
+      if (keyword.equalsIgnoreCase(word)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,127 @@
+package org.folio.cql2rmapi;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.Package;
+
+/**
+ * Fields requested with the {@code ext.fields} query clause, e.g. {@code title=moby and ext.fields="id title identifier"}.
+ *
+ * Fields are separated by whitespace or commas, {@code id} is always included. Records are converted with only the
+ * requested fields and the others are left {@code null}, so they are also dropped from the response. Without the
+ * clause all fields are included.
+ */
+public final class FieldProjection {
+  public static final String FIELDS = "ext.fields";
+
+  private static final String ERROR = "Unsupported Query Format : ";
+  private static final String UNSUPPORTED = " is not supported.";
+  private static final String ID = "id";
+  private static final Pattern SEPARATORS = Pattern.compile("[\\s,]+");
+
+  private static final Collection<String> INSTANCE_FIELDS = Arrays.asList(ID, "title", "publisher", "type", "format",
+    "source", "version", "identifier", "contributor", "subject");
+  private static final Collection<String> PACKAGE_FIELDS = Arrays.asList(ID, "name", "provider", "providerId", "type",
+    "itemCount", "isSelected", "coverage", "source");
+
+  private static final FieldProjection ALL = new FieldProjection(null);
+
+  private final Set<String> fields;
+
+  private FieldProjection(Set<String> fields) {
+    this.fields = fields;
+  }
+
+  public static FieldProjection all() {
+    return ALL;
+  }
+
+  public static FieldProjection forInstances(CQLParameters cqlParameters) {
+    return parse(cqlParameters.getParameters().get(FIELDS), INSTANCE_FIELDS);
+  }
+
+  public static FieldProjection forPackages(CQLParameters cqlParameters) {
+    return parse(cqlParameters.getParameters().get(FIELDS), PACKAGE_FIELDS);
+  }
+
+  public boolean isAll() {
+    return fields == null;
+  }
+
+  public boolean includes(String field) {
+    return fields == null || fields.contains(field);
+  }
+
+  /**
+   * Returns a copy of the instance with only the requested fields, or the instance itself if all are requested.
+   */
+  public Instance project(Instance instance) {
+    if (isAll()) {
+      return instance;
+    }
+    Instance projected = new Instance().withId(instance.getId());
+    projected.setTitle(includes("title") ? instance.getTitle() : null);
+    projected.setPublisher(includes("publisher") ? instance.getPublisher() : null);
+    projected.setType(includes("type") ? instance.getType() : null);
+    projected.setFormat(includes("format") ? instance.getFormat() : null);
+    projected.setSource(includes("source") ? instance.getSource() : null);
+    projected.setVersion(includes("version") ? instance.getVersion() : null);
+    projected.setIdentifier(includes("identifier") ? instance.getIdentifier() : null);
+    projected.setContributor(includes("contributor") ? instance.getContributor() : null);
+    projected.setSubject(includes("subject") ? instance.getSubject() : null);
+    return projected;
+  }
+
+  /**
+   * Returns a copy of the package with only the requested fields, or the package itself if all are requested.
+   */
+  public Package project(Package packageRecord) {
+    if (isAll()) {
+      return packageRecord;
+    }
+    return new Package()
+      .withId(packageRecord.getId())
+      .withName(includes("name") ? packageRecord.getName() : null)
+      .withProvider(includes("provider") ? packageRecord.getProvider() : null)
+      .withProviderId(includes("providerId") ? packageRecord.getProviderId() : null)
+      .withType(includes("type") ? packageRecord.getType() : null)
+      .withItemCount(includes("itemCount") ? packageRecord.getItemCount() : null)
+      .withIsSelected(includes("isSelected") ? packageRecord.getIsSelected() : null)
+      .withCoverage(includes("coverage") ? packageRecord.getCoverage() : null)
+      .withSource(includes("source") ? packageRecord.getSource() : null);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof FieldProjection && Objects.equals(fields, ((FieldProjection) other).fields);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(fields);
+  }
+
+  private static FieldProjection parse(String value, Collection<String> allowed) {
+    if (value == null) {
+      return ALL;
+    }
+    Set<String> fields = new HashSet<>();
+    fields.add(ID);
+    for (String field : SEPARATORS.split(value.trim())) {
+      if (field.isEmpty()) {
+        continue;
+      }
+      if (!allowed.contains(field)) {
+        throw new UnsupportedQueryException(ERROR + "Field " + field + UNSUPPORTED);
+      }
+      fields.add(field);
+    }
+    return new FieldProjection(fields);
+  }
+}
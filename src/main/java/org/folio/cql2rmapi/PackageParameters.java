@@ -5,8 +5,6 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 
-import javax.validation.ValidationException;
-
 import org.folio.codex.ContentType;
 import org.folio.holdingsiq.model.Sort;
 import org.folio.holdingsiq.service.validator.PackageParametersValidator;
@@ -23,6 +21,7 @@ public class PackageParameters extends CommonParameters {
   private String selection;
   private String searchValue;
   private String filterType;
+  private FieldProjection fields;
   private final PackageParametersValidator parametersValidator = new PackageParametersValidator();
 
   public PackageParameters(CQLParameters cqlParameters) {
@@ -41,12 +40,16 @@ public class PackageParameters extends CommonParameters {
     return filterType;
   }
 
+  public FieldProjection getFields() {
+    return fields;
+  }
+
   private void parseCqlParameters(CQLParameters cqlParameters) {
     Optional<String> unsupportedParameter = cqlParameters.getParameters().keySet().stream()
       .filter(param -> !ALLOWED_PARAMETERS.contains(param) && !param.startsWith("ext."))
       .findFirst();
     if (unsupportedParameter.isPresent()) {
-      throw new ValidationException("Search field or filter value " + unsupportedParameter.get() + UNSUPPORTED);
+      throw new UnsupportedQueryException("Search field or filter value " + unsupportedParameter.get() + UNSUPPORTED);
     }
 
     Map<String, String> parameters = cqlParameters.getParameters();
@@ -60,7 +63,7 @@ public class PackageParameters extends CommonParameters {
     if (cqlSort == null || Arrays.asList(CODEX_NAME, NAME).contains(cqlSort.toLowerCase())) {
       sortType = Sort.NAME;
     } else {
-      throw new ValidationException(ERROR + "Sorting on " + cqlSort + " is unsupported.");
+      throw new UnsupportedQueryException(ERROR + "Sorting on " + cqlSort + " is unsupported.");
     }
 
     filterType = getCodexParameter(TYPE, parameters);
@@ -71,6 +74,7 @@ public class PackageParameters extends CommonParameters {
     checkSourceParameters(parameters);
 
     selection = parseSelection(parameters);
+    fields = FieldProjection.forPackages(cqlParameters);
 
     parametersValidator.validate(selection, filterType, sortType.getValue(), searchValue);
   }
@@ -79,7 +83,7 @@ public class PackageParameters extends CommonParameters {
     try {
       return ContentType.fromCodex(termNode).getRmAPI();
     } catch (final IllegalArgumentException e) {
-      throw new ValidationException(ERROR + "Filtering on type " + termNode + UNSUPPORTED);
+      throw new UnsupportedQueryException(ERROR + "Filtering on type " + termNode + UNSUPPORTED);
     }
   }
 }
@@ -0,0 +1,99 @@
+package org.folio.cql2rmapi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.folio.codex.MergedSearch;
+
+/**
+ * A codex collection query that has been fully parsed and validated, so that it can be rejected before any remote
+ * call is made.
+ *
+ * The query is either a search for one or more ids, answered by fetching the records, or a search with the RM API
+ * parameters of each OR branch. All branches must ask for the same {@code ext.fields}, as the records of the branches
+ * end up in one collection.
+ */
+public final class ParsedQuery<P> {
+  private static final String TOO_MANY_BRANCHES = "Unsupported Query Format : Search with more than "
+    + MergedSearch.MAX_BRANCHES + " OR branches is not supported.";
+  private static final String OR_ID_SEARCH_UNSUPPORTED =
+    "Unsupported Query Format : Search mixing id and other OR branches is not supported.";
+  private static final String FIELDS_DIFFER = "Unsupported Query Format : Search with different "
+    + FieldProjection.FIELDS + " in OR branches is not supported.";
+
+  private final List<CQLParameters> branches;
+  private final List<P> parameters;
+  private final FieldProjection fields;
+
+  private ParsedQuery(List<CQLParameters> branches, List<P> parameters, FieldProjection fields) {
+    this.branches = branches;
+    this.parameters = parameters;
+    this.fields = fields;
+  }
+
+  public static ParsedQuery<TitleParameters> forInstances(String query) throws QueryValidationException {
+    return parse(query, TitleParameters::new, FieldProjection::forInstances);
+  }
+
+  public static ParsedQuery<PackageParameters> forPackages(String query) throws QueryValidationException {
+    return parse(query, PackageParameters::new, FieldProjection::forPackages);
+  }
+
+  private static <P> ParsedQuery<P> parse(String query, Function<CQLParameters, P> toParameters,
+                                          Function<CQLParameters, FieldProjection> toFields)
+    throws QueryValidationException {
+    List<CQLParameters> branches = CQLParameters.parseBranches(query);
+    FieldProjection fields = toFields.apply(branches.get(0));
+    for (CQLParameters branch : branches.subList(1, branches.size())) {
+      if (!fields.equals(toFields.apply(branch))) {
+        throw new UnsupportedQueryException(FIELDS_DIFFER);
+      }
+    }
+    if (CQLParameters.isIdListSearch(branches)) {
+      return new ParsedQuery<>(branches, Collections.emptyList(), fields);
+    }
+    if (branches.size() > MergedSearch.MAX_BRANCHES) {
+      throw new UnsupportedQueryException(TOO_MANY_BRANCHES);
+    }
+
+    List<P> parameters = new ArrayList<>(branches.size());
+    for (CQLParameters branch : branches) {
+      if (branch.isIdSearch()) {
+        throw new UnsupportedQueryException(OR_ID_SEARCH_UNSUPPORTED);
+      }
+      parameters.add(toParameters.apply(branch));
+    }
+    return new ParsedQuery<>(branches, parameters, fields);
+  }
+
+  /**
+   * Whether the query only asks for records by id, see {@link #getIds()}.
+   */
+  public boolean isIdSearch() {
+    return parameters.isEmpty();
+  }
+
+  /**
+   * Returns the ids of an id search in query order, without repetitions.
+   */
+  public List<String> getIds() {
+    return CQLParameters.getIdSearchValues(branches);
+  }
+
+  public List<CQLParameters> getBranches() {
+    return branches;
+  }
+
+  /**
+   * Returns the RM API parameters of every branch of a search, none for an id search.
+   */
+  public List<P> getParameters() {
+    return parameters;
+  }
+
+  public FieldProjection getFields() {
+    return fields;
+  }
+}
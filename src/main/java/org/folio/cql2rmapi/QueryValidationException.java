@@ -13,4 +13,12 @@ public class QueryValidationException extends Exception {
   public QueryValidationException(String message, Exception e) {
     super(message, e);
   }
+
+  /**
+   * Invalid queries are rejected with 400 and never need a stack trace.
+   */
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
 }
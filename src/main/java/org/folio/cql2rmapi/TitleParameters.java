@@ -5,8 +5,6 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 
-import javax.validation.ValidationException;
-
 import org.folio.codex.PubType;
 import org.folio.holdingsiq.model.FilterQuery;
 import org.folio.holdingsiq.model.Sort;
@@ -26,12 +24,14 @@ public class TitleParameters extends CommonParameters {
   private static final String CODEX_PUBLISHER = "codex.publisher";
   private static final String ID = "id";
   private static final String CODEX_ID = "codex.id";
+  private static final String WILDCARD = "*";
 
   private static final Collection<String> ALLOWED_PARAMETERS =
     Arrays.asList(SOURCE, CODEX_SOURCE, SELECTED, RESOURCE_TYPE, CODEX_RESOURCE_TYPE, CQL_SERVER_CHOICE,
       TITLE, CODEX_TITLE, IDENTIFIER, CODEX_IDENTIFIER, SUBJECT, CODEX_SUBJECT, PUBLISHER, CODEX_PUBLISHER, ID, CODEX_ID);
 
   private FilterQuery filterQuery;
+  private FieldProjection fields;
 
   private final TitleParametersValidator validator = new TitleParametersValidator();
 
@@ -43,13 +43,31 @@ public class TitleParameters extends CommonParameters {
     return filterQuery;
   }
 
+  public FieldProjection getFields() {
+    return fields;
+  }
+
+  /**
+   * Whether the query looks for a single identifier value without any other filter, which is what can be answered
+   * from the identifier index.
+   */
+  public boolean isExactIdentifierSearch() {
+    String identifier = filterQuery.getIsxn();
+    return identifier != null && !identifier.contains(WILDCARD)
+      && filterQuery.getName() == null
+      && filterQuery.getSelected() == null
+      && filterQuery.getType() == null
+      && filterQuery.getPublisher() == null
+      && filterQuery.getSubject() == null;
+  }
+
   private void parseCqlParameters(CQLParameters cqlParameters) {
     FilterQuery.FilterQueryBuilder builder = FilterQuery.builder();
     Optional<String> unsupportedParameter = cqlParameters.getParameters().keySet().stream()
       .filter(param -> !ALLOWED_PARAMETERS.contains(param) && !param.startsWith("ext."))
       .findFirst();
     if (unsupportedParameter.isPresent()) {
-      throw new ValidationException("Search field or filter value " + unsupportedParameter.get() + UNSUPPORTED);
+      throw new UnsupportedQueryException("Search field or filter value " + unsupportedParameter.get() + UNSUPPORTED);
     }
 
     Map<String, String> parameters = cqlParameters.getParameters();
@@ -62,7 +80,7 @@ public class TitleParameters extends CommonParameters {
     if (cqlSort == null || Arrays.asList(TITLE, "codex." + TITLE).contains(cqlSort.toLowerCase())) {
       sortType = Sort.NAME;
     } else {
-      throw new ValidationException(ERROR + "Sorting on " + cqlSort + " is unsupported.");
+      throw new UnsupportedQueryException(ERROR + "Sorting on " + cqlSort + " is unsupported.");
     }
 
     String type = null;
@@ -81,6 +99,7 @@ public class TitleParameters extends CommonParameters {
       .build();
 
     checkSourceParameters(parameters);
+    fields = FieldProjection.forInstances(cqlParameters);
     validator.validate(filterQuery, sortType.getValue());
   }
 
@@ -88,7 +107,7 @@ public class TitleParameters extends CommonParameters {
     try {
       return PubType.fromCodex(termNode).getRmAPI();
     } catch (final IllegalArgumentException e) {
-      throw new ValidationException(ERROR + "Filtering on type " + termNode + UNSUPPORTED);
+      throw new UnsupportedQueryException(ERROR + "Filtering on type " + termNode + UNSUPPORTED);
     }
   }
 }
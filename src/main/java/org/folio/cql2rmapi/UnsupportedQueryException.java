@@ -0,0 +1,22 @@
+package org.folio.cql2rmapi;
+
+import javax.validation.ValidationException;
+
+/**
+ * A query the module cannot answer, reported to the client as 400.
+ *
+ * Rejecting a query is an expected outcome rather than a fault, so the exception does not capture a stack trace.
+ */
+public class UnsupportedQueryException extends ValidationException {
+
+  private static final long serialVersionUID = 1L;
+
+  public UnsupportedQueryException(String message) {
+    super(message);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
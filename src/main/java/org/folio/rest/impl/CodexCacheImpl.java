@@ -0,0 +1,178 @@
+package org.folio.rest.impl;
+
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.validation.ValidationException;
+import javax.ws.rs.core.Response;
+
+import org.folio.cache.AccountKeys;
+import org.folio.cache.CacheUsage;
+import org.folio.cache.IdentifierIndex;
+import org.folio.cache.ManagedCache;
+import org.folio.cache.RecordCache;
+import org.folio.cache.ResponseCache;
+import org.folio.holdingsiq.model.OkapiData;
+import org.folio.holdingsiq.model.PackageId;
+import org.folio.holdingsiq.service.ConfigurationService;
+import org.folio.holdingsiq.service.exception.ConfigurationServiceException;
+import org.folio.parser.IdParser;
+import org.folio.rest.jaxrs.model.CacheStatistics;
+import org.folio.rest.jaxrs.model.CacheStatisticsCollection;
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.Package;
+import org.folio.rest.jaxrs.resource.CodexCache;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Statistics and invalidation of the codex caches.
+ */
+public final class CodexCacheImpl implements CodexCache {
+
+  private final Logger log = LoggerFactory.getLogger(CodexCacheImpl.class);
+
+  @Autowired
+  private List<ManagedCache> caches;
+  @Autowired
+  private ConfigurationService configurationService;
+  @Autowired
+  private ResponseCache responseCache;
+  @Autowired
+  private RecordCache<Instance> instanceRecordCache;
+  @Autowired
+  private RecordCache<Package> packageRecordCache;
+  @Autowired
+  private IdentifierIndex identifierIndex;
+  @Autowired
+  private IdParser idParser;
+
+  public CodexCacheImpl() {
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+  }
+
+  /**
+   * Reports the partitions of the calling tenant and of its RM API account only, other tenants and accounts stay
+   * hidden.
+   */
+  @Override
+  public void getCodexCache(String partition, Map<String, String> okapiHeaders,
+                            Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    OkapiData okapiData = new OkapiData(okapiHeaders);
+    configurationService.retrieveConfiguration(okapiData)
+      .thenAccept(rmAPIConfig -> {
+        Set<String> ownPartitions = new TreeSet<>(Arrays.asList(okapiData.getTenant(), AccountKeys.of(rmAPIConfig)));
+        if (partition != null && !ownPartitions.contains(partition)) {
+          asyncResultHandler.handle(succeededFuture(GetCodexCacheResponse.respond400WithTextPlain(
+            "Partition " + partition + " does not belong to tenant " + okapiData.getTenant())));
+          return;
+        }
+
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (ManagedCache cache : caches) {
+          Set<String> partitions;
+          if (partition == null) {
+            partitions = new TreeSet<>(cache.getPartitions());
+            partitions.retainAll(ownPartitions);
+          } else {
+            partitions = Collections.singleton(partition);
+          }
+          for (String cachePartition : partitions) {
+            statistics.add(toStatistics(cache.getName(), cachePartition, cache.getUsage(cachePartition)));
+          }
+        }
+        asyncResultHandler.handle(succeededFuture(GetCodexCacheResponse.respond200WithApplicationJson(
+          new CacheStatisticsCollection()
+            .withCaches(statistics)
+            .withTotalRecords(statistics.size()))));
+      })
+      .exceptionally(throwable -> {
+        log.error("getCodexCache failed!", throwable);
+        if (throwable.getCause() instanceof ConfigurationServiceException && ((ConfigurationServiceException) throwable.getCause()).getStatusCode() == 401) {
+          asyncResultHandler.handle(succeededFuture(GetCodexCacheResponse.respond401WithTextPlain(throwable.getCause().getMessage())));
+        } else {
+          asyncResultHandler.handle(succeededFuture(GetCodexCacheResponse.respond500WithTextPlain(throwable.getCause().getMessage())));
+        }
+        return null;
+      });
+  }
+
+  @Override
+  public void deleteCodexCache(String titleId, String packageId, Map<String, String> okapiHeaders,
+                               Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    Long parsedTitleId;
+    PackageId parsedPackageId;
+    try {
+      parsedTitleId = titleId == null ? null : idParser.parseTitleId(titleId);
+      parsedPackageId = packageId == null ? null : idParser.parsePackageId(packageId);
+    } catch (ValidationException e) {
+      asyncResultHandler.handle(succeededFuture(DeleteCodexCacheResponse.respond400WithTextPlain(e.getMessage())));
+      return;
+    }
+
+    OkapiData okapiData = new OkapiData(okapiHeaders);
+    configurationService.retrieveConfiguration(okapiData)
+      .thenAccept(rmAPIConfig -> {
+        String account = AccountKeys.of(rmAPIConfig);
+        if (parsedTitleId != null) {
+          String key = ResponseCache.key(account, CodexInstancesImpl.INSTANCE_KEY, parsedTitleId.toString());
+          instanceRecordCache.invalidate(key);
+          instanceRecordCache.invalidate(
+            ResponseCache.key(account, CodexInstancesImpl.INSTANCE_SUMMARY_KEY, parsedTitleId.toString()));
+          identifierIndex.invalidateTitle(account, parsedTitleId.toString());
+          responseCache.invalidate(key);
+          responseCache.invalidatePrefix(account, CodexInstancesImpl.INSTANCES_KEY);
+        }
+        if (parsedPackageId != null) {
+          String key = ResponseCache.key(account, CodexPackagesImpl.PACKAGE_KEY,
+            parsedPackageId.getProviderIdPart() + "-" + parsedPackageId.getPackageIdPart());
+          packageRecordCache.invalidate(key);
+          responseCache.invalidate(key);
+          responseCache.invalidatePrefix(account, CodexPackagesImpl.PACKAGES_KEY);
+        }
+        if (parsedTitleId == null && parsedPackageId == null) {
+          for (ManagedCache cache : caches) {
+            cache.invalidatePartition(okapiData.getTenant());
+            cache.invalidatePartition(account);
+          }
+        }
+        log.info("Invalidated cache entries of tenant " + okapiData.getTenant());
+        asyncResultHandler.handle(succeededFuture(DeleteCodexCacheResponse.respond204()));
+      })
+      .exceptionally(throwable -> {
+        log.error("deleteCodexCache failed!", throwable);
+        if (throwable.getCause() instanceof ConfigurationServiceException && ((ConfigurationServiceException) throwable.getCause()).getStatusCode() == 401) {
+          asyncResultHandler.handle(succeededFuture(DeleteCodexCacheResponse.respond401WithTextPlain(throwable.getCause().getMessage())));
+        } else {
+          asyncResultHandler.handle(succeededFuture(DeleteCodexCacheResponse.respond500WithTextPlain(throwable.getCause().getMessage())));
+        }
+        return null;
+      });
+  }
+
+  private CacheStatistics toStatistics(String name, String partition, CacheUsage usage) {
+    return new CacheStatistics()
+      .withName(name)
+      .withPartition(partition)
+      .withEntries(usage.getEntries())
+      .withWeight(usage.getWeight())
+      .withHits(usage.getHits())
+      .withMisses(usage.getMisses())
+      .withHitRatio(usage.getHitRatio())
+      .withEvictions(usage.getEvictions());
+  }
+}
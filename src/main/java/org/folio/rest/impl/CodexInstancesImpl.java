@@ -2,7 +2,10 @@ package org.folio.rest.impl;
 
 import static io.vertx.core.Future.succeededFuture;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -11,8 +14,19 @@ import java.util.concurrent.CompletionStage;
 import javax.validation.ValidationException;
 import javax.ws.rs.core.Response;
 
+import org.folio.cache.AccountKeys;
+import org.folio.cache.IdentifierIndex;
+import org.folio.cache.RecordCache;
+import org.folio.cache.ResponseCache;
+import org.folio.codex.BatchFetcher;
+import org.folio.codex.ConversionExecutor;
+import org.folio.codex.QueryPlan;
+import org.folio.codex.QueryPlanner;
+import org.folio.codex.QueryStrategy;
 import org.folio.codex.RMAPIToCodex;
 import org.folio.cql2rmapi.CQLParameters;
+import org.folio.cql2rmapi.FieldProjection;
+import org.folio.cql2rmapi.ParsedQuery;
 import org.folio.cql2rmapi.QueryValidationException;
 import org.folio.cql2rmapi.TitleParameters;
 import org.folio.cql2rmapi.query.PaginationCalculator;
@@ -24,9 +38,15 @@ import org.folio.holdingsiq.service.exception.ConfigurationServiceException;
 import org.folio.holdingsiq.service.exception.ResourceNotFoundException;
 import org.folio.parser.IdParser;
 import org.folio.rest.annotations.Validate;
+import org.folio.rest.jaxrs.model.Diagnostic;
+import org.folio.rest.jaxrs.model.IdList;
+import org.folio.rest.jaxrs.model.Instance;
 import org.folio.rest.jaxrs.model.InstanceCollection;
 import org.folio.rest.jaxrs.model.ResultInfo;
 import org.folio.rest.jaxrs.resource.CodexInstances;
+import org.folio.rest.jaxrs.resource.CodexInstancesBatch;
+import org.folio.rest.util.CodexRequest;
+import org.folio.rest.util.CodexResponseFactory;
 import org.folio.spring.SpringContextUtil;
 import org.folio.validator.QueryValidator;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,7 +63,12 @@ import io.vertx.core.logging.LoggerFactory;
  *
  * @author mreno
  */
-public final class CodexInstancesImpl implements CodexInstances {
+public final class CodexInstancesImpl implements CodexInstances, CodexInstancesBatch {
+
+  static final String INSTANCE_KEY = "instance";
+  static final String INSTANCES_KEY = "instances";
+  static final String INSTANCE_SUMMARY_KEY = "instance-summary";
+  private static final String NOT_FOUND = "404";
 
   private final Logger log = LoggerFactory.getLogger(CodexInstancesImpl.class);
 
@@ -53,6 +78,18 @@ public final class CodexInstancesImpl implements CodexInstances {
   private QueryValidator queryValidator;
   @Autowired
   private IdParser idParser;
+  @Autowired
+  private CodexResponseFactory responseFactory;
+  @Autowired
+  private RecordCache<Instance> instanceRecordCache;
+  @Autowired
+  private IdentifierIndex identifierIndex;
+  @Autowired
+  private ConversionExecutor conversionExecutor;
+  @Autowired
+  private BatchFetcher batchFetcher;
+  @Autowired
+  private QueryPlanner queryPlanner;
 
   public CodexInstancesImpl() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -68,14 +105,35 @@ public final class CodexInstancesImpl implements CodexInstances {
                                 Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     log.info("method call: getCodexInstances");
 
+    ParsedQuery<TitleParameters> parsedQuery;
+    try {
+      queryValidator.validate(query, limit);
+      parsedQuery = ParsedQuery.forInstances(query);
+    } catch (ValidationException | QueryValidationException e) {
+      log.info("getCodexInstances rejected query: " + e.getMessage());
+      asyncResultHandler.handle(succeededFuture(CodexInstances.GetCodexInstancesResponse.respond400WithTextPlain(e.getMessage())));
+      return;
+    }
+
     CompletableFuture.completedFuture(null)
       .thenCompose(o -> {
-        queryValidator.validate(query, limit);
-        return configurationService.retrieveConfiguration(new OkapiData(okapiHeaders));
+        OkapiData okapiData = new OkapiData(okapiHeaders);
+        CodexRequest request = new CodexRequest(okapiData.getTenant(), true);
+        return configurationService.retrieveConfiguration(okapiData)
+          .thenCompose(rmAPIConfig -> {
+            String account = AccountKeys.of(rmAPIConfig);
+            return responseFactory.respond(request,
+              ResponseCache.key(account, INSTANCES_KEY, query, Integer.toString(offset), Integer.toString(limit)),
+              () -> getCodexInstances(request, ResponseCache.key(account, INSTANCES_KEY, query), parsedQuery, offset,
+                limit, vertxContext, rmAPIConfig),
+              CodexInstances.GetCodexInstancesResponse::respond200WithApplicationJson);
+          })
+          .thenApply(response -> {
+            queryPlanner.record(INSTANCES_KEY, request.getStrategy());
+            return response;
+          });
       })
-      .thenCompose(rmAPIConfig -> getCodexInstances(query, offset, limit, vertxContext, rmAPIConfig))
-      .thenAccept(instances ->
-         asyncResultHandler.handle(succeededFuture(CodexInstances.GetCodexInstancesResponse.respond200WithApplicationJson(instances))))
+      .thenAccept(response -> asyncResultHandler.handle(succeededFuture(response)))
       .exceptionally(throwable -> {
         log.error("getCodexInstances failed!", throwable);
         if (throwable.getCause() instanceof ValidationException || throwable.getCause() instanceof QueryValidationException) {
@@ -96,13 +154,19 @@ public final class CodexInstancesImpl implements CodexInstances {
 
     log.info("method call: getCodexInstancesById");
 
-    configurationService.retrieveConfiguration(new OkapiData(okapiHeaders))
-      .thenCompose(rmAPIConfig ->
-        RMAPIToCodex.getInstance(vertxContext, rmAPIConfig, idParser.parseTitleId(id))
-      ).thenApply(instance -> {
-      asyncResultHandler.handle(
-            succeededFuture(CodexInstances.GetCodexInstancesByIdResponse.respond200WithApplicationJson(instance)));
-      return instance;
+    OkapiData okapiData = new OkapiData(okapiHeaders);
+    configurationService.retrieveConfiguration(okapiData)
+      .thenCompose(rmAPIConfig -> {
+        Long titleId = idParser.parseTitleId(id);
+        String cacheKey = ResponseCache.key(AccountKeys.of(rmAPIConfig), INSTANCE_KEY, titleId.toString());
+        CodexRequest request = new CodexRequest(okapiData.getTenant(), false);
+        return responseFactory.respond(request, cacheKey,
+          () -> instanceRecordCache.getOrLoad(cacheKey, () -> RMAPIToCodex.getInstance(vertxContext, rmAPIConfig, titleId),
+            request::markStale),
+          CodexInstances.GetCodexInstancesByIdResponse::respond200WithApplicationJson);
+      }).thenApply(response -> {
+      asyncResultHandler.handle(succeededFuture(response));
+      return response;
     }).exceptionally(throwable -> {
       log.error("getCodexInstancesById failed!", throwable);
       if (throwable.getCause() instanceof ResourceNotFoundException
@@ -118,31 +182,223 @@ public final class CodexInstancesImpl implements CodexInstances {
     });
   }
 
-  private CompletionStage<InstanceCollection> getCodexInstances(String query, int offset, int limit,
-                                                                Context vertxContext, Configuration rmAPIConfig) {
-    try {
-      CQLParameters cqlParameters = new CQLParameters(query);
-      if (cqlParameters.isIdSearch()) {
-        return getInstanceById(vertxContext, rmAPIConfig, cqlParameters);
+  @Override
+  @Validate
+  public void postCodexInstancesBatch(String accept, String acceptEncoding, IdList entity,
+                                      Map<String, String> okapiHeaders,
+                                      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    log.info("method call: postCodexInstancesBatch");
+
+    CompletableFuture.completedFuture(null)
+      .thenCompose(o -> {
+        List<String> ids = batchFetcher.distinctIds(entity.getIds());
+        OkapiData okapiData = new OkapiData(okapiHeaders);
+        CodexRequest request = new CodexRequest(okapiData.getTenant(), false).withAccept(accept)
+          .withAcceptEncoding(acceptEncoding);
+        return responseFactory.respondUncached(request,
+          () -> configurationService.retrieveConfiguration(okapiData)
+            .thenCompose(rmAPIConfig -> fetchInstances(ids, vertxContext, rmAPIConfig))
+            .thenApply(result -> toCollection(result, 0, ids.size())),
+          CodexInstancesBatch.PostCodexInstancesBatchResponse::respond200WithApplicationJson);
+      })
+      .thenAccept(response -> asyncResultHandler.handle(succeededFuture(response)))
+      .exceptionally(throwable -> {
+        log.error("postCodexInstancesBatch failed!", throwable);
+        if (throwable.getCause() instanceof ValidationException) {
+          asyncResultHandler.handle(succeededFuture(CodexInstancesBatch.PostCodexInstancesBatchResponse.respond400WithTextPlain(throwable.getCause().getMessage())));
+        } else if (throwable.getCause() instanceof ConfigurationServiceException && ((ConfigurationServiceException) throwable.getCause()).getStatusCode() == 401) {
+          asyncResultHandler.handle(succeededFuture(CodexInstancesBatch.PostCodexInstancesBatchResponse.respond401WithTextPlain(throwable.getCause().getMessage())));
+        } else {
+          asyncResultHandler.handle(succeededFuture(CodexInstancesBatch.PostCodexInstancesBatchResponse.respond500WithTextPlain(throwable.getCause().getMessage())));
+        }
+        return null;
+      });
+  }
+
+  /**
+   * Answers the query with the strategy picked by the {@link QueryPlanner}, which is recorded in the request.
+   */
+  private CompletionStage<InstanceCollection> getCodexInstances(CodexRequest request, String totalsKey,
+                                                                ParsedQuery<TitleParameters> parsedQuery, int offset,
+                                                                int limit, Context vertxContext,
+                                                                Configuration rmAPIConfig) {
+    QueryPlan plan = queryPlanner.planInstances(totalsKey, parsedQuery, offset);
+    request.setStrategy(plan.getStrategy());
+    switch (plan.getStrategy()) {
+      case BY_ID:
+        return getInstanceById(request, vertxContext, rmAPIConfig, parsedQuery.getBranches().get(0))
+          .thenApply(instances -> project(parsedQuery.getFields(), instances));
+      case ID_LIST:
+        return getInstancesByIds(parsedQuery, offset, limit, vertxContext, rmAPIConfig);
+      case OUT_OF_RANGE:
+        return CompletableFuture.completedFuture(new InstanceCollection()
+          .withResultInfo(new ResultInfo().withTotalRecords(plan.getTotalRecords())));
+      case OR_MERGE:
+        return RMAPIToCodex.getInstances(parsedQuery.getParameters(), offset, limit, vertxContext, rmAPIConfig,
+          conversionExecutor);
+      case IDENTIFIER_INDEX:
+        TitleParameters identifierSearch = parsedQuery.getParameters().get(0);
+        String account = AccountKeys.of(rmAPIConfig);
+        InstanceCollection indexed = findIndexedInstances(account, identifierSearch, offset, limit);
+        if (indexed != null) {
+          return CompletableFuture.completedFuture(project(identifierSearch.getFields(), indexed));
+        }
+        request.setStrategy(QueryStrategy.SEARCH);
+        return searchInstances(totalsKey, identifierSearch, offset, limit, vertxContext, rmAPIConfig)
+          .thenApply(instances -> indexInstances(account, identifierSearch, offset, instances));
+      default:
+        return searchInstances(totalsKey, parsedQuery.getParameters().get(0), offset, limit, vertxContext,
+          rmAPIConfig);
+    }
+  }
+
+  private CompletionStage<InstanceCollection> searchInstances(String totalsKey, TitleParameters parameters, int offset,
+                                                              int limit, Context vertxContext,
+                                                              Configuration rmAPIConfig) {
+    PaginationInfo pagination = new PaginationCalculator().getPagination(offset, limit);
+    return RMAPIToCodex.getInstances(parameters, pagination, vertxContext, rmAPIConfig, conversionExecutor)
+      .thenApply(instances -> {
+        queryPlanner.rememberTotal(totalsKey, instances.getResultInfo().getTotalRecords());
+        return instances;
+      });
+  }
+
+  /**
+   * Answers an id list query, see {@link #fetchInstances(List, Context, Configuration)}.
+   */
+  private CompletionStage<InstanceCollection> getInstancesByIds(ParsedQuery<TitleParameters> parsedQuery, int offset,
+                                                                int limit, Context vertxContext,
+                                                                Configuration rmAPIConfig) {
+    return fetchInstances(parsedQuery.getIds(), vertxContext, rmAPIConfig)
+      .thenApply(result -> project(parsedQuery.getFields(), toCollection(result, offset, limit)));
+  }
+
+  /**
+   * Fetches instances by id with bounded concurrency, taking them from the record cache where possible. All ids are
+   * parsed before any is fetched, so an invalid id fails the fetch with a {@link ValidationException}.
+   */
+  private CompletableFuture<BatchFetcher.Result<String, Instance>> fetchInstances(List<String> ids,
+                                                                                   Context vertxContext,
+                                                                                   Configuration rmAPIConfig) {
+    String account = AccountKeys.of(rmAPIConfig);
+    return CompletableFuture.completedFuture(null).thenCompose(o -> {
+      Map<String, Long> titleIds = new HashMap<>();
+      for (String id : ids) {
+        titleIds.put(id, idParser.parseTitleId(id));
+      }
+      return batchFetcher.fetch(ids, id -> {
+        Long titleId = titleIds.get(id);
+        String cacheKey = ResponseCache.key(account, INSTANCE_KEY, titleId.toString());
+        return instanceRecordCache.getOrLoad(cacheKey, () -> RMAPIToCodex.getInstance(vertxContext, rmAPIConfig, titleId));
+      });
+    });
+  }
+
+  /**
+   * Instances keep the order of their ids, ids without an instance are listed in the diagnostics.
+   */
+  private InstanceCollection toCollection(BatchFetcher.Result<String, Instance> result, int offset, int limit) {
+    List<Instance> found = result.getFound();
+    int from = Math.min(offset, found.size());
+    int to = Math.min(offset + limit, found.size());
+    return new InstanceCollection()
+      .withInstances(new ArrayList<>(found.subList(from, to)))
+      .withResultInfo(new ResultInfo()
+        .withTotalRecords(found.size())
+        .withDiagnostics(notFound(result.getMissing())));
+  }
+
+  private List<Diagnostic> notFound(List<String> ids) {
+    List<Diagnostic> diagnostics = new ArrayList<>(ids.size());
+    for (String id : ids) {
+      diagnostics.add(new Diagnostic().withCode(NOT_FOUND).withMessage("Instance " + id + " not found").withQuery(id));
+    }
+    return diagnostics;
+  }
+
+  private InstanceCollection project(FieldProjection fields, InstanceCollection instances) {
+    if (fields.isAll()) {
+      return instances;
+    }
+    List<Instance> projected = new ArrayList<>(instances.getInstances().size());
+    for (Instance instance : instances.getInstances()) {
+      projected.add(fields.project(instance));
+    }
+    return instances.withInstances(projected);
+  }
+
+  /**
+   * Remembers the titles of an exact identifier search in the identifier index if the search returned all of them, so
+   * that the next search for the identifier can be answered from the instance record cache.
+   *
+   * The instances of a search lack the fields only the title record has, such as contributors and the publisher, so
+   * they are cached under their own {@link #INSTANCE_SUMMARY_KEY} and never answer a lookup by id.
+   */
+  private InstanceCollection indexInstances(String account, TitleParameters identifierSearch, int offset,
+                                            InstanceCollection instances) {
+    List<Instance> found = instances.getInstances();
+    Integer totalRecords = instances.getResultInfo().getTotalRecords();
+    if (offset == 0 && totalRecords != null && totalRecords == found.size() && identifierSearch.getFields().isAll()
+      && instanceRecordCache.isEnabled()) {
+      List<String> titleIds = new ArrayList<>(found.size());
+      for (Instance instance : found) {
+        titleIds.add(instance.getId());
+        instanceRecordCache.put(ResponseCache.key(account, INSTANCE_SUMMARY_KEY, instance.getId()), instance);
       }
+      identifierIndex.putComplete(account, identifierSearch.getFilterQuery().getIsxn(),
+        identifierSearch.getSortType().getValue(), titleIds);
+    }
+    return instances;
+  }
 
-      TitleParameters parameters = new TitleParameters(cqlParameters);
+  /**
+   * Answers an exact identifier search from the identifier index and the instance record cache, in the order of the
+   * RM API search that filled the index. Returns {@code null} if no complete result of the search is known or one of
+   * its titles is no longer cached, so that the RM API is asked instead.
+   */
+  private InstanceCollection findIndexedInstances(String account, TitleParameters identifierSearch, int offset,
+                                                  int limit) {
+    List<String> titleIds = identifierIndex.lookup(account, identifierSearch.getFilterQuery().getIsxn(),
+      identifierSearch.getSortType().getValue());
+    if (titleIds == null) {
+      return null;
+    }
 
-      PaginationInfo pagination = new PaginationCalculator().getPagination(offset, limit);
-      return RMAPIToCodex.getInstances(parameters, pagination, vertxContext, rmAPIConfig);
-    } catch (QueryValidationException e) {
-      throw new CompletionException(e);
+    List<Instance> instances = new ArrayList<>(titleIds.size());
+    for (String titleId : titleIds) {
+      Instance instance = instanceRecordCache.get(ResponseCache.key(account, INSTANCE_SUMMARY_KEY, titleId));
+      if (instance == null) {
+        return null;
+      }
+      instances.add(instance);
     }
+
+    int from = Math.min(offset, instances.size());
+    int to = Math.min(offset + limit, instances.size());
+    return new InstanceCollection()
+      .withInstances(new ArrayList<>(instances.subList(from, to)))
+      .withResultInfo(new ResultInfo().withTotalRecords(instances.size()));
   }
 
-  private CompletionStage<InstanceCollection> getInstanceById(Context vertxContext, Configuration rmAPIConfig, CQLParameters cqlParameters) {
-    return RMAPIToCodex.getInstance(vertxContext, rmAPIConfig, idParser.parseTitleId(cqlParameters.getIdSearchValue()))
+  /**
+   * Answers an {@code id=} query from the instance record cache or the RM API, with no instances if the title is not
+   * found.
+   */
+  private CompletionStage<InstanceCollection> getInstanceById(CodexRequest request, Context vertxContext,
+                                                              Configuration rmAPIConfig, CQLParameters cqlParameters) {
+    Long titleId = idParser.parseTitleId(cqlParameters.getIdSearchValue());
+    String cacheKey = ResponseCache.key(AccountKeys.of(rmAPIConfig), INSTANCE_KEY, titleId.toString());
+    return instanceRecordCache.getOrLoad(cacheKey, () -> RMAPIToCodex.getInstance(vertxContext, rmAPIConfig, titleId),
+      request::markStale)
       .thenApply(instance ->
         new InstanceCollection()
           .withInstances(Collections.singletonList(instance))
           .withResultInfo(new ResultInfo().withTotalRecords(1))
-      ).exceptionally(throwable ->
-        new InstanceCollection().withResultInfo(new ResultInfo().withTotalRecords(0))
-      );
+      ).exceptionally(throwable -> {
+        if (throwable.getCause() instanceof ResourceNotFoundException) {
+          return new InstanceCollection().withResultInfo(new ResultInfo().withTotalRecords(0));
+        }
+        throw throwable instanceof CompletionException ? (CompletionException) throwable : new CompletionException(throwable);
+      });
   }
 }
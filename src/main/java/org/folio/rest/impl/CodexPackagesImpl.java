@@ -2,7 +2,10 @@ package org.folio.rest.impl;
 
 import static io.vertx.core.Future.succeededFuture;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -11,27 +14,41 @@ import java.util.concurrent.CompletionStage;
 import javax.validation.ValidationException;
 import javax.ws.rs.core.Response;
 
+import org.folio.cache.AccountKeys;
+import org.folio.cache.RecordCache;
+import org.folio.cache.ResponseCache;
+import org.folio.codex.BatchFetcher;
+import org.folio.codex.ConversionExecutor;
+import org.folio.codex.QueryPlan;
+import org.folio.codex.QueryPlanner;
 import org.folio.codex.RMAPIToCodex;
-import org.folio.cql2rmapi.CQLParameters;
+import org.folio.cql2rmapi.FieldProjection;
 import org.folio.cql2rmapi.PackageParameters;
+import org.folio.cql2rmapi.ParsedQuery;
 import org.folio.cql2rmapi.QueryValidationException;
 import org.folio.cql2rmapi.query.PaginationCalculator;
 import org.folio.cql2rmapi.query.PaginationInfo;
 import org.folio.holdingsiq.model.Configuration;
 import org.folio.holdingsiq.model.OkapiData;
+import org.folio.holdingsiq.model.PackageId;
 import org.folio.holdingsiq.service.ConfigurationService;
 import org.folio.holdingsiq.service.exception.ConfigurationServiceException;
 import org.folio.holdingsiq.service.exception.ResourceNotFoundException;
 import org.folio.parser.IdParser;
 import org.folio.rest.annotations.Validate;
+import org.folio.rest.jaxrs.model.Diagnostic;
+import org.folio.rest.jaxrs.model.IdList;
 import org.folio.rest.jaxrs.model.Package;
 import org.folio.rest.jaxrs.model.PackageCollection;
 import org.folio.rest.jaxrs.model.ResultInfo;
 import org.folio.rest.jaxrs.model.Source;
 import org.folio.rest.jaxrs.model.SourceCollection;
 import org.folio.rest.jaxrs.resource.CodexPackages;
+import org.folio.rest.jaxrs.resource.CodexPackagesBatch;
 import org.folio.rest.jaxrs.resource.CodexPackagesSources;
 import org.folio.rest.tools.PomReader;
+import org.folio.rest.util.CodexRequest;
+import org.folio.rest.util.CodexResponseFactory;
 import org.folio.spring.SpringContextUtil;
 import org.folio.validator.QueryValidator;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,9 +63,12 @@ import io.vertx.core.logging.LoggerFactory;
 /**
  * Package related codex APIs.
  */
-public final class CodexPackagesImpl implements CodexPackages, CodexPackagesSources {
+public final class CodexPackagesImpl implements CodexPackages, CodexPackagesSources, CodexPackagesBatch {
 
   private static final String MODULE_SOURCE = "kb";
+  static final String PACKAGE_KEY = "package";
+  static final String PACKAGES_KEY = "packages";
+  private static final String NOT_FOUND = "404";
   private final Logger log = LoggerFactory.getLogger(CodexPackagesImpl.class);
   @Autowired
   private ConfigurationService configurationService;
@@ -56,6 +76,16 @@ public final class CodexPackagesImpl implements CodexPackages, CodexPackagesSour
   private IdParser idParser;
   @Autowired
   private QueryValidator queryValidator;
+  @Autowired
+  private CodexResponseFactory responseFactory;
+  @Autowired
+  private RecordCache<Package> packageRecordCache;
+  @Autowired
+  private ConversionExecutor conversionExecutor;
+  @Autowired
+  private BatchFetcher batchFetcher;
+  @Autowired
+  private QueryPlanner queryPlanner;
 
   public CodexPackagesImpl() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -64,13 +94,35 @@ public final class CodexPackagesImpl implements CodexPackages, CodexPackagesSour
   @Override
   @Validate
   public void getCodexPackages(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    ParsedQuery<PackageParameters> parsedQuery;
+    try {
+      queryValidator.validate(query, limit);
+      parsedQuery = ParsedQuery.forPackages(query);
+    } catch (ValidationException | QueryValidationException e) {
+      log.info("getCodexPackages rejected query: " + e.getMessage());
+      respond(GetCodexPackagesResponse.respond400WithTextPlain(e.getMessage()), asyncResultHandler);
+      return;
+    }
+
     CompletableFuture.completedFuture(null)
       .thenCompose(o -> {
-        queryValidator.validate(query, limit);
-        return configurationService.retrieveConfiguration(new OkapiData(okapiHeaders));
+        OkapiData okapiData = new OkapiData(okapiHeaders);
+        CodexRequest request = new CodexRequest(okapiData.getTenant(), true);
+        return configurationService.retrieveConfiguration(okapiData)
+          .thenCompose(rmAPIConfig -> {
+            String account = AccountKeys.of(rmAPIConfig);
+            return responseFactory.respond(request,
+              ResponseCache.key(account, PACKAGES_KEY, query, Integer.toString(offset), Integer.toString(limit)),
+              () -> getPackages(request, ResponseCache.key(account, PACKAGES_KEY, query), parsedQuery, offset, limit,
+                vertxContext, rmAPIConfig),
+              GetCodexPackagesResponse::respond200WithApplicationJson);
+          })
+          .thenApply(response -> {
+            queryPlanner.record(PACKAGES_KEY, request.getStrategy());
+            return response;
+          });
       })
-      .thenCompose(rmAPIConfig -> getPackages(query, offset, limit, vertxContext, rmAPIConfig))
-      .thenAccept(packages -> successfulPackages(packages, asyncResultHandler))
+      .thenAccept(response -> respond(response, asyncResultHandler))
       .exceptionally(e -> failedPackages(e, asyncResultHandler));
   }
 
@@ -78,18 +130,24 @@ public final class CodexPackagesImpl implements CodexPackages, CodexPackagesSour
   public void getCodexPackagesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     log.info("method call: getCodexPackagesById");
 
-    configurationService.retrieveConfiguration(new OkapiData(okapiHeaders))
-      .thenCompose(config -> RMAPIToCodex.getPackage(vertxContext, config, idParser.parsePackageId(id)))
-      .thenAccept(pkg -> successfulPkgById(pkg, asyncResultHandler))
+    OkapiData okapiData = new OkapiData(okapiHeaders);
+    configurationService.retrieveConfiguration(okapiData)
+      .thenCompose(config -> {
+        PackageId packageId = idParser.parsePackageId(id);
+        String cacheKey = ResponseCache.key(AccountKeys.of(config), PACKAGE_KEY,
+          packageId.getProviderIdPart() + "-" + packageId.getPackageIdPart());
+        CodexRequest request = new CodexRequest(okapiData.getTenant(), false);
+        return responseFactory.respond(request, cacheKey,
+          () -> packageRecordCache.getOrLoad(cacheKey, () -> RMAPIToCodex.getPackage(vertxContext, config, packageId),
+            request::markStale),
+          GetCodexPackagesByIdResponse::respond200WithApplicationJson);
+      })
+      .thenAccept(response -> respond(response, asyncResultHandler))
       .exceptionally(throwable -> failedPkgById(id, throwable, asyncResultHandler));
   }
 
-  private void successfulPkgById(Package pkg, Handler<AsyncResult<Response>> handler) {
-    handler.handle(succeededFuture(GetCodexPackagesByIdResponse.respond200WithApplicationJson(pkg)));
-  }
-
-  private void successfulPackages(PackageCollection packages, Handler<AsyncResult<Response>> handler) {
-    handler.handle(succeededFuture(GetCodexPackagesResponse.respond200WithApplicationJson(packages)));
+  private void respond(Response response, Handler<AsyncResult<Response>> handler) {
+    handler.handle(succeededFuture(response));
   }
 
   private Void failedPkgById(String id, Throwable throwable, Handler<AsyncResult<Response>> handler) {
@@ -111,6 +169,45 @@ public final class CodexPackagesImpl implements CodexPackages, CodexPackagesSour
     return null;
   }
 
+  @Override
+  @Validate
+  public void postCodexPackagesBatch(String accept, String acceptEncoding, IdList entity,
+                                     Map<String, String> okapiHeaders,
+                                     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    log.info("method call: postCodexPackagesBatch");
+
+    CompletableFuture.completedFuture(null)
+      .thenCompose(o -> {
+        List<String> ids = batchFetcher.distinctIds(entity.getIds());
+        OkapiData okapiData = new OkapiData(okapiHeaders);
+        CodexRequest request = new CodexRequest(okapiData.getTenant(), false).withAccept(accept)
+          .withAcceptEncoding(acceptEncoding);
+        return responseFactory.respondUncached(request,
+          () -> configurationService.retrieveConfiguration(okapiData)
+            .thenCompose(rmAPIConfig -> fetchPackages(ids, vertxContext, rmAPIConfig))
+            .thenApply(result -> toCollection(result, 0, ids.size())),
+          PostCodexPackagesBatchResponse::respond200WithApplicationJson);
+      })
+      .thenAccept(response -> respond(response, asyncResultHandler))
+      .exceptionally(throwable -> failedBatch(throwable, asyncResultHandler));
+  }
+
+  private Void failedBatch(Throwable throwable, Handler<AsyncResult<Response>> handler) {
+    log.error("postCodexPackagesBatch failed!", throwable);
+
+    Response response;
+    if (throwable.getCause() instanceof ValidationException) {
+      response = PostCodexPackagesBatchResponse.respond400WithTextPlain(throwable.getCause().getMessage());
+    } else if (throwable.getCause() instanceof ConfigurationServiceException && ((ConfigurationServiceException) throwable.getCause()).getStatusCode() == 401) {
+      response = PostCodexPackagesBatchResponse.respond401WithTextPlain(throwable.getCause().getMessage());
+    } else {
+      response = PostCodexPackagesBatchResponse.respond500WithTextPlain(throwable.getCause().getMessage());
+    }
+    handler.handle(succeededFuture(response));
+
+    return null;
+  }
+
   private Void failedPackages(Throwable throwable, Handler<AsyncResult<Response>> handler) {
     log.error("getCodexPackages failed!", throwable);
 
@@ -140,28 +237,122 @@ public final class CodexPackagesImpl implements CodexPackages, CodexPackagesSour
       )))));
   }
 
-  private CompletionStage<PackageCollection> getPackages(String query, int offset, int limit, Context vertxContext, Configuration rmAPIConfig) {
-    try {
-      CQLParameters cqlParameters = new CQLParameters(query);
-      if (cqlParameters.isIdSearch()) {
-        return getPackageById(vertxContext, rmAPIConfig, cqlParameters.getIdSearchValue());
+  /**
+   * Answers the query with the strategy picked by the {@link QueryPlanner}, which is recorded in the request.
+   */
+  private CompletionStage<PackageCollection> getPackages(CodexRequest request, String totalsKey,
+                                                         ParsedQuery<PackageParameters> parsedQuery, int offset,
+                                                         int limit, Context vertxContext, Configuration rmAPIConfig) {
+    QueryPlan plan = queryPlanner.planPackages(totalsKey, parsedQuery, offset);
+    request.setStrategy(plan.getStrategy());
+    switch (plan.getStrategy()) {
+      case BY_ID:
+        return getPackageById(request, vertxContext, rmAPIConfig, parsedQuery.getBranches().get(0).getIdSearchValue())
+          .thenApply(packages -> project(parsedQuery.getFields(), packages));
+      case ID_LIST:
+        return getPackagesByIds(parsedQuery, offset, limit, vertxContext, rmAPIConfig);
+      case OUT_OF_RANGE:
+        return CompletableFuture.completedFuture(new PackageCollection()
+          .withResultInfo(new ResultInfo().withTotalRecords(plan.getTotalRecords())));
+      case OR_MERGE:
+        return RMAPIToCodex.getPackages(parsedQuery.getParameters(), offset, limit, vertxContext, rmAPIConfig,
+          conversionExecutor);
+      default:
+        PackageParameters parameters = parsedQuery.getParameters().get(0);
+        PaginationInfo pagination = new PaginationCalculator().getPagination(offset, limit);
+        return RMAPIToCodex.getPackages(parameters, pagination, vertxContext, rmAPIConfig, conversionExecutor)
+          .thenApply(packages -> {
+            queryPlanner.rememberTotal(totalsKey, packages.getResultInfo().getTotalRecords());
+            return packages;
+          });
+    }
+  }
+
+  /**
+   * Answers an id list query, see {@link #fetchPackages(List, Context, Configuration)}.
+   */
+  private CompletionStage<PackageCollection> getPackagesByIds(ParsedQuery<PackageParameters> parsedQuery, int offset,
+                                                              int limit, Context vertxContext,
+                                                              Configuration rmAPIConfig) {
+    return fetchPackages(parsedQuery.getIds(), vertxContext, rmAPIConfig)
+      .thenApply(result -> project(parsedQuery.getFields(), toCollection(result, offset, limit)));
+  }
+
+  /**
+   * Fetches packages by id with bounded concurrency, taking them from the record cache where possible. All ids are
+   * parsed before any is fetched, so an invalid id fails the fetch with a {@link ValidationException}.
+   */
+  private CompletableFuture<BatchFetcher.Result<String, Package>> fetchPackages(List<String> ids,
+                                                                                 Context vertxContext,
+                                                                                 Configuration rmAPIConfig) {
+    String account = AccountKeys.of(rmAPIConfig);
+    return CompletableFuture.completedFuture(null).thenCompose(o -> {
+      Map<String, PackageId> packageIds = new HashMap<>();
+      for (String id : ids) {
+        packageIds.put(id, idParser.parsePackageId(id));
       }
-      PackageParameters parameters = new PackageParameters(cqlParameters);
-      PaginationInfo pagination = new PaginationCalculator().getPagination(offset, limit);
-      return RMAPIToCodex.getPackages(parameters, pagination, vertxContext, rmAPIConfig);
-    } catch (QueryValidationException e) {
-      throw new CompletionException(e);
+      return batchFetcher.fetch(ids, id -> {
+        PackageId packageId = packageIds.get(id);
+        String cacheKey = ResponseCache.key(account, PACKAGE_KEY,
+          packageId.getProviderIdPart() + "-" + packageId.getPackageIdPart());
+        return packageRecordCache.getOrLoad(cacheKey, () -> RMAPIToCodex.getPackage(vertxContext, rmAPIConfig, packageId));
+      });
+    });
+  }
+
+  /**
+   * Packages keep the order of their ids, ids without a package are listed in the diagnostics.
+   */
+  private PackageCollection toCollection(BatchFetcher.Result<String, Package> result, int offset, int limit) {
+    List<Package> found = result.getFound();
+    int from = Math.min(offset, found.size());
+    int to = Math.min(offset + limit, found.size());
+    return new PackageCollection()
+      .withPackages(new ArrayList<>(found.subList(from, to)))
+      .withResultInfo(new ResultInfo()
+        .withTotalRecords(found.size())
+        .withDiagnostics(notFound(result.getMissing())));
+  }
+
+  private List<Diagnostic> notFound(List<String> ids) {
+    List<Diagnostic> diagnostics = new ArrayList<>(ids.size());
+    for (String id : ids) {
+      diagnostics.add(new Diagnostic().withCode(NOT_FOUND).withMessage("Package " + id + " not found").withQuery(id));
+    }
+    return diagnostics;
+  }
+
+  private PackageCollection project(FieldProjection fields, PackageCollection packages) {
+    if (fields.isAll()) {
+      return packages;
+    }
+    List<Package> projected = new ArrayList<>(packages.getPackages().size());
+    for (Package pkg : packages.getPackages()) {
+      projected.add(fields.project(pkg));
     }
+    return packages.withPackages(projected);
   }
 
-  private CompletionStage<PackageCollection> getPackageById(Context vertxContext, Configuration rmAPIConfig, String id) {
-    return RMAPIToCodex.getPackage(vertxContext, rmAPIConfig, idParser.parsePackageId(id))
+  /**
+   * Answers an {@code id=} query from the package record cache or the RM API, with no packages if the package is not
+   * found.
+   */
+  private CompletionStage<PackageCollection> getPackageById(CodexRequest request, Context vertxContext,
+                                                            Configuration rmAPIConfig, String id) {
+    PackageId packageId = idParser.parsePackageId(id);
+    String cacheKey = ResponseCache.key(AccountKeys.of(rmAPIConfig), PACKAGE_KEY,
+      packageId.getProviderIdPart() + "-" + packageId.getPackageIdPart());
+    return packageRecordCache.getOrLoad(cacheKey, () -> RMAPIToCodex.getPackage(vertxContext, rmAPIConfig, packageId),
+      request::markStale)
       .thenApply(packageObject ->
         new PackageCollection()
           .withPackages(Collections.singletonList(packageObject))
           .withResultInfo(new ResultInfo().withTotalRecords(1))
-      ).exceptionally(throwable ->
-        new PackageCollection().withResultInfo(new ResultInfo().withTotalRecords(0))
-      );
+      ).exceptionally(throwable -> {
+        if (throwable.getCause() instanceof ResourceNotFoundException) {
+          return new PackageCollection().withResultInfo(new ResultInfo().withTotalRecords(0));
+        }
+        throw throwable instanceof CompletionException ? (CompletionException) throwable : new CompletionException(throwable);
+      });
   }
 }
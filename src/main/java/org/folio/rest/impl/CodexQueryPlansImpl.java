@@ -0,0 +1,74 @@
+package org.folio.rest.impl;
+
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import javax.ws.rs.core.Response;
+
+import org.folio.codex.ConversionExecutor;
+import org.folio.codex.QueryPlanner;
+import org.folio.codex.QueryStrategy;
+import org.folio.rest.jaxrs.model.CompressionStatistics;
+import org.folio.rest.jaxrs.model.ConversionStatistics;
+import org.folio.rest.jaxrs.model.QueryPlanStatistics;
+import org.folio.rest.jaxrs.model.QueryPlanStatisticsCollection;
+import org.folio.rest.jaxrs.resource.CodexQueryPlans;
+import org.folio.rest.util.ResponseCompressor;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * Statistics of the strategies the {@link QueryPlanner} picked for collection queries, of the time the
+ * {@link ConversionExecutor} spent converting records on the event loop and of the {@link ResponseCompressor}.
+ */
+public final class CodexQueryPlansImpl implements CodexQueryPlans {
+
+  @Autowired
+  private QueryPlanner queryPlanner;
+  @Autowired
+  private ConversionExecutor conversionExecutor;
+  @Autowired
+  private ResponseCompressor responseCompressor;
+
+  public CodexQueryPlansImpl() {
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+  }
+
+  @Override
+  public void getCodexQueryPlans(Map<String, String> okapiHeaders,
+                                 Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    List<QueryPlanStatistics> statistics = new ArrayList<>();
+    for (String resource : new TreeSet<>(queryPlanner.getResources())) {
+      for (QueryStrategy strategy : QueryStrategy.values()) {
+        statistics.add(new QueryPlanStatistics()
+          .withResource(resource)
+          .withStrategy(strategy.getName())
+          .withCount(queryPlanner.getCount(resource, strategy)));
+      }
+    }
+    asyncResultHandler.handle(succeededFuture(GetCodexQueryPlansResponse.respond200WithApplicationJson(
+      new QueryPlanStatisticsCollection()
+        .withPlans(statistics)
+        .withConversions(new ConversionStatistics()
+          .withEventLoopConversions(conversionExecutor.getEventLoopConversions())
+          .withEventLoopMillis(conversionExecutor.getEventLoopMillis())
+          .withMaxEventLoopMillis(conversionExecutor.getMaxEventLoopMillis())
+          .withOffloadedConversions(conversionExecutor.getOffloadedConversions()))
+        .withCompression(new CompressionStatistics()
+          .withCompressedResponses(responseCompressor.getCompressedResponses())
+          .withUncompressedBytes(responseCompressor.getUncompressedBytes())
+          .withCompressedBytes(responseCompressor.getCompressedBytes())
+          .withCompressionRatio(responseCompressor.getCompressionRatio())
+          .withCompressionMillis(responseCompressor.getCompressionMillis()))
+        .withTotalRecords(statistics.size()))));
+  }
+}
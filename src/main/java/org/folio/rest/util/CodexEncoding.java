@@ -0,0 +1,119 @@
+package org.folio.rest.util;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.ws.rs.core.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.folio.rest.tools.utils.ObjectMapperTool;
+
+import io.vertx.core.json.EncodeException;
+
+/**
+ * Encodings the codex records and collections can be written in, chosen by the {@code Accept} header of the request.
+ *
+ * JSON is the default and is written by a {@link CodexJsonWriter} over the RMB mapper, so its output is the same as
+ * the response entities serialized by RMB. CBOR and Smile write the same fields in binary form, which is smaller and
+ * faster to parse for batch consumers. A writer is prepared once per type, so bean serializers are looked up only the
+ * first time a type is written.
+ *
+ * Only the batch endpoints declare the {@code Accept} header and the binary media types in their RAML. The shared
+ * codex RAML of the GET endpoints declares neither, so RMB answers those in JSON.
+ */
+public enum CodexEncoding {
+  JSON(MediaType.APPLICATION_JSON, ObjectMapperTool.getMapper()),
+  CBOR("application/cbor", new ObjectMapper(new CBORFactory())),
+  SMILE("application/x-jackson-smile", new ObjectMapper(new SmileFactory()));
+
+  private static final String QUALITY = "q=";
+  private static final String ANY = "*/*";
+  private static final CodexJsonWriter JSON_WRITER = new CodexJsonWriter(ObjectMapperTool.getMapper());
+
+  private final String mediaType;
+  private final ObjectMapper mapper;
+  private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  CodexEncoding(String mediaType, ObjectMapper mapper) {
+    this.mediaType = mediaType;
+    this.mapper = mapper;
+  }
+
+  public String getMediaType() {
+    return mediaType;
+  }
+
+  /**
+   * Returns the encoding with the highest quality in the {@code Accept} header, JSON if the header is missing or
+   * accepts none of the encodings. On equal quality the first listed one wins.
+   */
+  public static CodexEncoding fromAccept(String accept) {
+    if (accept == null) {
+      return JSON;
+    }
+    CodexEncoding best = JSON;
+    double bestQuality = 0;
+    for (String range : accept.split(",")) {
+      String[] params = range.split(";");
+      String type = params[0].trim();
+      double quality = quality(params);
+      if (quality <= bestQuality) {
+        continue;
+      }
+      CodexEncoding encoding = ANY.equals(type) ? JSON : forMediaType(type);
+      if (encoding != null) {
+        best = encoding;
+        bestQuality = quality;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Extends a response cache key so the encodings of the same response are cached separately. The JSON key is left
+   * unchanged.
+   */
+  public String cacheKey(String key) {
+    return this == JSON ? key : key + '|' + name().toLowerCase();
+  }
+
+  public byte[] encode(Object value) {
+    try {
+      return this == JSON ? JSON_WRITER.write(value) : writer(value.getClass()).writeValueAsBytes(value);
+    } catch (IOException e) {
+      throw new EncodeException("Failed to encode as " + name() + ": " + e.getMessage());
+    }
+  }
+
+  private ObjectWriter writer(Class<?> type) {
+    return writers.computeIfAbsent(type, mapper::writerFor);
+  }
+
+  private static CodexEncoding forMediaType(String type) {
+    for (CodexEncoding encoding : values()) {
+      if (encoding.mediaType.equalsIgnoreCase(type)) {
+        return encoding;
+      }
+    }
+    return null;
+  }
+
+  private static double quality(String[] params) {
+    for (int i = 1; i < params.length; i++) {
+      String param = params[i].trim();
+      if (param.startsWith(QUALITY)) {
+        try {
+          return Double.parseDouble(param.substring(QUALITY.length()));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
@@ -0,0 +1,345 @@
+package org.folio.rest.util;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Writes the codex records and collections as JSON without the bean serializers of the mapper.
+ *
+ * The first time a generated model class is written its properties are taken from its {@link JsonPropertyOrder}
+ * annotation, which is the order the schema declares them in. Every property name is encoded to quoted UTF-8 once,
+ * and its getter is bound to a {@link Function}, so writing a record is a loop of getter calls and buffer writes.
+ * How a property value is written is also chosen once, from the declared type of the getter: strings, numbers,
+ * booleans, collections and nested records are written directly into the buffer of the generator, enum values are
+ * encoded by the mapper once per enum class.
+ *
+ * The output is the same as that of the mapper the writer is created with. Classes whose output depends on more than
+ * the property order and inclusion, such as custom serializers, formats or non-empty additional properties, and any
+ * other value type are handed to the mapper, as is everything if the mapper wraps or unwraps values.
+ */
+public class CodexJsonWriter {
+  private static final BeanWriter DELEGATE = new BeanWriter(null, false, null);
+  private static final List<Class<? extends Annotation>> CUSTOM_PROPERTY_ANNOTATIONS = Arrays.asList(
+    JsonInclude.class, JsonSerialize.class, JsonFormat.class, JsonRawValue.class, JsonUnwrapped.class, JsonView.class);
+
+  private final ObjectMapper mapper;
+  private final boolean direct;
+  private final JsonInclude.Include defaultInclusion;
+  private final Map<Class<?>, BeanWriter> beanWriters = new ConcurrentHashMap<>();
+  private final Map<Class<?>, SerializedString[]> enumValues = new ConcurrentHashMap<>();
+  private final ValueWriter anyValueWriter = this::writeValue;
+
+  @SuppressWarnings("deprecation")
+  public CodexJsonWriter(ObjectMapper mapper) {
+    SerializationConfig config = mapper.getSerializationConfig();
+    this.mapper = mapper;
+    this.direct = !config.isEnabled(SerializationFeature.WRAP_ROOT_VALUE)
+      && config.isEnabled(SerializationFeature.WRITE_EMPTY_JSON_ARRAYS)
+      && !config.isEnabled(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED);
+    this.defaultInclusion = config.getDefaultPropertyInclusion().getValueInclusion();
+  }
+
+  public byte[] write(Object value) throws IOException {
+    if (!direct) {
+      return mapper.writeValueAsBytes(value);
+    }
+    ByteArrayBuilder buffer = new ByteArrayBuilder(mapper.getFactory()._getBufferRecycler());
+    try (JsonGenerator generator = mapper.getFactory().createGenerator(buffer, JsonEncoding.UTF8)) {
+      mapper.getSerializationConfig().initialize(generator);
+      writeValue(generator, value);
+    }
+    byte[] bytes = buffer.toByteArray();
+    buffer.release();
+    return bytes;
+  }
+
+  private void writeValue(JsonGenerator generator, Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof String) {
+      generator.writeString((String) value);
+    } else if (value instanceof Integer) {
+      generator.writeNumber((Integer) value);
+    } else if (value instanceof Long) {
+      generator.writeNumber((Long) value);
+    } else if (value instanceof Double) {
+      generator.writeNumber((Double) value);
+    } else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    } else if (value instanceof Collection) {
+      writeArray(generator, (Collection<?>) value, anyValueWriter);
+    } else if (value instanceof Enum) {
+      Enum<?> constant = (Enum<?>) value;
+      generator.writeRawValue(enumValues(constant.getDeclaringClass())[constant.ordinal()]);
+    } else {
+      writeBean(generator, value);
+    }
+  }
+
+  private void writeBean(JsonGenerator generator, Object bean) throws IOException {
+    BeanWriter writer = beanWriters.get(bean.getClass());
+    if (writer == null) {
+      writer = beanWriters.computeIfAbsent(bean.getClass(), this::createBeanWriter);
+    }
+    if (writer == DELEGATE || writer.hasAdditionalProperties(bean)) {
+      mapper.writeValue(generator, bean);
+    } else {
+      writer.write(generator, bean);
+    }
+  }
+
+  private static void writeArray(JsonGenerator generator, Collection<?> values, ValueWriter elementWriter)
+    throws IOException {
+    generator.writeStartArray();
+    for (Object value : values) {
+      if (value == null) {
+        generator.writeNull();
+      } else {
+        elementWriter.write(generator, value);
+      }
+    }
+    generator.writeEndArray();
+  }
+
+  private SerializedString[] enumValues(Class<?> type) throws IOException {
+    SerializedString[] values = enumValues.get(type);
+    if (values == null) {
+      Object[] constants = type.getEnumConstants();
+      values = new SerializedString[constants.length];
+      for (int i = 0; i < constants.length; i++) {
+        values[i] = new SerializedString(mapper.writeValueAsString(constants[i]));
+      }
+      enumValues.put(type, values);
+    }
+    return values;
+  }
+
+  /**
+   * Returns the writer of the non-null values of a property declared with the given type. Values of common types are
+   * written without checking their class again, anything else goes through {@link #writeValue}.
+   */
+  private ValueWriter valueWriter(Type type) throws IOException {
+    Class<?> raw = type instanceof ParameterizedType ? (Class<?>) ((ParameterizedType) type).getRawType()
+      : type instanceof Class ? (Class<?>) type : Object.class;
+    if (raw == String.class) {
+      return (generator, value) -> generator.writeString((String) value);
+    } else if (raw == Integer.class || raw == int.class) {
+      return (generator, value) -> generator.writeNumber((Integer) value);
+    } else if (raw == Long.class || raw == long.class) {
+      return (generator, value) -> generator.writeNumber((Long) value);
+    } else if (raw == Double.class || raw == double.class) {
+      return (generator, value) -> generator.writeNumber((Double) value);
+    } else if (raw == Boolean.class || raw == boolean.class) {
+      return (generator, value) -> generator.writeBoolean((Boolean) value);
+    } else if (raw.isEnum()) {
+      SerializedString[] values = enumValues(raw);
+      return (generator, value) -> generator.writeRawValue(values[((Enum<?>) value).ordinal()]);
+    } else if (Collection.class.isAssignableFrom(raw) && type instanceof ParameterizedType) {
+      ValueWriter elementWriter = valueWriter(((ParameterizedType) type).getActualTypeArguments()[0]);
+      return (generator, value) -> writeArray(generator, (Collection<?>) value, elementWriter);
+    } else if (raw.isAnnotationPresent(JsonPropertyOrder.class)) {
+      return this::writeBean;
+    }
+    return anyValueWriter;
+  }
+
+  /**
+   * Returns the writer of a generated model class, {@link #DELEGATE} if its output cannot be reproduced from the
+   * property order and inclusion alone.
+   */
+  private BeanWriter createBeanWriter(Class<?> type) {
+    JsonPropertyOrder order = type.getAnnotation(JsonPropertyOrder.class);
+    JsonIgnoreProperties ignored = type.getAnnotation(JsonIgnoreProperties.class);
+    if (order == null || order.alphabetic() || (ignored != null && ignored.value().length > 0)
+      || type.isAnnotationPresent(JsonSerialize.class) || type.isAnnotationPresent(JsonFormat.class)) {
+      return DELEGATE;
+    }
+    JsonInclude include = type.getAnnotation(JsonInclude.class);
+    JsonInclude.Include inclusion = include != null && include.value() != JsonInclude.Include.USE_DEFAULTS
+      ? include.value() : defaultInclusion;
+    if (inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.NON_NULL
+      && inclusion != JsonInclude.Include.USE_DEFAULTS) {
+      return DELEGATE;
+    }
+
+    Map<String, Field> fields = new HashMap<>();
+    for (Field field : type.getDeclaredFields()) {
+      JsonProperty property = field.getAnnotation(JsonProperty.class);
+      if (property == null || field.isAnnotationPresent(JsonIgnore.class)) {
+        continue;
+      }
+      for (Class<? extends Annotation> annotation : CUSTOM_PROPERTY_ANNOTATIONS) {
+        if (field.isAnnotationPresent(annotation)) {
+          return DELEGATE;
+        }
+      }
+      fields.put(property.value(), field);
+    }
+    if (fields.size() != order.value().length) {
+      return DELEGATE;
+    }
+
+    Property[] properties = new Property[order.value().length];
+    Set<Method> getters = new HashSet<>();
+    Function<Object, Object> anyGetter = null;
+    try {
+      for (int i = 0; i < properties.length; i++) {
+        String name = order.value()[i];
+        Field field = fields.get(name);
+        Method getter = field == null ? null : getter(type, field);
+        if (getter == null) {
+          return DELEGATE;
+        }
+        getters.add(getter);
+        properties[i] = new Property(new SerializedString(name), accessor(getter),
+          valueWriter(getter.getGenericReturnType()));
+      }
+      for (Method method : type.getMethods()) {
+        if (method.isAnnotationPresent(JsonValue.class)) {
+          return DELEGATE;
+        }
+        if (method.isAnnotationPresent(JsonAnyGetter.class)) {
+          anyGetter = accessor(method);
+        } else if (isDetectedGetter(method) && !getters.contains(method)) {
+          return DELEGATE;
+        }
+      }
+    } catch (Throwable e) {
+      return DELEGATE;
+    }
+    return new BeanWriter(properties, inclusion == JsonInclude.Include.NON_NULL, anyGetter);
+  }
+
+  private static Method getter(Class<?> type, Field field) {
+    String suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+    for (String prefix : new String[] {"get", "is"}) {
+      try {
+        Method method = type.getMethod(prefix + suffix);
+        if (!Modifier.isStatic(method.getModifiers()) && !method.isAnnotationPresent(JsonIgnore.class)) {
+          return method;
+        }
+      } catch (NoSuchMethodException e) {
+        // try the next prefix
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Tells if the mapper would write the method as a property of its own, beyond those of the property order.
+   */
+  private static boolean isDetectedGetter(Method method) {
+    if (method.getDeclaringClass() == Object.class || method.getParameterCount() > 0
+      || Modifier.isStatic(method.getModifiers()) || method.isAnnotationPresent(JsonIgnore.class)) {
+      return false;
+    }
+    String name = method.getName();
+    return (name.startsWith("get") && name.length() > 3 && method.getReturnType() != void.class)
+      || (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class);
+  }
+
+  /**
+   * Binds a public getter to a {@link Function}, which the JIT can inline unlike a reflective call.
+   */
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> accessor(Method getter) throws Throwable {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle handle = lookup.unreflect(getter);
+    CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+      MethodType.methodType(Object.class, Object.class), handle, handle.type().wrap());
+    return (Function<Object, Object>) site.getTarget().invokeExact();
+  }
+
+  @FunctionalInterface
+  private interface ValueWriter {
+    void write(JsonGenerator generator, Object value) throws IOException;
+  }
+
+  private static final class Property {
+    private final SerializedString name;
+    private final Function<Object, Object> getter;
+    private final ValueWriter writer;
+
+    private Property(SerializedString name, Function<Object, Object> getter, ValueWriter writer) {
+      this.name = name;
+      this.getter = getter;
+      this.writer = writer;
+    }
+  }
+
+  private static final class BeanWriter {
+    private final Property[] properties;
+    private final boolean skipNulls;
+    private final Function<Object, Object> anyGetter;
+
+    private BeanWriter(Property[] properties, boolean skipNulls, Function<Object, Object> anyGetter) {
+      this.properties = properties;
+      this.skipNulls = skipNulls;
+      this.anyGetter = anyGetter;
+    }
+
+    private boolean hasAdditionalProperties(Object bean) {
+      if (anyGetter == null) {
+        return false;
+      }
+      Map<?, ?> additional = (Map<?, ?>) anyGetter.apply(bean);
+      return additional != null && !additional.isEmpty();
+    }
+
+    private void write(JsonGenerator generator, Object bean) throws IOException {
+      generator.writeStartObject();
+      for (Property property : properties) {
+        Object value = property.getter.apply(bean);
+        if (value == null) {
+          if (!skipNulls) {
+            generator.writeFieldName(property.name);
+            generator.writeNull();
+          }
+        } else {
+          generator.writeFieldName(property.name);
+          property.writer.write(generator, value);
+        }
+      }
+      generator.writeEndObject();
+    }
+  }
+}
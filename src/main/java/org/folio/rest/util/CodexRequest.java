@@ -0,0 +1,80 @@
+package org.folio.rest.util;
+
+import org.folio.codex.QueryStrategy;
+
+/**
+ * Request data the response factory needs beyond the response body.
+ */
+public class CodexRequest {
+
+  private final String tenant;
+  private final boolean collection;
+  private String accept;
+  private String acceptEncoding;
+  private volatile boolean stale;
+  private volatile QueryStrategy strategy = QueryStrategy.CACHE;
+
+  public CodexRequest(String tenant, boolean collection) {
+    this.tenant = tenant;
+    this.collection = collection;
+  }
+
+  public String getTenant() {
+    return tenant;
+  }
+
+  public boolean isCollection() {
+    return collection;
+  }
+
+  /**
+   * Sets the {@code Accept} header of the request. RMB passes it to the handlers of endpoints that declare it in
+   * their RAML only, it is never part of the Okapi headers.
+   */
+  public CodexRequest withAccept(String accept) {
+    this.accept = accept;
+    return this;
+  }
+
+  /**
+   * Sets the {@code Accept-Encoding} header of the request, which like {@code Accept} is only passed by RMB where
+   * the RAML declares it.
+   */
+  public CodexRequest withAcceptEncoding(String acceptEncoding) {
+    this.acceptEncoding = acceptEncoding;
+    return this;
+  }
+
+  public String getAcceptEncoding() {
+    return acceptEncoding;
+  }
+
+  /**
+   * Returns the encoding negotiated from the {@code Accept} header, JSON if the header was not set.
+   */
+  public CodexEncoding getEncoding() {
+    return CodexEncoding.fromAccept(accept);
+  }
+
+  /**
+   * Marks the response as answered from cached data past its expiration.
+   */
+  public void markStale() {
+    stale = true;
+  }
+
+  public boolean isStale() {
+    return stale;
+  }
+
+  public void setStrategy(QueryStrategy strategy) {
+    this.strategy = strategy;
+  }
+
+  /**
+   * Returns the strategy the body was loaded with, {@link QueryStrategy#CACHE} if it was not loaded.
+   */
+  public QueryStrategy getStrategy() {
+    return strategy;
+  }
+}
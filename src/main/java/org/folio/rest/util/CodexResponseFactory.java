@@ -0,0 +1,153 @@
+package org.folio.rest.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.folio.cache.CachedResponse;
+import org.folio.cache.ResponseCache;
+import org.folio.rest.tools.utils.BinaryOutStream;
+import org.springframework.core.env.Environment;
+
+/**
+ * Builds the 200 responses of the codex endpoints.
+ *
+ * When the response cache or entity tags are enabled the body is serialized once, taken from or stored in the
+ * {@link ResponseCache}, and written as-is with a strong {@code ETag}. Collections additionally carry a
+ * {@code Cache-Control} header which can be overridden per tenant with the {@code response.cache.control.<tenant>}
+ * property. Requests are never answered with 304: the shared codex RAML does not declare {@code If-None-Match}, and
+ * RMB passes no other request headers than declared and Okapi ones to the handlers.
+ *
+ * The body is written in the {@link CodexEncoding} negotiated from the {@code Accept} header, see
+ * {@link CodexRequest#withAccept(String)}, JSON by default. Every encoding is cached under its own key. Bodies large enough are gzip compressed by the {@link ResponseCompressor} for
+ * clients accepting it, see {@link CodexRequest#withAcceptEncoding(String)}, and cached compressed. Responses carry {@code Vary: Accept, Accept-Encoding}.
+ *
+ * A response answered from cached data past its expiration, see {@link CodexRequest#markStale()}, carries a
+ * {@code Warning: 110} header.
+ *
+ * With the {@code query.plan.header.enabled} property collections carry the strategy they were answered with, see
+ * {@link CodexRequest#getStrategy()}, in an {@code X-Codex-Query-Plan} header for debugging.
+ */
+public class CodexResponseFactory {
+  private static final String CACHE_CONTROL_PROPERTY = "response.cache.control.";
+  private static final String PLAN_HEADER_PROPERTY = "query.plan.header.enabled";
+  private static final String QUERY_PLAN = "X-Codex-Query-Plan";
+  private static final String WARNING = "Warning";
+  private static final String VARY = "Vary";
+  private static final String VARY_VALUE = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+  private static final String COMPRESSED_KEY = "gzip";
+  private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+  private final ResponseCache responseCache;
+  private final boolean etagEnabled;
+  private final String defaultCacheControl;
+  private final Environment environment;
+  private final ResponseCompressor compressor;
+  private final boolean planHeaderEnabled;
+
+  public CodexResponseFactory(ResponseCache responseCache, boolean etagEnabled, String defaultCacheControl,
+                              Environment environment) {
+    this(responseCache, etagEnabled, defaultCacheControl, environment, ResponseCompressor.disabled());
+  }
+
+  public CodexResponseFactory(ResponseCache responseCache, boolean etagEnabled, String defaultCacheControl,
+                              Environment environment, ResponseCompressor compressor) {
+    this.responseCache = responseCache;
+    this.compressor = compressor;
+    this.etagEnabled = etagEnabled;
+    this.defaultCacheControl = defaultCacheControl;
+    this.environment = environment;
+    this.planHeaderEnabled = environment.getProperty(PLAN_HEADER_PROPERTY, Boolean.class, false);
+  }
+
+  public <T> CompletableFuture<Response> respond(CodexRequest request, String cacheKey,
+                                                 Supplier<? extends CompletionStage<T>> loader,
+                                                 Function<T, ? extends Response> responder) {
+    return respond(request, cacheKey, responseCache.isEnabled(), loader, responder);
+  }
+
+  /**
+   * Like {@link #respond(CodexRequest, String, Supplier, Function)}, for bodies that are never taken from or stored in
+   * the response cache, such as those of the batch endpoints.
+   */
+  public <T> CompletableFuture<Response> respondUncached(CodexRequest request,
+                                                         Supplier<? extends CompletionStage<T>> loader,
+                                                         Function<T, ? extends Response> responder) {
+    return respond(request, null, false, loader, responder);
+  }
+
+  private <T> CompletableFuture<Response> respond(CodexRequest request, String cacheKey, boolean cached,
+                                                  Supplier<? extends CompletionStage<T>> loader,
+                                                  Function<T, ? extends Response> responder) {
+    CodexEncoding encoding = request.getEncoding();
+    boolean compress = compressor.accepts(request.getAcceptEncoding());
+    if (!cached && !etagEnabled && encoding == CodexEncoding.JSON && !compress) {
+      return loader.get().toCompletableFuture().thenApply(value -> {
+        Response response = responder.apply(value);
+        Response.ResponseBuilder builder = withCacheControl(request, Response.fromResponse(response));
+        return withQueryPlan(request, withStaleWarning(request, builder))
+          .header(VARY, VARY_VALUE)
+          .build();
+      });
+    }
+
+    Function<T, CachedResponse> serializer = value -> serialize(value, encoding, compress);
+    CompletableFuture<CachedResponse> serialized = cached
+      ? responseCache.getOrLoad(variantKey(cacheKey, encoding, compress), serializer, loader, request::markStale)
+      : loader.get().toCompletableFuture().thenApply(serializer);
+    return serialized.thenApply(cached -> toResponse(request, encoding, cached));
+  }
+
+  private CachedResponse serialize(Object value, CodexEncoding encoding, boolean compress) {
+    byte[] body = encoding.encode(value);
+    byte[] compressed = compress ? compressor.compress(body) : null;
+    return compressed == null ? CachedResponse.of(body) : CachedResponse.of(compressed, ResponseCompressor.GZIP);
+  }
+
+  private static String variantKey(String cacheKey, CodexEncoding encoding, boolean compress) {
+    String key = encoding.cacheKey(cacheKey);
+    return compress ? ResponseCache.key(key, COMPRESSED_KEY) : key;
+  }
+
+  private Response toResponse(CodexRequest request, CodexEncoding encoding, CachedResponse cached) {
+    BinaryOutStream stream = new BinaryOutStream();
+    stream.setData(cached.getBody());
+    Response.ResponseBuilder builder = Response.ok(stream).header(HttpHeaders.CONTENT_TYPE, encoding.getMediaType());
+    if (cached.getContentEncoding() != null) {
+      builder.header(HttpHeaders.CONTENT_ENCODING, cached.getContentEncoding());
+    }
+    builder.header(VARY, VARY_VALUE);
+    if (etagEnabled) {
+      builder.header(HttpHeaders.ETAG, cached.getEtag());
+    }
+    return withQueryPlan(request, withStaleWarning(request, withCacheControl(request, builder))).build();
+  }
+
+  private Response.ResponseBuilder withQueryPlan(CodexRequest request, Response.ResponseBuilder builder) {
+    if (planHeaderEnabled && request.isCollection()) {
+      builder.header(QUERY_PLAN, request.getStrategy().getName());
+    }
+    return builder;
+  }
+
+  private Response.ResponseBuilder withStaleWarning(CodexRequest request, Response.ResponseBuilder builder) {
+    if (request.isStale()) {
+      builder.header(WARNING, STALE_WARNING);
+    }
+    return builder;
+  }
+
+  private Response.ResponseBuilder withCacheControl(CodexRequest request, Response.ResponseBuilder builder) {
+    if (request.isCollection()) {
+      String cacheControl = environment.getProperty(CACHE_CONTROL_PROPERTY + request.getTenant(), defaultCacheControl);
+      if (!cacheControl.isEmpty()) {
+        builder.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+      }
+    }
+    return builder;
+  }
+}
@@ -0,0 +1,144 @@
+package org.folio.rest.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Gzip compression of serialized response bodies, for clients that list gzip in {@code Accept-Encoding}. Only the
+ * batch endpoints declare that header in their RAML, RMB does not pass it to the handlers of the others.
+ *
+ * Bodies smaller than the minimum size are left as they are, as compressing them costs more than sending the few
+ * bytes saved. The number of compressed bodies, their sizes before and after and the time spent compressing are
+ * recorded, so the threshold and level can be tuned.
+ */
+public class ResponseCompressor {
+  private static final Logger log = LoggerFactory.getLogger(ResponseCompressor.class);
+
+  public static final String GZIP = "gzip";
+
+  private static final String QUALITY = "q=";
+  private static final String ANY = "*";
+
+  private final boolean enabled;
+  private final int minSize;
+  private final int level;
+
+  private final LongAdder compressedResponses = new LongAdder();
+  private final LongAdder uncompressedBytes = new LongAdder();
+  private final LongAdder compressedBytes = new LongAdder();
+  private final LongAdder compressionNanos = new LongAdder();
+
+  /**
+   * @param minSize smallest body in bytes that is compressed
+   * @param level   deflate level from 1, fastest, to 9, smallest
+   */
+  public ResponseCompressor(boolean enabled, int minSize, int level) {
+    if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("Compression level must be between 1 and 9: " + level);
+    }
+    this.enabled = enabled;
+    this.minSize = minSize;
+    this.level = level;
+  }
+
+  public static ResponseCompressor disabled() {
+    return new ResponseCompressor(false, 0, Deflater.BEST_SPEED);
+  }
+
+  /**
+   * Returns whether responses to a request with the given {@code Accept-Encoding} header are compressed.
+   */
+  public boolean accepts(String acceptEncoding) {
+    if (!enabled || acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] params = coding.split(";");
+      String name = params[0].trim();
+      if ((GZIP.equalsIgnoreCase(name) || ANY.equals(name)) && quality(params) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the gzip compressed body, or {@code null} if the body is smaller than the minimum size.
+   */
+  public byte[] compress(byte[] body) {
+    if (body.length < minSize) {
+      return null;
+    }
+    long start = System.nanoTime();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+    try (GZIPOutputStream out = new LeveledGZIPOutputStream(compressed, level)) {
+      out.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    long elapsed = System.nanoTime() - start;
+
+    compressedResponses.increment();
+    uncompressedBytes.add(body.length);
+    compressedBytes.add(compressed.size());
+    compressionNanos.add(elapsed);
+    if (log.isDebugEnabled()) {
+      log.debug("Compressed " + body.length + " bytes to " + compressed.size() + " in "
+        + TimeUnit.NANOSECONDS.toMicros(elapsed) + " microseconds");
+    }
+    return compressed.toByteArray();
+  }
+
+  public long getCompressedResponses() {
+    return compressedResponses.sum();
+  }
+
+  public long getUncompressedBytes() {
+    return uncompressedBytes.sum();
+  }
+
+  public long getCompressedBytes() {
+    return compressedBytes.sum();
+  }
+
+  /**
+   * Returns the compressed size as a fraction of the uncompressed size over all compressed bodies.
+   */
+  public double getCompressionRatio() {
+    long uncompressed = uncompressedBytes.sum();
+    return uncompressed == 0 ? 1 : (double) compressedBytes.sum() / uncompressed;
+  }
+
+  public long getCompressionMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(compressionNanos.sum());
+  }
+
+  private static double quality(String[] params) {
+    for (int i = 1; i < params.length; i++) {
+      String param = params[i].trim();
+      if (param.startsWith(QUALITY)) {
+        try {
+          return Double.parseDouble(param.substring(QUALITY.length()));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  private static final class LeveledGZIPOutputStream extends GZIPOutputStream {
+    private LeveledGZIPOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+      super(out);
+      def.setLevel(level);
+    }
+  }
+}
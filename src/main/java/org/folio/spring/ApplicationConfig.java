@@ -1,16 +1,42 @@
 package org.folio.spring;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import io.vertx.core.Vertx;
+import org.folio.cache.CacheBudget;
+import org.folio.cache.CachedResponseCodec;
+import org.folio.cache.ClusterCacheTier;
+import org.folio.cache.ConfigurationRecordCodec;
+import org.folio.cache.DiskCacheManager;
+import org.folio.cache.IdentifierIndex;
+import org.folio.cache.InstanceRecordCodec;
+import org.folio.cache.OffHeapRecordStore;
+import org.folio.cache.PackageRecordCodec;
+import org.folio.cache.QueryTotals;
+import org.folio.cache.RecordCache;
+import org.folio.cache.RecordStore;
+import org.folio.cache.RefreshAhead;
+import org.folio.cache.ResponseCache;
+import org.folio.cache.StaleFallback;
+import org.folio.cache.StaleWhileRevalidateConfigurationCache;
 import org.folio.cache.VertxCache;
-import org.folio.holdingsiq.service.ConfigurationService;
+import org.folio.codex.BatchFetcher;
+import org.folio.codex.ConversionExecutor;
+import org.folio.codex.QueryPlanner;
 import org.folio.holdingsiq.service.impl.ConfigurationClientProvider;
-import org.folio.holdingsiq.service.impl.ConfigurationServiceCache;
 import org.folio.holdingsiq.service.impl.ConfigurationServiceImpl;
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.Package;
+import org.folio.rest.util.CodexResponseFactory;
+import org.folio.rest.util.ResponseCompressor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.Environment;
 import org.springframework.core.io.ClassPathResource;
 
 @Configuration
@@ -21,6 +47,24 @@ import org.springframework.core.io.ClassPathResource;
   "org.folio.parser"})
 public class ApplicationConfig {
 
+  // shares of the heap cache budget, the record caches are off-heap and sized by their slabs
+  private static final double RESPONSE_CACHE_SHARE = 0.8;
+  private static final double IDENTIFIER_INDEX_SHARE = 0.1;
+  private static final double QUERY_TOTALS_SHARE = 0.1;
+
+  @Value("${refresh.ahead.enabled}")
+  private boolean refreshAheadEnabled;
+  @Value("${refresh.ahead.window}")
+  private long refreshAheadWindow;
+  @Value("${refresh.ahead.min.hits}")
+  private int refreshAheadMinHits;
+  @Value("${refresh.ahead.max.per.tenant}")
+  private int refreshAheadMaxPerTenant;
+  @Value("${refresh.ahead.interval}")
+  private long refreshAheadInterval;
+  @Value("${refresh.ahead.max.tracked}")
+  private long refreshAheadMaxTracked;
+
   @Bean
   public static PropertySourcesPlaceholderConfigurer placeholderConfigurer() {
     PropertySourcesPlaceholderConfigurer configurer = new PropertySourcesPlaceholderConfigurer();
@@ -34,9 +78,141 @@ public class ApplicationConfig {
   }
 
   @Bean
-  public ConfigurationService configurationService(Vertx vertx, @Value("${configuration.cache.expire}") long expirationTime) {
-    return new ConfigurationServiceCache(
+  public DiskCacheManager diskCacheManager(Vertx vertx,
+                                           @Value("${disk.cache.enabled}") boolean enabled,
+                                           @Value("${disk.cache.directory}") String directory,
+                                           @Value("${disk.cache.max.bytes}") int maxBytes,
+                                           @Value("${disk.cache.expire}") long expirationTime,
+                                           @Value("${disk.cache.compaction.interval}") long compactionInterval) {
+    return new DiskCacheManager(vertx, enabled, directory, maxBytes, expirationTime, compactionInterval);
+  }
+
+  @Bean
+  public StaleWhileRevalidateConfigurationCache configurationService(DiskCacheManager diskCacheManager,
+                                                   @Value("${configuration.cache.refresh}") long refreshTime,
+                                                   @Value("${configuration.cache.expire}") long expirationTime) {
+    return new StaleWhileRevalidateConfigurationCache(
       new ConfigurationServiceImpl(
-        new ConfigurationClientProvider()), new VertxCache<>(vertx, expirationTime, "rmApiConfigurationCache"));
+        new ConfigurationClientProvider()), refreshTime, expirationTime,
+      diskCacheManager.isEnabled() ? diskCacheManager.createStore("configurations", new ConfigurationRecordCodec()) : null);
+  }
+
+  @Bean
+  public StaleFallback staleFallback(@Value("${stale.fallback.max.staleness}") long maxStaleness) {
+    return new StaleFallback(maxStaleness);
+  }
+
+  @Bean
+  public CacheBudget heapCacheBudget(@Value("${cache.heap.fraction}") double heapFraction) {
+    return CacheBudget.ofHeapFraction(heapFraction);
+  }
+
+  @Bean
+  public ResponseCache responseCache(Vertx vertx, StaleFallback staleFallback, CacheBudget heapCacheBudget,
+                                     @Value("${response.cache.enabled}") boolean enabled,
+                                     @Value("${response.cache.expire}") long expirationTime,
+                                     @Value("${cluster.cache.enabled}") boolean clusterEnabled) {
+    return new ResponseCache(enabled, heapCacheBudget.share(RESPONSE_CACHE_SHARE), expirationTime, enabled && clusterEnabled
+      ? new ClusterCacheTier<>(vertx, "responses", new CachedResponseCodec(), TimeUnit.SECONDS.toMillis(expirationTime))
+      : null, staleFallback);
+  }
+
+  @Bean
+  public ResponseCompressor responseCompressor(@Value("${response.compression.enabled}") boolean enabled,
+                                               @Value("${response.compression.min.size}") int minSize,
+                                               @Value("${response.compression.level}") int level) {
+    return new ResponseCompressor(enabled, minSize, level);
+  }
+
+  @Bean
+  public CodexResponseFactory codexResponseFactory(ResponseCache responseCache, ResponseCompressor responseCompressor,
+                                                   Environment environment,
+                                                   @Value("${response.etag.enabled}") boolean etagEnabled,
+                                                   @Value("${response.cache.control}") String cacheControl) {
+    return new CodexResponseFactory(responseCache, etagEnabled, cacheControl, environment, responseCompressor);
+  }
+
+  @Bean
+  public RecordCache<Instance> instanceRecordCache(Vertx vertx, DiskCacheManager diskCacheManager, StaleFallback staleFallback,
+                                                   @Value("${record.cache.enabled}") boolean enabled,
+                                                   @Value("${record.cache.slab.bytes}") int slabSize,
+                                                   @Value("${record.cache.instance.slabs}") int slabCount,
+                                                   @Value("${record.cache.expire}") long expirationTime,
+                                                   @Value("${cluster.cache.enabled}") boolean clusterEnabled,
+                                                   @Value("${cluster.cache.expire}") long clusterExpirationTime) {
+    List<RecordStore<String, Instance>> tiers = new ArrayList<>();
+    if (enabled) {
+      tiers.add(new OffHeapRecordStore<>(new InstanceRecordCodec(), slabSize, slabCount, TimeUnit.SECONDS.toMillis(expirationTime)));
+    }
+    if (diskCacheManager.isEnabled()) {
+      tiers.add(diskCacheManager.createStore("instances", new InstanceRecordCodec()));
+    }
+    RecordCache<Instance> cache = new RecordCache<>("instances", tiers, enabled && clusterEnabled
+      ? new ClusterCacheTier<>(vertx, "instances", new InstanceRecordCodec(), TimeUnit.SECONDS.toMillis(clusterExpirationTime))
+      : null);
+    enableRefreshAhead(vertx, cache, expirationTime);
+    cache.enableStaleFallback(staleFallback);
+    return cache;
+  }
+
+  @Bean(destroyMethod = "shutdown")
+  public ConversionExecutor conversionExecutor(@Value("${conversion.offload.threshold}") int threshold,
+                                               @Value("${conversion.offload.parallelism}") int parallelism) {
+    return new ConversionExecutor(threshold, parallelism);
+  }
+
+  @Bean
+  public BatchFetcher batchFetcher(@Value("${batch.fetch.concurrency}") int concurrency,
+                                   @Value("${batch.max.ids}") int maxIds) {
+    return new BatchFetcher(concurrency, maxIds);
+  }
+
+  @Bean
+  public IdentifierIndex identifierIndex(CacheBudget heapCacheBudget,
+                                         @Value("${identifier.index.enabled}") boolean enabled,
+                                         @Value("${record.cache.expire}") long expirationTime) {
+    return new IdentifierIndex(enabled, heapCacheBudget.share(IDENTIFIER_INDEX_SHARE).getTotalBytes(), expirationTime);
+  }
+
+  @Bean
+  public QueryTotals queryTotals(CacheBudget heapCacheBudget,
+                                 @Value("${query.totals.enabled}") boolean enabled,
+                                 @Value("${query.totals.expire}") long expirationTime) {
+    return new QueryTotals(enabled, heapCacheBudget.share(QUERY_TOTALS_SHARE).getTotalBytes(), expirationTime);
+  }
+
+  @Bean
+  public QueryPlanner queryPlanner(IdentifierIndex identifierIndex, QueryTotals queryTotals) {
+    return new QueryPlanner(identifierIndex, queryTotals);
+  }
+
+  @Bean
+  public RecordCache<Package> packageRecordCache(Vertx vertx, DiskCacheManager diskCacheManager, StaleFallback staleFallback,
+                                                 @Value("${record.cache.enabled}") boolean enabled,
+                                                 @Value("${record.cache.slab.bytes}") int slabSize,
+                                                 @Value("${record.cache.package.slabs}") int slabCount,
+                                                 @Value("${record.cache.expire}") long expirationTime,
+                                                 @Value("${cluster.cache.enabled}") boolean clusterEnabled,
+                                                 @Value("${cluster.cache.expire}") long clusterExpirationTime) {
+    List<RecordStore<String, Package>> tiers = new ArrayList<>();
+    if (enabled) {
+      tiers.add(new OffHeapRecordStore<>(new PackageRecordCodec(), slabSize, slabCount, TimeUnit.SECONDS.toMillis(expirationTime)));
+    }
+    if (diskCacheManager.isEnabled()) {
+      tiers.add(diskCacheManager.createStore("packages", new PackageRecordCodec()));
+    }
+    RecordCache<Package> cache = new RecordCache<>("packages", tiers, enabled && clusterEnabled
+      ? new ClusterCacheTier<>(vertx, "packages", new PackageRecordCodec(), TimeUnit.SECONDS.toMillis(clusterExpirationTime))
+      : null);
+    enableRefreshAhead(vertx, cache, expirationTime);
+    cache.enableStaleFallback(staleFallback);
+    return cache;
+  }
+
+  private <V> void enableRefreshAhead(Vertx vertx, RecordCache<V> cache, long expirationTime) {
+    if (refreshAheadEnabled && cache.isEnabled()) {
+      cache.enableRefreshAhead(vertx, new RefreshAhead<>(expirationTime, refreshAheadWindow, refreshAheadMinHits,
+        refreshAheadMaxPerTenant, refreshAheadInterval, refreshAheadMaxTracked));
+    }
   }
 }
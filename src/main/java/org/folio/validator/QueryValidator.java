@@ -1,16 +1,18 @@
 package org.folio.validator;
 
 import java.util.Objects;
-import javax.validation.ValidationException;
+
 import org.springframework.stereotype.Component;
 
+import org.folio.cql2rmapi.UnsupportedQueryException;
+
 @Component
 public class QueryValidator {
 
   public void validate(String query, int limit) {
 
     if (limit == 0 || Objects.isNull(query)) {
-      throw new ValidationException("Unsupported Query Format : Limit/Query suggests that no results need to be returned.");
+      throw new UnsupportedQueryException("Unsupported Query Format : Limit/Query suggests that no results need to be returned.");
     }
 
   }
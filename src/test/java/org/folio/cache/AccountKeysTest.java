@@ -0,0 +1,44 @@
+package org.folio.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import org.folio.holdingsiq.model.Configuration;
+
+public class AccountKeysTest {
+
+  private static final String API_KEY = "8675309";
+
+  @Test
+  public void shouldBeEqualForSameAccount() {
+    assertEquals(AccountKeys.of(configuration("test", API_KEY)), AccountKeys.of(configuration("test", API_KEY)));
+  }
+
+  @Test
+  public void shouldDifferForDifferentApiKey() {
+    assertNotEquals(AccountKeys.of(configuration("test", API_KEY)), AccountKeys.of(configuration("test", "other")));
+  }
+
+  @Test
+  public void shouldNotContainApiKey() {
+    assertFalse(AccountKeys.of(configuration("test", API_KEY)).contains(API_KEY));
+  }
+
+  @Test
+  public void shouldBeSingleKeyPart() {
+    String account = AccountKeys.of(configuration("a|b", API_KEY));
+
+    assertEquals(account, ResponseCache.partition(ResponseCache.key(account, "instance", "1")));
+  }
+
+  private Configuration configuration(String customerId, String apiKey) {
+    return Configuration.builder()
+      .customerId(customerId)
+      .apiKey(apiKey)
+      .url("https://sandbox.ebsco.io")
+      .build();
+  }
+}
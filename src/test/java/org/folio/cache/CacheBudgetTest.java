@@ -0,0 +1,52 @@
+package org.folio.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CacheBudgetTest {
+
+  @Test
+  public void shouldLetSinglePartitionUseWholeBudget() {
+    CacheBudget budget = new CacheBudget(1000);
+
+    budget.add("busy", 950);
+
+    assertTrue(budget.isFull());
+    assertFalse(budget.isOverShare("busy"));
+  }
+
+  @Test
+  public void shouldSplitBudgetBetweenPartitions() {
+    CacheBudget budget = new CacheBudget(1000);
+
+    budget.add("busy", 900);
+    budget.add("quiet", 50);
+
+    assertTrue(budget.isFull());
+    assertTrue(budget.isOverShare("busy"));
+    assertFalse(budget.isOverShare("quiet"));
+  }
+
+  @Test
+  public void shouldForgetPartitionOnceReleased() {
+    CacheBudget budget = new CacheBudget(1000);
+    budget.add("busy", 900);
+    budget.add("quiet", 50);
+
+    budget.release("quiet", 50);
+
+    assertEquals(0, budget.getUsedBytes("quiet"));
+    assertEquals(900, budget.getUsedBytes());
+    assertFalse(budget.isOverShare("busy"));
+  }
+
+  @Test
+  public void shouldTakeFractionOfMaxHeap() {
+    CacheBudget budget = CacheBudget.ofHeapFraction(0.5);
+
+    assertEquals(Runtime.getRuntime().maxMemory() / 2, budget.getTotalBytes(), 1);
+  }
+}
@@ -0,0 +1,139 @@
+package org.folio.cache;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import org.folio.rest.jaxrs.model.Instance;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ * Runs against a non clustered Vert.x, whose shared data and event bus behave like a single node cluster.
+ */
+@RunWith(VertxUnitRunner.class)
+public class ClusterCacheTierTest {
+
+  private static final String KEY = ResponseCache.key("account", "instance", "1");
+  private static final long EXPIRATION = TimeUnit.MINUTES.toMillis(1);
+
+  private Vertx vertx;
+  private ClusterCacheTier<Instance> tier;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    tier = new ClusterCacheTier<>(vertx, "instances", new InstanceRecordCodec(), EXPIRATION);
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void shouldReturnStoredRecord(TestContext context) {
+    Async async = context.async();
+    tier.put(KEY, new Instance().withId("1").withTitle("Title"));
+
+    vertx.setTimer(100, timerId -> tier.get(KEY).thenAccept(instance -> {
+      context.assertEquals("Title", instance.getTitle());
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void shouldReturnNullOnMiss(TestContext context) {
+    Async async = context.async();
+
+    tier.get(KEY).thenAccept(instance -> {
+      context.assertNull(instance);
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldLoadIntoLocalCacheFromClusterTier(TestContext context) {
+    Async async = context.async();
+    RecordCache<Instance> other = new RecordCache<>("instances", Collections.singletonList(
+      new OffHeapRecordStore<>(new InstanceRecordCodec(), 1024, 1, EXPIRATION)), tier);
+    tier.put(KEY, new Instance().withId("1").withTitle("Title"));
+
+    vertx.setTimer(100, timerId -> other.getOrLoad(KEY, () -> {
+      throw new AssertionError("Record should come from the cluster tier");
+    }).thenAccept(instance -> {
+      context.assertEquals("Title", instance.getTitle());
+      context.assertNotNull(other.get(KEY));
+      async.complete();
+    }));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldBroadcastInvalidation() {
+    Consumer<String> keyListener = Mockito.mock(Consumer.class);
+    tier.setInvalidationListeners(keyListener, prefix -> { });
+
+    tier.invalidate(KEY);
+
+    verify(keyListener, timeout(1000)).accept(anyString());
+  }
+
+  @Test
+  public void shouldRemoveAndBroadcastPrefix(TestContext context) {
+    Async async = context.async();
+    String other = ResponseCache.key("account", "package", "1");
+    tier.setInvalidationListeners(key -> { }, prefix -> {
+      context.assertEquals(ResponseCache.key("account", "instance", ""), prefix);
+      tier.get(KEY).thenCombine(tier.get(other), (instance, pkg) -> {
+        context.assertNull(instance);
+        context.assertNotNull(pkg);
+        async.complete();
+        return null;
+      });
+    });
+    tier.put(KEY, new Instance().withId("1"));
+    tier.put(other, new Instance().withId("2"));
+
+    vertx.setTimer(100, timerId -> tier.invalidatePrefix(ResponseCache.key("account", "instance", "")));
+  }
+
+  @Test
+  public void shouldInvalidateResponseVariantsOnAllInstances(TestContext context) {
+    Async async = context.async();
+    ClusterCacheTier<CachedResponse> firstTier = new ClusterCacheTier<>(vertx, "responses", new CachedResponseCodec(),
+      EXPIRATION);
+    ResponseCache first = new ResponseCache(true, 1024 * 1024, 60, firstTier);
+    ResponseCache second = new ResponseCache(true, 1024 * 1024, 60,
+      new ClusterCacheTier<>(vertx, "responses", new CachedResponseCodec(), EXPIRATION));
+    String variant = ResponseCache.key(KEY, "gzip");
+
+    first.getOrLoad(variant, () -> CompletableFuture.completedFuture(new Instance().withId("1"))).join();
+    vertx.setTimer(100, loaded -> second.getOrLoad(variant, () -> {
+      throw new AssertionError("Response should come from the cluster tier");
+    }).thenAccept(response -> {
+      context.assertEquals(1L, second.size());
+      first.invalidate(KEY);
+      vertx.setTimer(100, invalidated -> firstTier.get(variant).thenAccept(clustered -> {
+        context.assertNull(clustered);
+        context.assertEquals(0L, first.size());
+        context.assertEquals(0L, second.size());
+        async.complete();
+      }));
+    }));
+  }
+}
@@ -0,0 +1,81 @@
+package org.folio.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.folio.rest.jaxrs.model.Instance;
+
+public class DiskRecordStoreTest {
+
+  private static final int MAX_BYTES = 4096;
+  private static final long EXPIRATION = TimeUnit.MINUTES.toMillis(1);
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path file;
+
+  @Before
+  public void setUp() {
+    file = folder.getRoot().toPath().resolve("instances.log");
+  }
+
+  @Test
+  public void shouldBeEmptyUntilOpened() {
+    DiskRecordStore<Instance> store = createStore();
+
+    store.put("1", new Instance().withId("1"));
+
+    assertNull(store.get("1"));
+  }
+
+  @Test
+  public void shouldReadRecordsAfterReopening() {
+    DiskRecordStore<Instance> store = openStore();
+    store.put("1", new Instance().withId("1").withTitle("First"));
+    store.put("2", new Instance().withId("2").withTitle("Second"));
+    store.put("1", new Instance().withId("1").withTitle("First updated"));
+    store.invalidate("2");
+
+    DiskRecordStore<Instance> reopened = openStore();
+
+    assertEquals(1, reopened.size());
+    assertEquals("First updated", reopened.get("1").getTitle());
+    assertNull(reopened.get("2"));
+  }
+
+  @Test
+  public void shouldKeepLiveRecordsOnCompaction() {
+    DiskRecordStore<Instance> store = openStore();
+    for (int i = 0; i < 10; i++) {
+      store.put("1", new Instance().withId("1").withTitle("Title " + i));
+    }
+    assertTrue(store.needsCompaction());
+
+    store.compact();
+
+    assertFalse(store.needsCompaction());
+    assertEquals("Title 9", store.get("1").getTitle());
+    assertEquals("Title 9", openStore().get("1").getTitle());
+  }
+
+  private DiskRecordStore<Instance> createStore() {
+    return new DiskRecordStore<>(file, new InstanceRecordCodec(), MAX_BYTES, EXPIRATION);
+  }
+
+  private DiskRecordStore<Instance> openStore() {
+    DiskRecordStore<Instance> store = createStore();
+    store.open();
+    return store;
+  }
+}
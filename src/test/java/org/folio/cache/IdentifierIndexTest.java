@@ -0,0 +1,86 @@
+package org.folio.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class IdentifierIndexTest {
+
+  private static final String ACCOUNT = "account";
+  private static final String SORT = "titlename";
+
+  private final IdentifierIndex index = new IdentifierIndex(true, 1024 * 1024, 60);
+
+  @Test
+  public void shouldFindTitlesByNormalisedIdentifier() {
+    index.putComplete(ACCOUNT, "978-0-12-345678-9", SORT, Arrays.asList("2", "1"));
+
+    assertEquals(Arrays.asList("2", "1"), index.lookup(ACCOUNT, "9780123456789", SORT));
+    assertEquals(Arrays.asList("2", "1"), index.lookup(ACCOUNT, "978 0 12 345678 9", SORT));
+  }
+
+  @Test
+  public void shouldUpperCaseCheckCharacter() {
+    index.putComplete(ACCOUNT, "1234-567x", SORT, Collections.singletonList("1"));
+
+    assertEquals(Collections.singletonList("1"), index.lookup(ACCOUNT, "1234-567X", SORT));
+  }
+
+  @Test
+  public void shouldKnowNothingBeforeACompleteSearch() {
+    assertNull(index.lookup(ACCOUNT, "1234", SORT));
+  }
+
+  @Test
+  public void shouldRememberEmptyResult() {
+    index.putComplete(ACCOUNT, "1234", SORT, Collections.emptyList());
+
+    assertEquals(Collections.emptyList(), index.lookup(ACCOUNT, "1234", SORT));
+  }
+
+  @Test
+  public void shouldReplaceTitlesOnRefresh() {
+    index.putComplete(ACCOUNT, "1234", SORT, Arrays.asList("1", "2"));
+    index.putComplete(ACCOUNT, "1234", SORT, Collections.singletonList("2"));
+
+    assertEquals(Collections.singletonList("2"), index.lookup(ACCOUNT, "1234", SORT));
+  }
+
+  @Test
+  public void shouldKeepSortsApart() {
+    index.putComplete(ACCOUNT, "1234", SORT, Arrays.asList("1", "2"));
+
+    assertNull(index.lookup(ACCOUNT, "1234", "relevance"));
+  }
+
+  @Test
+  public void shouldDropEntriesOfInvalidatedTitle() {
+    index.putComplete(ACCOUNT, "1234", SORT, Arrays.asList("1", "2"));
+    index.putComplete(ACCOUNT, "5678", SORT, Collections.singletonList("3"));
+
+    index.invalidateTitle(ACCOUNT, "2");
+
+    assertNull(index.lookup(ACCOUNT, "1234", SORT));
+    assertEquals(Collections.singletonList("3"), index.lookup(ACCOUNT, "5678", SORT));
+  }
+
+  @Test
+  public void shouldKeepAccountsApart() {
+    index.putComplete(ACCOUNT, "1234", SORT, Collections.singletonList("1"));
+
+    assertNull(index.lookup("other", "1234", SORT));
+  }
+
+  @Test
+  public void shouldIgnoreDisabledIndex() {
+    IdentifierIndex disabled = new IdentifierIndex(false, 1024 * 1024, 60);
+
+    disabled.putComplete(ACCOUNT, "1234", SORT, Collections.singletonList("1"));
+
+    assertNull(disabled.lookup(ACCOUNT, "1234", SORT));
+  }
+}
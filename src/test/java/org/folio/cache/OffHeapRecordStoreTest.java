@@ -0,0 +1,84 @@
+package org.folio.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.folio.rest.jaxrs.model.Contributor;
+import org.folio.rest.jaxrs.model.Coverage;
+import org.folio.rest.jaxrs.model.Identifier;
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.Package;
+import org.folio.rest.jaxrs.model.Subject;
+
+import io.vertx.core.json.Json;
+
+public class OffHeapRecordStoreTest {
+
+  private static final long EXPIRATION = TimeUnit.MINUTES.toMillis(1);
+
+  @Test
+  public void shouldRestoreInstance() {
+    OffHeapRecordStore<String, Instance> store = new OffHeapRecordStore<>(new InstanceRecordCodec(), 1024, 2, EXPIRATION);
+    Instance instance = new Instance()
+      .withId("99999")
+      .withTitle("Test Title")
+      .withPublisher("Test Publisher")
+      .withType(Instance.Type.EBOOKS)
+      .withFormat("Electronic Resource")
+      .withSource("kb");
+    instance.getIdentifier().add(new Identifier().withType("ISBN(Online)").withValue("999-9-9999-9999-9"));
+    instance.getContributor().add(new Contributor().withName("Reed, Talbot Baines").withType("author"));
+    instance.getSubject().add(new Subject().withName("MEDICAL / Physician & Patient").withType("BISAC"));
+
+    store.put("99999", instance);
+
+    assertEquals(Json.encode(instance), Json.encode(store.get("99999")));
+  }
+
+  @Test
+  public void shouldRestorePackage() {
+    OffHeapRecordStore<String, Package> store = new OffHeapRecordStore<>(new PackageRecordCodec(), 1024, 2, EXPIRATION);
+    Package pkg = new Package()
+      .withId("111-222222")
+      .withName("Health & Wellness")
+      .withProvider("EBSCO")
+      .withProviderId("111")
+      .withType(Package.Type.ONLINEREFERENCE)
+      .withItemCount(1)
+      .withIsSelected(Package.IsSelected.YES)
+      .withSource("kb")
+      .withCoverage(new Coverage().withBeginCoverage("2003-01-01").withEndCoverage("2003-12-12"));
+
+    store.put(pkg.getId(), pkg);
+
+    assertEquals(Json.encode(pkg), Json.encode(store.get(pkg.getId())));
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedSlab() {
+    OffHeapRecordStore<String, Instance> store = new OffHeapRecordStore<>(new InstanceRecordCodec(), 40, 2, EXPIRATION);
+
+    store.put("1", new Instance().withId("1"));
+    store.put("2", new Instance().withId("2"));
+    store.get("1");
+    store.put("3", new Instance().withId("3"));
+
+    assertNotNull(store.get("1"));
+    assertNull(store.get("2"));
+    assertEquals(1, store.evictionCount());
+  }
+
+  @Test
+  public void shouldNotReturnExpiredRecords() {
+    OffHeapRecordStore<String, Instance> store = new OffHeapRecordStore<>(new InstanceRecordCodec(), 1024, 1, -1);
+
+    store.put("1", new Instance().withId("1"));
+
+    assertNull(store.get("1"));
+  }
+}
@@ -0,0 +1,129 @@
+package org.folio.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.validation.ValidationException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.folio.rest.jaxrs.model.Instance;
+
+public class RecordCacheTest {
+
+  private static final String KEY = ResponseCache.key("account", "instance", "1");
+  private static final String OTHER_TENANT_KEY = ResponseCache.key("other", "instance", "1");
+
+  private RecordCache<Instance> cache;
+
+  @Before
+  public void setUp() {
+    cache = new RecordCache<>("instances", Collections.singletonList(
+      new OffHeapRecordStore<>(new InstanceRecordCodec(), 1024, 2, TimeUnit.MINUTES.toMillis(1))));
+  }
+
+  @Test
+  public void shouldReportUsagePerPartition() {
+    cache.put(KEY, new Instance().withId("1"));
+    cache.put(OTHER_TENANT_KEY, new Instance().withId("1"));
+
+    assertNotNull(cache.get(KEY));
+    assertNull(cache.get(ResponseCache.key("account", "instance", "2")));
+
+    CacheUsage usage = cache.getUsage("account");
+    assertEquals(1, usage.getEntries());
+    assertEquals(1, usage.getHits());
+    assertEquals(1, usage.getMisses());
+  }
+
+  @Test
+  public void shouldCoalesceConcurrentLoads() {
+    AtomicInteger loads = new AtomicInteger();
+    CompletableFuture<Instance> pending = new CompletableFuture<>();
+
+    CompletableFuture<Instance> first = cache.getOrLoad(KEY, () -> {
+      loads.incrementAndGet();
+      return pending;
+    });
+    CompletableFuture<Instance> second = cache.getOrLoad(KEY, () -> {
+      loads.incrementAndGet();
+      return CompletableFuture.completedFuture(new Instance().withId("2"));
+    });
+    pending.complete(new Instance().withId("1"));
+
+    assertEquals(1, loads.get());
+    assertEquals("1", first.join().getId());
+    assertEquals("1", second.join().getId());
+  }
+
+  @Test
+  public void shouldInvalidateOnlyEntriesOfPartition() {
+    cache.put(KEY, new Instance().withId("1"));
+    cache.put(OTHER_TENANT_KEY, new Instance().withId("1"));
+
+    cache.invalidatePartition("account");
+
+    assertNull(cache.get(KEY));
+    assertNotNull(cache.get(OTHER_TENANT_KEY));
+  }
+
+  @Test
+  public void shouldCountEvictionsOfPartition() {
+    for (int i = 0; i < 100; i++) {
+      cache.put(ResponseCache.key("account", "instance", Integer.toString(i)), new Instance().withId(Integer.toString(i)));
+    }
+
+    assertTrue(cache.getUsage("account").getEvictions() > 0);
+  }
+
+  @Test
+  public void shouldServeExpiredRecordWhenLoadFails() {
+    RecordCache<Instance> expiring = createExpiringCache();
+    expiring.put(KEY, new Instance().withId("1").withTitle("Stale"));
+    AtomicBoolean stale = new AtomicBoolean();
+
+    Instance instance = expiring.getOrLoad(KEY, () -> failed(new IllegalStateException("unavailable")),
+      () -> stale.set(true)).join();
+
+    assertEquals("Stale", instance.getTitle());
+    assertTrue(stale.get());
+  }
+
+  @Test(expected = CompletionException.class)
+  public void shouldNotServeExpiredRecordWhenRequestIsInvalid() {
+    RecordCache<Instance> expiring = createExpiringCache();
+    expiring.put(KEY, new Instance().withId("1"));
+    AtomicBoolean stale = new AtomicBoolean();
+
+    try {
+      expiring.getOrLoad(KEY, () -> failed(new ValidationException("invalid")), () -> stale.set(true)).join();
+    } finally {
+      assertFalse(stale.get());
+    }
+  }
+
+  private RecordCache<Instance> createExpiringCache() {
+    // records expire as soon as they are written
+    RecordCache<Instance> expiring = new RecordCache<>("instances", Collections.singletonList(
+      new OffHeapRecordStore<>(new InstanceRecordCodec(), 1024, 2, -1)));
+    expiring.enableStaleFallback(new StaleFallback(60));
+    return expiring;
+  }
+
+  private static CompletableFuture<Instance> failed(Throwable throwable) {
+    CompletableFuture<Instance> future = new CompletableFuture<>();
+    future.completeExceptionally(throwable);
+    return future;
+  }
+}
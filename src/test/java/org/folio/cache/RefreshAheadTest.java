@@ -0,0 +1,99 @@
+package org.folio.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class RefreshAheadTest {
+
+  private static final long EXPIRATION = 600;
+  private static final long WINDOW = 60;
+  private static final int MIN_HITS = 2;
+  private static final int MAX_PER_PARTITION = 1;
+
+  private final Map<String, String> refreshed = new HashMap<>();
+  private AtomicLong now;
+  private RefreshAhead<String> refreshAhead;
+
+  @Before
+  public void setUp() {
+    now = new AtomicLong();
+    refreshAhead = new RefreshAhead<>(EXPIRATION, WINDOW, MIN_HITS, MAX_PER_PARTITION, 10, 100, now::get);
+  }
+
+  @Test
+  public void shouldRefreshHotRecordBeforeExpiration() {
+    String key = ResponseCache.key("account", "instance", "1");
+    track(key, 2, () -> CompletableFuture.completedFuture("fresh"));
+
+    now.addAndGet(TimeUnit.SECONDS.toMillis(EXPIRATION - WINDOW));
+    refreshAhead.refresh(refreshed::put);
+
+    assertEquals("fresh", refreshed.get(key));
+  }
+
+  @Test
+  public void shouldRefreshWithLoaderOfLatestRead() {
+    String key = ResponseCache.key("account", "instance", "1");
+    track(key, 1, () -> CompletableFuture.completedFuture("first"));
+    refreshAhead.recordHit(key, () -> CompletableFuture.completedFuture("latest"));
+
+    now.addAndGet(TimeUnit.SECONDS.toMillis(EXPIRATION - WINDOW));
+    refreshAhead.refresh(refreshed::put);
+
+    assertEquals("latest", refreshed.get(key));
+  }
+
+  @Test
+  public void shouldNotRefreshColdOrYoungRecords() {
+    String cold = ResponseCache.key("account", "instance", "1");
+    track(cold, 1, () -> CompletableFuture.completedFuture("fresh"));
+    now.addAndGet(TimeUnit.SECONDS.toMillis(EXPIRATION - WINDOW));
+    String young = ResponseCache.key("account", "instance", "2");
+    track(young, 5, () -> CompletableFuture.completedFuture("fresh"));
+
+    refreshAhead.refresh(refreshed::put);
+
+    assertTrue(refreshed.isEmpty());
+  }
+
+  @Test
+  public void shouldBoundReloadsInFlightPerPartition() {
+    AtomicInteger loads = new AtomicInteger();
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    track(ResponseCache.key("account", "instance", "1"), 3, () -> {
+      loads.incrementAndGet();
+      return pending;
+    });
+    track(ResponseCache.key("account", "instance", "2"), 2, () -> {
+      loads.incrementAndGet();
+      return pending;
+    });
+    track(ResponseCache.key("other", "instance", "1"), 2, () -> {
+      loads.incrementAndGet();
+      return pending;
+    });
+
+    now.addAndGet(TimeUnit.SECONDS.toMillis(EXPIRATION - WINDOW));
+    refreshAhead.refresh(refreshed::put);
+
+    assertEquals(2, loads.get());
+  }
+
+  private void track(String key, int hits, Supplier<CompletableFuture<String>> loader) {
+    refreshAhead.recordLoad(key, loader);
+    for (int i = 0; i < hits; i++) {
+      refreshAhead.recordHit(key, loader);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package org.folio.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.folio.rest.jaxrs.model.Instance;
+
+import io.vertx.core.json.JsonObject;
+
+public class ResponseCacheTest {
+
+  private static final String KEY = ResponseCache.key("account", "instance", "1");
+
+  @Test
+  public void shouldLoadOnlyOnceForSameKey() {
+    ResponseCache cache = new ResponseCache(true, 1024 * 1024, 60);
+    AtomicInteger loads = new AtomicInteger();
+
+    CachedResponse first = cache.getOrLoad(KEY, () -> {
+      loads.incrementAndGet();
+      return CompletableFuture.completedFuture(new Instance().withId("1"));
+    }).join();
+    CachedResponse second = cache.getOrLoad(KEY, () -> {
+      loads.incrementAndGet();
+      return CompletableFuture.completedFuture(new Instance().withId("2"));
+    }).join();
+
+    assertEquals(1, loads.get());
+    assertArrayEquals(first.getBody(), second.getBody());
+    assertEquals(first.getEtag(), second.getEtag());
+    assertEquals(1, cache.stats().hitCount());
+  }
+
+  @Test
+  public void shouldSerializeValueToJson() {
+    ResponseCache cache = new ResponseCache(true, 1024 * 1024, 60);
+
+    byte[] bytes = cache.getOrLoad(KEY, () -> CompletableFuture.completedFuture(new Instance().withId("1"))).join().getBody();
+
+    String json = new String(bytes, StandardCharsets.UTF_8);
+    assertEquals("1", new JsonObject(json).getString("id"));
+  }
+
+  @Test
+  public void shouldEvictWhenWeightExceeded() {
+    ResponseCache cache = new ResponseCache(true, 64, 60);
+
+    cache.getOrLoad(KEY, () -> CompletableFuture.completedFuture(new Instance().withId("1").withTitle("A long enough title"))).join();
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void shouldReportUsagePerPartition() {
+    ResponseCache cache = new ResponseCache(true, 1024 * 1024, 60);
+
+    cache.getOrLoad(KEY, () -> CompletableFuture.completedFuture(new Instance().withId("1"))).join();
+    cache.getOrLoad(KEY, () -> CompletableFuture.completedFuture(new Instance().withId("1"))).join();
+    cache.getOrLoad(ResponseCache.key("other", "instance", "1"), () -> CompletableFuture.completedFuture(new Instance())).join();
+
+    CacheUsage usage = cache.getUsage("account");
+    assertEquals(1, usage.getEntries());
+    assertEquals(1, usage.getHits());
+    assertEquals(1, usage.getMisses());
+    assertEquals(0.5, usage.getHitRatio(), 0);
+    assertTrue(usage.getWeight() > 0);
+    assertEquals(2, cache.getPartitions().size());
+  }
+
+  @Test
+  public void shouldInvalidateOnlyEntriesOfPartition() {
+    ResponseCache cache = new ResponseCache(true, 1024 * 1024, 60);
+    cache.getOrLoad(KEY, () -> CompletableFuture.completedFuture(new Instance())).join();
+    cache.getOrLoad(ResponseCache.key("account2", "instance", "1"), () -> CompletableFuture.completedFuture(new Instance())).join();
+
+    cache.invalidatePartition("account");
+
+    assertEquals(0, cache.getUsage("account").getEntries());
+    assertEquals(1, cache.getUsage("account2").getEntries());
+  }
+
+  @Test
+  public void shouldServeExpiredResponseWhenLoadFails() {
+    ResponseCache cache = new ResponseCache(true, 1024 * 1024, 0, null, new StaleFallback(60));
+    AtomicBoolean stale = new AtomicBoolean();
+    CachedResponse first = cache.getOrLoad(KEY, () -> CompletableFuture.completedFuture(new Instance().withId("1")))
+      .join();
+
+    CachedResponse second = cache.getOrLoad(KEY, () -> {
+      CompletableFuture<Instance> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new IllegalStateException("unavailable"));
+      return failed;
+    }, () -> stale.set(true)).join();
+
+    assertArrayEquals(first.getBody(), second.getBody());
+    assertTrue(stale.get());
+  }
+}
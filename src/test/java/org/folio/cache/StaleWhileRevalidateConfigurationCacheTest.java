@@ -0,0 +1,93 @@
+package org.folio.cache;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.collections4.map.CaseInsensitiveMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.folio.holdingsiq.model.Configuration;
+import org.folio.holdingsiq.model.OkapiData;
+import org.folio.holdingsiq.service.ConfigurationService;
+
+public class StaleWhileRevalidateConfigurationCacheTest {
+
+  private static final long SOFT_EXPIRATION = 10;
+  private static final long HARD_EXPIRATION = 60;
+
+  private final Configuration first = Configuration.builder().customerId("first").build();
+  private final Configuration second = Configuration.builder().customerId("second").build();
+
+  private ConfigurationService delegate;
+  private OkapiData okapiData;
+  private AtomicLong now;
+  private StaleWhileRevalidateConfigurationCache cache;
+
+  @Before
+  public void setUp() {
+    delegate = mock(ConfigurationService.class);
+    Map<String, String> headers = new CaseInsensitiveMap<>();
+    headers.put("x-okapi-tenant", "tenant");
+    headers.put("x-okapi-url", "http://localhost:9130");
+    okapiData = new OkapiData(headers);
+    now = new AtomicLong();
+    cache = new StaleWhileRevalidateConfigurationCache(delegate, SOFT_EXPIRATION, HARD_EXPIRATION, null, now::get);
+  }
+
+  @Test
+  public void shouldReturnCachedConfigurationBeforeSoftExpiration() {
+    when(delegate.retrieveConfiguration(any())).thenReturn(CompletableFuture.completedFuture(first));
+
+    cache.retrieveConfiguration(okapiData).join();
+    now.addAndGet(TimeUnit.SECONDS.toMillis(SOFT_EXPIRATION) - 1);
+
+    assertSame(first, cache.retrieveConfiguration(okapiData).join());
+    verify(delegate, times(1)).retrieveConfiguration(any());
+  }
+
+  @Test
+  public void shouldReturnStaleConfigurationAndRefreshOnceAfterSoftExpiration() {
+    CompletableFuture<Configuration> refresh = new CompletableFuture<>();
+    when(delegate.retrieveConfiguration(any()))
+      .thenReturn(CompletableFuture.completedFuture(first))
+      .thenReturn(refresh);
+
+    cache.retrieveConfiguration(okapiData).join();
+    now.addAndGet(TimeUnit.SECONDS.toMillis(SOFT_EXPIRATION));
+
+    assertSame(first, cache.retrieveConfiguration(okapiData).join());
+    assertSame(first, cache.retrieveConfiguration(okapiData).join());
+    verify(delegate, times(2)).retrieveConfiguration(any());
+
+    refresh.complete(second);
+    assertSame(second, cache.retrieveConfiguration(okapiData).join());
+  }
+
+  @Test
+  public void shouldWaitForConfigurationAfterHardExpiration() {
+    CompletableFuture<Configuration> refresh = new CompletableFuture<>();
+    when(delegate.retrieveConfiguration(any()))
+      .thenReturn(CompletableFuture.completedFuture(first))
+      .thenReturn(refresh);
+
+    cache.retrieveConfiguration(okapiData).join();
+    now.addAndGet(TimeUnit.SECONDS.toMillis(HARD_EXPIRATION));
+
+    CompletableFuture<Configuration> result = cache.retrieveConfiguration(okapiData);
+    assertFalse(result.isDone());
+
+    refresh.complete(second);
+    assertSame(second, result.join());
+  }
+}
@@ -0,0 +1,101 @@
+package org.folio.codex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.validation.ValidationException;
+
+import org.junit.Test;
+
+import org.folio.holdingsiq.service.exception.ResourceNotFoundException;
+
+public class BatchFetcherTest {
+
+  @Test
+  public void shouldReturnRecordsInIdOrderAndReportMissing() {
+    BatchFetcher fetcher = new BatchFetcher(2);
+
+    BatchFetcher.Result<String, String> result = fetcher.fetch(Arrays.asList("1", "x", "2", "3"), id -> {
+      if ("x".equals(id)) {
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(mock(ResourceNotFoundException.class));
+        return failed;
+      }
+      return CompletableFuture.completedFuture("record " + id);
+    }).join();
+
+    assertEquals(Arrays.asList("record 1", "record 2", "record 3"), result.getFound());
+    assertEquals(Collections.singletonList("x"), result.getMissing());
+  }
+
+  @Test(expected = CompletionException.class)
+  public void shouldFailBatchOnInvalidId() {
+    new BatchFetcher(1).<String, String>fetch(Collections.singletonList("bad"), id -> {
+      throw new ValidationException("Invalid id");
+    }).join();
+  }
+
+  @Test
+  public void shouldKeepConcurrencyBounded() {
+    List<CompletableFuture<String>> pending = new ArrayList<>();
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    BatchFetcher fetcher = new BatchFetcher(3);
+
+    CompletableFuture<BatchFetcher.Result<String, String>> result = fetcher.fetch(
+      Arrays.asList("1", "2", "3", "4", "5", "6", "7"), id -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        CompletableFuture<String> record = new CompletableFuture<>();
+        pending.add(record);
+        return record.whenComplete((value, throwable) -> inFlight.decrementAndGet());
+      });
+    for (int i = 0; i < pending.size(); i++) {
+      pending.get(i).complete("record " + i);
+    }
+
+    assertEquals(7, result.join().getFound().size());
+    assertEquals(3, maxInFlight.get());
+  }
+
+  @Test
+  public void shouldFetchLongBatchOfCompletedRecords() {
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 100000; i++) {
+      ids.add(Integer.toString(i));
+    }
+
+    BatchFetcher.Result<String, String> result = new BatchFetcher(8).<String, String>fetch(ids,
+      CompletableFuture::completedFuture).join();
+
+    assertEquals(ids, result.getFound());
+    assertTrue(result.getMissing().isEmpty());
+  }
+
+  @Test(expected = CompletionException.class)
+  public void shouldFailBatchOnOtherErrors() {
+    new BatchFetcher(2).<String, String>fetch(Arrays.asList("1", "2"), id -> {
+      CompletableFuture<String> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new IllegalStateException("RM API is down"));
+      return failed;
+    }).join();
+  }
+
+  @Test
+  public void shouldDropDuplicateIdsKeepingOrder() {
+    assertEquals(Arrays.asList("2", "1", "3"), new BatchFetcher(2, 3).distinctIds(Arrays.asList("2", "1", "2", "3", "1")));
+  }
+
+  @Test(expected = ValidationException.class)
+  public void shouldRejectTooManyIds() {
+    new BatchFetcher(2, 2).distinctIds(Arrays.asList("1", "2", "3"));
+  }
+}
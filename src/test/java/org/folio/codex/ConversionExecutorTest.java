@@ -0,0 +1,105 @@
+package org.folio.codex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class ConversionExecutorTest {
+
+  private static final int THRESHOLD = 100;
+
+  private Vertx vertx;
+  private ConversionExecutor executor;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    executor = new ConversionExecutor(THRESHOLD, 2);
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    executor.shutdown();
+    vertx.close(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void shouldConvertSmallBatchOnEventLoop(TestContext context) {
+    Async async = context.async();
+    Context vertxContext = vertx.getOrCreateContext();
+
+    vertxContext.runOnContext(v -> executor.convert(vertxContext, numbers(THRESHOLD - 1), String::valueOf)
+      .thenAccept(converted -> {
+        context.assertEquals(numbers(THRESHOLD - 1).toString(), converted.toString());
+        context.assertEquals(1L, executor.getEventLoopConversions());
+        context.assertEquals(0L, executor.getOffloadedConversions());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldConvertLargeBatchOnWorkersAndResumeOnContext(TestContext context) {
+    Async async = context.async();
+    Context vertxContext = vertx.getOrCreateContext();
+
+    vertxContext.runOnContext(v -> executor.convert(vertxContext, numbers(1000), String::valueOf)
+      .thenAccept(converted -> {
+        context.assertEquals(numbers(1000).toString(), converted.toString());
+        context.assertEquals(vertxContext, Vertx.currentContext());
+        context.assertEquals(1L, executor.getOffloadedConversions());
+        context.assertEquals(0L, executor.getEventLoopConversions());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldFailWhenConversionOnWorkersFails(TestContext context) {
+    Async async = context.async();
+    Context vertxContext = vertx.getOrCreateContext();
+
+    executor.convert(vertxContext, numbers(1000), number -> {
+      if (number == 500) {
+        throw new IllegalArgumentException("Unknown publication type");
+      }
+      return number;
+    }).whenComplete((converted, throwable) -> {
+      context.assertTrue(throwable instanceof IllegalArgumentException);
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldFailWhenConversionOnWorkersThrowsError(TestContext context) {
+    Async async = context.async();
+    Context vertxContext = vertx.getOrCreateContext();
+
+    executor.convert(vertxContext, numbers(1000), number -> {
+      if (number == 500) {
+        throw new AssertionError("Unexpected publication type");
+      }
+      return number;
+    }).whenComplete((converted, throwable) -> {
+      context.assertTrue(throwable instanceof AssertionError);
+      async.complete();
+    });
+  }
+
+  private static List<Integer> numbers(int count) {
+    List<Integer> numbers = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      numbers.add(i);
+    }
+    return numbers;
+  }
+}
@@ -0,0 +1,102 @@
+package org.folio.codex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import org.folio.cql2rmapi.UnsupportedQueryException;
+
+public class MergedSearchTest {
+
+  @Test
+  public void shouldMergeBranchesInOrder() {
+    MergedSearch<String> search = search(branch("a", "c", "e"), branch("b", "d", "f"));
+
+    MergedSearch.Chunk<String> result = search.search(0, 4).join();
+
+    assertEquals(Arrays.asList("a", "b", "c", "d"), result.getRecords());
+    assertEquals(6, result.getTotalResults());
+  }
+
+  @Test
+  public void shouldDropDuplicates() {
+    MergedSearch<String> search = search(branch("a", "b", "c"), branch("b", "c", "d"));
+
+    MergedSearch.Chunk<String> result = search.search(0, 10).join();
+
+    assertEquals(Arrays.asList("a", "b", "c", "d"), result.getRecords());
+    assertEquals(4, result.getTotalResults());
+  }
+
+  @Test
+  public void shouldReadFurtherWhenDuplicatesLeaveWindowShort() {
+    MergedSearch<String> search = search(branch("a", "b", "c", "d", "e"), branch("a", "b", "c", "d", "e", "f"));
+
+    MergedSearch.Chunk<String> result = search.search(2, 3).join();
+
+    assertEquals(Arrays.asList("c", "d", "e"), result.getRecords());
+  }
+
+  @Test
+  public void shouldReturnWindowPastStart() {
+    MergedSearch<String> search = search(branch("a", "c", "e", "g"), branch("b", "d", "f", "h"));
+
+    MergedSearch.Chunk<String> result = search.search(3, 2).join();
+
+    assertEquals(Arrays.asList("d", "e"), result.getRecords());
+  }
+
+  @Test
+  public void shouldNotReadBranchPastCap() {
+    AtomicInteger read = new AtomicInteger();
+    MergedSearch.Branch<String> duplicates = (offset, limit) -> {
+      read.set(Math.max(read.get(), offset + limit));
+      List<String> records = new ArrayList<>();
+      for (int i = 0; i < limit; i++) {
+        records.add("a");
+      }
+      return CompletableFuture.completedFuture(new MergedSearch.Chunk<>(records, Integer.MAX_VALUE));
+    };
+
+    MergedSearch.Chunk<String> result = search(duplicates, duplicates).search(400, 100).join();
+
+    assertTrue(result.getRecords().isEmpty());
+    assertEquals(MergedSearch.MAX_BRANCH_RECORDS, read.get());
+  }
+
+  @Test
+  public void shouldRejectWindowPastCap() {
+    try {
+      search(branch("a")).search(MergedSearch.MAX_BRANCH_RECORDS, 1).join();
+    } catch (CompletionException e) {
+      assertTrue(e.getCause() instanceof UnsupportedQueryException);
+      return;
+    }
+    throw new AssertionError("Expected the window to be rejected");
+  }
+
+  @SafeVarargs
+  private static MergedSearch<String> search(MergedSearch.Branch<String>... branches) {
+    return new MergedSearch<>(Arrays.asList(branches), Comparator.naturalOrder(), Function.identity());
+  }
+
+  private static MergedSearch.Branch<String> branch(String... records) {
+    List<String> all = Arrays.asList(records);
+    return (offset, limit) -> {
+      int from = Math.min(offset, all.size());
+      int to = Math.min(offset + limit, all.size());
+      return CompletableFuture.completedFuture(new MergedSearch.Chunk<>(new ArrayList<>(all.subList(from, to)),
+        all.size()));
+    };
+  }
+}
@@ -0,0 +1,72 @@
+package org.folio.codex;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import org.folio.cache.IdentifierIndex;
+import org.folio.cache.QueryTotals;
+import org.folio.cql2rmapi.ParsedQuery;
+import org.folio.cql2rmapi.QueryValidationException;
+
+public class QueryPlannerTest {
+
+  private static final String KEY = "account|instances|title = moby";
+
+  private final QueryPlanner planner = new QueryPlanner(new IdentifierIndex(true, 1024 * 1024, 60),
+    new QueryTotals(true, 1024 * 1024, 60));
+
+  @Test
+  public void shouldFetchIds() throws QueryValidationException {
+    assertEquals(QueryStrategy.BY_ID, planInstances("id = 1", 0).getStrategy());
+    assertEquals(QueryStrategy.ID_LIST, planInstances("id = 1 or id = 2", 0).getStrategy());
+  }
+
+  @Test
+  public void shouldLookUpExactIdentifierInIndex() throws QueryValidationException {
+    assertEquals(QueryStrategy.IDENTIFIER_INDEX, planInstances("identifier = 0898-2600", 0).getStrategy());
+    assertEquals(QueryStrategy.SEARCH, planInstances("identifier = 0898*", 0).getStrategy());
+  }
+
+  @Test
+  public void shouldMergeOrBranches() throws QueryValidationException {
+    assertEquals(QueryStrategy.OR_MERGE, planInstances("title = moby or title = dick", 0).getStrategy());
+    assertEquals(QueryStrategy.OR_MERGE,
+      planner.planPackages(KEY, ParsedQuery.forPackages("name = a or name = b"), 0).getStrategy());
+  }
+
+  @Test
+  public void shouldAnswerWindowPastKnownTotalWithoutSearch() throws QueryValidationException {
+    assertEquals(QueryStrategy.SEARCH, planInstances("title = moby", 50).getStrategy());
+
+    planner.rememberTotal(KEY, 42);
+    QueryPlan plan = planInstances("title = moby", 50);
+
+    assertEquals(QueryStrategy.OUT_OF_RANGE, plan.getStrategy());
+    assertEquals(42, plan.getTotalRecords());
+    assertEquals(QueryStrategy.SEARCH, planInstances("title = moby", 40).getStrategy());
+  }
+
+  @Test
+  public void shouldNotUseTotalForOrBranches() throws QueryValidationException {
+    planner.rememberTotal(KEY, 42);
+
+    assertEquals(QueryStrategy.OR_MERGE, planInstances("title = moby or title = dick", 50).getStrategy());
+  }
+
+  @Test
+  public void shouldCountStrategiesPerResource() {
+    planner.record("instances", QueryStrategy.SEARCH);
+    planner.record("instances", QueryStrategy.SEARCH);
+    planner.record("packages", QueryStrategy.CACHE);
+
+    assertEquals(2, planner.getCount("instances", QueryStrategy.SEARCH));
+    assertEquals(0, planner.getCount("instances", QueryStrategy.CACHE));
+    assertEquals(1, planner.getCount("packages", QueryStrategy.CACHE));
+    assertEquals(0, planner.getCount("unknown", QueryStrategy.CACHE));
+  }
+
+  private QueryPlan planInstances(String query, int offset) throws QueryValidationException {
+    return planner.planInstances(KEY, ParsedQuery.forInstances(query), offset);
+  }
+}
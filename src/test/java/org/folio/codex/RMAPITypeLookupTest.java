@@ -0,0 +1,131 @@
+package org.folio.codex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import static org.folio.utils.Utils.readMockFile;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.holdingsiq.model.Title;
+import org.junit.Test;
+
+import org.folio.converter.hld2cdx.ContributorConverter;
+import org.folio.converter.hld2cdx.IdentifierConverter;
+import org.folio.converter.hld2cdx.SubjectConverter;
+import org.folio.converter.hld2cdx.TitleConverter;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Compares {@link PubType#fromRMAPI(String)} and {@link ContentType#fromRMAPI(String)} with the map lookups of
+ * lower-cased values they replaced, kept here as {@link #previousPubType(String)} and
+ * {@link #previousContentType(String)}.
+ */
+public class RMAPITypeLookupTest {
+
+  private static final String TITLE_FILE = "RMAPIService/SuccessGetTitleById.json";
+  private static final Map<String, PubType> PREVIOUS_PUB_TYPES = new HashMap<>();
+  private static final Map<String, ContentType> PREVIOUS_CONTENT_TYPES = new HashMap<>();
+
+  static {
+    for (PubType pubType : PubType.values()) {
+      PREVIOUS_PUB_TYPES.put(pubType.getRmAPI(), pubType);
+    }
+    for (ContentType contentType : ContentType.values()) {
+      PREVIOUS_CONTENT_TYPES.put(contentType.getRmAPI(), contentType);
+    }
+  }
+
+  @Test
+  public void shouldMatchPreviousPubTypeLookupIgnoringCase() {
+    for (PubType pubType : PubType.values()) {
+      for (String value : casings(pubType.getRmAPI())) {
+        assertEquals(previousPubType(value), PubType.fromRMAPI(value));
+      }
+    }
+  }
+
+  @Test
+  public void shouldMatchPreviousContentTypeLookupIgnoringCase() {
+    for (ContentType contentType : ContentType.values()) {
+      for (String value : casings(contentType.getRmAPI())) {
+        assertEquals(previousContentType(value), ContentType.fromRMAPI(value));
+      }
+    }
+  }
+
+  @Test
+  public void shouldRejectUnknownValuesLikePreviousLookup() {
+    assertEquals(failure(RMAPITypeLookupTest::previousPubType, "bad-match"),
+      failure(PubType::fromRMAPI, "bad-match"));
+    assertEquals(failure(RMAPITypeLookupTest::previousContentType, "bad-match"),
+      failure(ContentType::fromRMAPI, "bad-match"));
+  }
+
+  @Test
+  public void shouldRejectNullPubTypeWithIllegalArgumentInsteadOfNullPointer() {
+    assertTrue(failure(RMAPITypeLookupTest::previousPubType, null).startsWith(NullPointerException.class.getName()));
+    assertEquals(IllegalArgumentException.class.getName() + ": Unknown publication type: null",
+      failure(PubType::fromRMAPI, null));
+  }
+
+  @Test
+  public void shouldRejectNullContentTypeOfPackageLikePreviousLookup() {
+    // PackageConverter passes a missing content type as an empty string
+    String value = StringUtils.defaultString(null);
+
+    assertEquals(IllegalArgumentException.class.getName() + ": Unknown Resource Type: ",
+      failure(RMAPITypeLookupTest::previousContentType, value));
+    assertEquals(failure(RMAPITypeLookupTest::previousContentType, value), failure(ContentType::fromRMAPI, value));
+  }
+
+  @Test
+  public void shouldFailTitleConversionWithoutPubTypeWithIllegalArgument() throws Exception {
+    Title title = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+      .readValue(new JsonObject(readMockFile(TITLE_FILE)).putNull("pubType").encode(), Title.class);
+    assertNull(title.getPubType());
+    TitleConverter converter = new TitleConverter(new IdentifierConverter(), new ContributorConverter(),
+      new SubjectConverter());
+
+    assertEquals(IllegalArgumentException.class.getName() + ": Unknown publication type: null",
+      failure(converter::convert, title));
+  }
+
+  private static String[] casings(String value) {
+    return new String[] {value, value.toUpperCase(), StringUtils.capitalize(value)};
+  }
+
+  private static <T> String failure(Function<T, ?> lookup, T value) {
+    try {
+      lookup.apply(value);
+    } catch (RuntimeException e) {
+      return e.getClass().getName() + ": " + e.getMessage();
+    }
+    fail("Expected exception for " + value);
+    return null;
+  }
+
+  private static PubType previousPubType(String rmAPI) {
+    PubType result = PREVIOUS_PUB_TYPES.get(rmAPI.toLowerCase());
+    if (result == null) {
+      throw new IllegalArgumentException("Unknown publication type: " + rmAPI.toLowerCase());
+    }
+    return result;
+  }
+
+  private static ContentType previousContentType(String rmAPI) {
+    ContentType result = PREVIOUS_CONTENT_TYPES.get(rmAPI.toLowerCase());
+    if (result == null) {
+      throw new IllegalArgumentException("Unknown Resource Type: " + rmAPI.toLowerCase());
+    }
+    return result;
+  }
+}
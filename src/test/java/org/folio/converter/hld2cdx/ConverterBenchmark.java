@@ -0,0 +1,84 @@
+package org.folio.converter.hld2cdx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.folio.holdingsiq.model.PackageData;
+import org.folio.holdingsiq.model.Title;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.Package;
+
+/**
+ * Throughput and allocation of the title and package converters on the recorded RM API responses.
+ *
+ * Not run by the build, start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.folio.converter.hld2cdx.ConverterBenchmark}
+ * and read bytes per operation from {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+
+  private static final String TITLE_FILE = "RMAPIService/SuccessGetTitleById.json";
+  private static final String PACKAGE_FILE = "RMAPIService/SuccessGetPackageById.json";
+
+  private TitleConverter titleConverter;
+  private PackageConverter packageConverter;
+  private Title title;
+  private PackageData packageData;
+
+  @Setup
+  public void setUp() throws IOException {
+    titleConverter = new TitleConverter(new IdentifierConverter(), new ContributorConverter(), new SubjectConverter());
+    packageConverter = new PackageConverter(new CoverageConverter());
+
+    ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    title = read(mapper, TITLE_FILE, Title.class);
+    packageData = read(mapper, PACKAGE_FILE, PackageData.class);
+  }
+
+  @Benchmark
+  public Instance convertTitle() {
+    return titleConverter.convert(title);
+  }
+
+  @Benchmark
+  public Package convertPackage() {
+    return packageConverter.convert(packageData);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(ConverterBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build()).run();
+  }
+
+  private static <T> T read(ObjectMapper mapper, String file, Class<T> type) throws IOException {
+    try (InputStream stream = ConverterBenchmark.class.getClassLoader().getResourceAsStream(file)) {
+      return mapper.readValue(stream, type);
+    }
+  }
+}
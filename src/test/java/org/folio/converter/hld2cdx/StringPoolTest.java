@@ -0,0 +1,42 @@
+package org.folio.converter.hld2cdx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class StringPoolTest {
+
+  @Test
+  public void shouldReturnPooledInstanceOfEqualValue() {
+    StringPool pool = new StringPool(16);
+    String first = new String("Elsevier");
+
+    pool.canonical(first);
+
+    assertSame(first, pool.canonical(new String("Elsevier")));
+  }
+
+  @Test
+  public void shouldReplaceValueInSameSlot() {
+    StringPool pool = new StringPool(1);
+    String first = new String("Author");
+    String second = new String("Editor");
+
+    pool.canonical(first);
+    pool.canonical(second);
+
+    assertSame(second, pool.canonical(new String("Editor")));
+  }
+
+  @Test
+  public void shouldPassNullThrough() {
+    assertNull(new StringPool(16).canonical(null));
+  }
+
+  @Test
+  public void shouldReturnEqualValue() {
+    assertEquals("Publisher", new StringPool(16).canonical("Publisher"));
+  }
+}
@@ -0,0 +1,72 @@
+package org.folio.cql2rmapi;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Parsing throughput of typical codex queries with {@link FastCQLParser} and with the general CQL parser.
+ *
+ * Not run by the build, start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.folio.cql2rmapi.CQLParametersBenchmark}
+ * and read bytes per operation from {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CQLParametersBenchmark {
+
+  private static final Map<String, String> QUERIES = new HashMap<>();
+
+  static {
+    QUERIES.put("id", "id = 22-1887786-1440285");
+    QUERIES.put("title", "title = \"moby dick\"");
+    QUERIES.put("filtered", "title = moby and ext.selected = true and publisher = \"Random House\" sortby title");
+  }
+
+  @Param({"id", "title", "filtered"})
+  private String name;
+
+  private String query;
+
+  @Setup
+  public void setUp() {
+    query = QUERIES.get(name);
+  }
+
+  @Benchmark
+  public CQLParameters fastParser() {
+    return FastCQLParser.parse(query);
+  }
+
+  @Benchmark
+  public CQLParameters cqlParser() throws QueryValidationException {
+    return CQLParameters.parseWithCQLParser(query);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(CQLParametersBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build()).run();
+  }
+}
@@ -0,0 +1,77 @@
+package org.folio.cql2rmapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class CQLParametersTest {
+
+  @Test
+  public void shouldParseQueryWithoutOrAsSingleBranch() throws QueryValidationException {
+    List<CQLParameters> branches = CQLParameters.parseBranches("title = bridget and ext.selected = true sortby title");
+
+    assertEquals(1, branches.size());
+    assertEquals("bridget", branches.get(0).getParameters().get("title"));
+    assertEquals("true", branches.get(0).getParameters().get("ext.selected"));
+    assertEquals("title", branches.get(0).getSort());
+  }
+
+  @Test
+  public void shouldDistributeAndOverOr() throws QueryValidationException {
+    List<CQLParameters> branches = CQLParameters.parseBranches(
+      "(title = bridget or publisher = ebsco) and ext.selected = true sortby title");
+
+    assertEquals(2, branches.size());
+    assertEquals("bridget", branches.get(0).getParameters().get("title"));
+    assertNull(branches.get(0).getParameters().get("publisher"));
+    assertEquals("ebsco", branches.get(1).getParameters().get("publisher"));
+    for (CQLParameters branch : branches) {
+      assertEquals("true", branch.getParameters().get("ext.selected"));
+      assertEquals("title", branch.getSort());
+    }
+  }
+
+  @Test
+  public void shouldExpandEveryCombinationOfOrBranches() throws QueryValidationException {
+    List<CQLParameters> branches = CQLParameters.parseBranches(
+      "(title = a or title = b) and (publisher = c or publisher = d)");
+
+    assertEquals(4, branches.size());
+    assertEquals("b", branches.get(3).getParameters().get("title"));
+    assertEquals("d", branches.get(3).getParameters().get("publisher"));
+  }
+
+  @Test(expected = QueryUnsupportedFeatureException.class)
+  public void shouldRejectNot() throws QueryValidationException {
+    CQLParameters.parseBranches("title = bridget not publisher = ebsco");
+  }
+
+  @Test(expected = QueryValidationException.class)
+  public void shouldRejectTooManyBranches() throws QueryValidationException {
+    StringBuilder query = new StringBuilder("id = 0");
+    for (int i = 1; i <= 100; i++) {
+      query.append(" or id = ").append(i);
+    }
+    CQLParameters.parseBranches(query.toString());
+  }
+
+  @Test
+  public void shouldParseIdListAsIdSearches() throws QueryValidationException {
+    List<CQLParameters> branches = CQLParameters.parseBranches("id = 1 or codex.id = 2 or id = 3");
+
+    assertEquals(3, branches.size());
+    for (CQLParameters branch : branches) {
+      assertTrue(branch.isIdSearch());
+    }
+    assertEquals("2", branches.get(1).getIdSearchValue());
+  }
+
+  @Test(expected = QueryUnsupportedFeatureException.class)
+  public void shouldStillRejectOrWhenParsedAsOneQuery() throws QueryValidationException {
+    new CQLParameters("title = bridget or publisher = ebsco");
+  }
+}
@@ -0,0 +1,137 @@
+package org.folio.cql2rmapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class FastCQLParserTest {
+
+  private static final List<String> SUPPORTED = Arrays.asList(
+    "title=moby",
+    "title = moby",
+    "  title\t=\nmoby  ",
+    "title=\"moby dick\"",
+    "title = \"moby (dick) = <whale> / sortby or\"",
+    "id=22-1887786-1440285",
+    "codex.id = 1117-2",
+    "id = 1 and codex.id = 2",
+    "title=bridget and ext.selected=true",
+    "title=bridget AND ext.selected=true And publisher=ebsco",
+    "title=bridget sortby title",
+    "title=bridget SORTBY title",
+    "title=bridget and ext.selected=true sortby name",
+    "identifier=0898-2600 and ext.type=isbn",
+    "ext.fields=\"id title identifier\"",
+    "title=*moby*",
+    "title=\"Müller\"",
+    "cql.serverChoice=moby",
+    "TITLE=Moby");
+
+  private static final List<String> UNSUPPORTED = Arrays.asList(
+    "",
+    "moby",
+    "\"moby dick\"",
+    "title=\"\"",
+    "title==moby",
+    "title <> moby",
+    "title > moby",
+    "title any moby",
+    "title =/ignoreCase moby",
+    "title=moby or title=dick",
+    "title=moby OR title=dick",
+    "title=moby not title=dick",
+    "(title=moby) and publisher=ebsco",
+    "title=moby and (publisher=ebsco)",
+    "title=moby dick",
+    "title=\"moby\"and publisher=ebsco",
+    "title=and",
+    "title=\"moby",
+    "title=\"moby \\\"dick\\\"\"",
+    "title=Müller",
+    "title=moby and",
+    "title=moby and title=dick",
+    "title=moby sortby",
+    "title=moby sortby title name",
+    "title=moby sortby title/sort.descending",
+    "title=moby sortby and",
+    "\"title\"=moby",
+    ">dc=\"http://deepcustard.org/\" title=moby");
+
+  @Test
+  public void shouldParseSupportedQueriesLikeCQLParser() throws QueryValidationException {
+    for (String query : SUPPORTED) {
+      CQLParameters fast = FastCQLParser.parse(query);
+
+      assertNotNull(query, fast);
+      assertSameParameters(query, CQLParameters.parseWithCQLParser(query), fast);
+    }
+  }
+
+  @Test
+  public void shouldLeaveOtherQueriesToCQLParser() {
+    for (String query : UNSUPPORTED) {
+      assertNull(query, FastCQLParser.parse(query));
+    }
+  }
+
+  @Test
+  public void shouldParseGeneratedQueriesLikeCQLParser() throws QueryValidationException {
+    List<String> fields = Arrays.asList("title", "publisher", "ext.selected", "identifier", "id");
+    List<String> values = Arrays.asList("moby", "\"moby dick\"", "22-1887786", "true", "\"\"");
+    List<String> joins = Arrays.asList(" and ", " AND ", "  and\t");
+
+    for (int i = 0; i < fields.size(); i++) {
+      for (int j = 0; j < values.size(); j++) {
+        for (int k = 0; k < joins.size(); k++) {
+          String second = fields.get((i + 1 + k) % fields.size());
+          String query = fields.get(i) + "=" + values.get(j) + joins.get(k)
+            + second + " = " + values.get((j + k) % values.size())
+            + (k % 2 == 0 ? " sortby " + fields.get(j % fields.size()) : "");
+          assertSameResult(query);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void shouldKeepCQLParserErrorsForInvalidQueries() {
+    for (String query : Arrays.asList("title=moby and title=dick", "title <> moby", "title=moby sortby title name",
+      "title=moby or title=dick")) {
+      try {
+        new CQLParameters(query);
+      } catch (QueryValidationException e) {
+        String fullMessage = null;
+        try {
+          CQLParameters.parseWithCQLParser(query);
+        } catch (QueryValidationException full) {
+          fullMessage = full.getMessage();
+        }
+        assertEquals(query, fullMessage, e.getMessage());
+        continue;
+      }
+      throw new AssertionError("Expected " + query + " to be rejected");
+    }
+  }
+
+  /**
+   * The fast parser must either leave the query to the CQL parser or give exactly its result.
+   */
+  private static void assertSameResult(String query) throws QueryValidationException {
+    CQLParameters fast = FastCQLParser.parse(query);
+    if (fast != null) {
+      assertSameParameters(query, CQLParameters.parseWithCQLParser(query), fast);
+    }
+  }
+
+  private static void assertSameParameters(String query, CQLParameters expected, CQLParameters actual) {
+    assertEquals(query, expected.getParameters(), actual.getParameters());
+    assertEquals(query, expected.getSort(), actual.getSort());
+    assertEquals(query, expected.isIdSearch(), actual.isIdSearch());
+    assertEquals(query, expected.getIdSearchValue(), actual.getIdSearchValue());
+  }
+}
@@ -0,0 +1,67 @@
+package org.folio.cql2rmapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import javax.validation.ValidationException;
+
+import org.folio.rest.jaxrs.model.Identifier;
+import org.folio.rest.jaxrs.model.Instance;
+import org.junit.Test;
+
+public class FieldProjectionTest {
+
+  @Test
+  public void shouldIncludeAllFieldsWithoutFieldsClause() throws QueryValidationException {
+    FieldProjection fields = FieldProjection.forInstances(new CQLParameters("title=moby"));
+
+    assertTrue(fields.isAll());
+    assertTrue(fields.includes("subject"));
+  }
+
+  @Test
+  public void shouldIncludeRequestedFieldsAndId() throws QueryValidationException {
+    FieldProjection fields = FieldProjection.forInstances(
+      new CQLParameters("title=moby and ext.fields=\"title,identifier\""));
+
+    assertFalse(fields.isAll());
+    assertTrue(fields.includes("id"));
+    assertTrue(fields.includes("title"));
+    assertTrue(fields.includes("identifier"));
+    assertFalse(fields.includes("contributor"));
+  }
+
+  @Test(expected = ValidationException.class)
+  public void shouldRejectUnknownField() throws QueryValidationException {
+    FieldProjection.forPackages(new CQLParameters("name=moby and ext.fields=\"name publisher\""));
+  }
+
+  @Test
+  public void shouldDropFieldsNotRequested() throws QueryValidationException {
+    FieldProjection fields = FieldProjection.forInstances(new CQLParameters("title=moby and ext.fields=title"));
+    Instance instance = new Instance()
+      .withId("1")
+      .withTitle("Moby Dick")
+      .withPublisher("Harper")
+      .withIdentifier(Collections.singleton(new Identifier().withType("ISBN").withValue("123")));
+
+    Instance projected = fields.project(instance);
+
+    assertEquals("1", projected.getId());
+    assertEquals("Moby Dick", projected.getTitle());
+    assertNull(projected.getPublisher());
+    assertNull(projected.getIdentifier());
+  }
+
+  @Test
+  public void shouldReturnSameInstanceWhenAllFieldsRequested() {
+    Instance instance = new Instance().withId("1");
+
+    assertSame(instance, FieldProjection.all().project(instance));
+  }
+}
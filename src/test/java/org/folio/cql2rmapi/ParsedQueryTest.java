@@ -0,0 +1,82 @@
+package org.folio.cql2rmapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ParsedQueryTest {
+
+  @Test
+  public void shouldParseSearchIntoParametersOfEveryBranch() throws QueryValidationException {
+    ParsedQuery<TitleParameters> query = ParsedQuery.forInstances(
+      "(title = moby or publisher = ebsco) and ext.selected = true");
+
+    assertFalse(query.isIdSearch());
+    assertEquals(2, query.getParameters().size());
+    assertEquals("moby", query.getParameters().get(0).getFilterQuery().getName());
+    assertEquals("ebsco", query.getParameters().get(1).getFilterQuery().getPublisher());
+  }
+
+  @Test
+  public void shouldParseIdListWithoutParameters() throws QueryValidationException {
+    ParsedQuery<PackageParameters> query = ParsedQuery.forPackages("id = 1-2 or id = 3-4 or id = 1-2");
+
+    assertTrue(query.isIdSearch());
+    assertTrue(query.getParameters().isEmpty());
+    assertEquals(Arrays.asList("1-2", "3-4"), query.getIds());
+  }
+
+  @Test(expected = UnsupportedQueryException.class)
+  public void shouldRejectUnsupportedSort() throws QueryValidationException {
+    ParsedQuery.forInstances("title = moby sortby publisher");
+  }
+
+  @Test(expected = UnsupportedQueryException.class)
+  public void shouldRejectUnknownField() throws QueryValidationException {
+    ParsedQuery.forPackages("name = academy and ext.fields = \"id color\"");
+  }
+
+  @Test
+  public void shouldApplyFieldsToEveryBranch() throws QueryValidationException {
+    ParsedQuery<TitleParameters> query = ParsedQuery.forInstances(
+      "(title = moby or publisher = ebsco) and ext.fields = \"id title\"");
+
+    assertTrue(query.getFields().includes("title"));
+    assertFalse(query.getFields().includes("publisher"));
+    query.getParameters().forEach(parameters -> assertEquals(query.getFields(), parameters.getFields()));
+  }
+
+  @Test(expected = UnsupportedQueryException.class)
+  public void shouldRejectFieldsOfOneBranchOnly() throws QueryValidationException {
+    ParsedQuery.forInstances("(title = moby and ext.fields = \"id title\") or publisher = ebsco");
+  }
+
+  @Test(expected = UnsupportedQueryException.class)
+  public void shouldRejectIdMixedWithOtherBranches() throws QueryValidationException {
+    ParsedQuery.forPackages("name = academy or id = 22");
+  }
+
+  @Test(expected = UnsupportedQueryException.class)
+  public void shouldRejectTooManyMergedBranches() throws QueryValidationException {
+    StringBuilder query = new StringBuilder("title = t0");
+    for (int i = 1; i <= 10; i++) {
+      query.append(" or title = t").append(i);
+    }
+    ParsedQuery.forInstances(query.toString());
+  }
+
+  @Test
+  public void shouldRejectWithoutStackTrace() {
+    try {
+      ParsedQuery.forInstances("title = moby sortby publisher");
+    } catch (UnsupportedQueryException | QueryValidationException e) {
+      assertEquals(0, e.getStackTrace().length);
+      return;
+    }
+    throw new AssertionError("Expected the query to be rejected");
+  }
+}
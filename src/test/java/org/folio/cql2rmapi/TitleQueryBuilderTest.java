@@ -222,4 +222,12 @@ public class TitleQueryBuilderTest {
     TitleParameters titleParameters = new TitleParameters(new CQLParameters("title=xyzzy"));
     assertNull(titleParameters.getFilterQuery().getSelected());
   }
+
+  @Test
+  public void titleParametersRecognizesExactIdentifierSearchTest() throws QueryValidationException {
+    assertTrue(new TitleParameters(new CQLParameters(VALID_ISBN_QUERY)).isExactIdentifierSearch());
+    assertFalse(new TitleParameters(new CQLParameters("identifier = 12345 and ext.selected = true")).isExactIdentifierSearch());
+    assertFalse(new TitleParameters(new CQLParameters("identifier = 1234*")).isExactIdentifierSearch());
+    assertFalse(new TitleParameters(new CQLParameters(VALID_QUERY)).isExactIdentifierSearch());
+  }
 }
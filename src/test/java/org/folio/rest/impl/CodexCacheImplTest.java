@@ -0,0 +1,130 @@
+package org.folio.rest.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.cache.AccountKeys;
+import org.folio.cache.RecordCache;
+import org.folio.cache.ResponseCache;
+import org.folio.holdingsiq.model.Configuration;
+import org.folio.holdingsiq.service.ConfigurationService;
+import org.folio.rest.jaxrs.model.CacheStatisticsCollection;
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.spring.SpringContextUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class CodexCacheImplTest extends VertxTestBase {
+
+  private static final String OTHER_ACCOUNT = "other@http://localhost:51234#0123456789abcdef";
+
+  private final Configuration configuration = Configuration.builder()
+    .customerId("test")
+    .apiKey("8675309")
+    .url("http://localhost:51234")
+    .configValid(true).build();
+
+  @Autowired
+  private ConfigurationService configurationService;
+  @Autowired
+  private RecordCache<Instance> instanceRecordCache;
+
+  @Before
+  public void setUp(TestContext context) {
+    super.setUp(context);
+    SpringContextUtil.autowireDependenciesFromFirstContext(this, vertx);
+
+    doReturn(CompletableFuture.completedFuture(configuration))
+      .when(configurationService).retrieveConfiguration(any());
+  }
+
+  @Test
+  public void getCodexCacheReturnsUsageOfPartition() {
+    String account = AccountKeys.of(configuration);
+
+    final CacheStatisticsCollection response = RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .queryParam("partition", account)
+      .get("/_/codex-cache")
+      .then()
+      .contentType(ContentType.JSON)
+      .log()
+      .ifValidationFails()
+      .statusCode(200).extract().as(CacheStatisticsCollection.class);
+
+    assertEquals(response.getTotalRecords().intValue(), response.getCaches().size());
+    response.getCaches().forEach(statistics -> assertEquals(account, statistics.getPartition()));
+  }
+
+  @Test
+  public void getCodexCacheHidesPartitionsOfOtherAccounts() {
+    instanceRecordCache.get(ResponseCache.key(OTHER_ACCOUNT, CodexInstancesImpl.INSTANCE_KEY, "1"));
+
+    final CacheStatisticsCollection response = RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .get("/_/codex-cache")
+      .then()
+      .contentType(ContentType.JSON)
+      .log()
+      .ifValidationFails()
+      .statusCode(200).extract().as(CacheStatisticsCollection.class);
+
+    response.getCaches().forEach(statistics -> assertFalse(OTHER_ACCOUNT.equals(statistics.getPartition())));
+  }
+
+  @Test
+  public void getCodexCacheRejectsPartitionOfOtherAccount() {
+    RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .queryParam("partition", OTHER_ACCOUNT)
+      .get("/_/codex-cache")
+      .then()
+      .log()
+      .ifValidationFails()
+      .statusCode(400);
+  }
+
+  @Test
+  public void deleteCodexCacheInvalidatesTenant() {
+    RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .delete("/_/codex-cache")
+      .then()
+      .log()
+      .ifValidationFails()
+      .statusCode(204);
+  }
+
+  @Test
+  public void deleteCodexCacheRejectsInvalidPackageId() {
+    RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .delete("/_/codex-cache?packageId=abc")
+      .then()
+      .log()
+      .ifValidationFails()
+      .statusCode(400);
+  }
+}
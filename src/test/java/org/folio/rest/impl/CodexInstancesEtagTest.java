@@ -0,0 +1,105 @@
+package org.folio.rest.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+import static org.folio.utils.Utils.readMockFile;
+
+import java.util.concurrent.CompletableFuture;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.vertx.core.http.HttpServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.folio.holdingsiq.model.Configuration;
+import org.folio.holdingsiq.service.ConfigurationService;
+import org.folio.spring.EtagTestConfig;
+import org.folio.spring.SpringContextUtil;
+
+/**
+ * Entity tags and {@code Cache-Control} of the instance endpoints with {@code response.etag.enabled}.
+ */
+@RunWith(VertxUnitRunner.class)
+public class CodexInstancesEtagTest extends VertxTestBase {
+
+  private static final String MOCK_RMAPI_TITLE_200_RESPONSE = "RMAPIService/SuccessGetTitleById.json";
+  private static final String MOCK_RMAPI_TITLE_LIST_200_RESPONSE = "RMAPIService/SuccessGetTitleList.json";
+
+  @Autowired
+  private ConfigurationService configurationService;
+
+  @Override
+  protected String getSpringConfiguration() {
+    return "org.folio.spring.EtagTestConfig";
+  }
+
+  @Before
+  public void setUp(TestContext context) {
+    super.setUp(context);
+    final Async async = context.async();
+    final int serverPort = Integer.parseInt(System.getProperty("serverPort", Integer.toString(51234)));
+    final HttpServer server = vertx.createHttpServer();
+    server.requestHandler(req -> {
+      if (req.path().equals("/rm/rmaccounts/test/titles/99999")) {
+        req.response().setStatusCode(200).putHeader("content-type", "application/json")
+          .end(readMockFile(MOCK_RMAPI_TITLE_200_RESPONSE));
+      } else if (req.path().equals("/rm/rmaccounts/test/titles")) {
+        req.response().setStatusCode(200).putHeader("content-type", "application/json")
+          .end(readMockFile(MOCK_RMAPI_TITLE_LIST_200_RESPONSE));
+      } else {
+        req.response().setStatusCode(500).end("Unexpected call: " + req.path());
+      }
+    });
+    server.listen(serverPort, "localhost", ar -> async.complete());
+
+    SpringContextUtil.autowireDependenciesFromFirstContext(this, vertx);
+    doReturn(CompletableFuture.completedFuture(
+      Configuration.builder()
+        .customerId("test")
+        .apiKey("8675309")
+        .url("http://localhost:" + serverPort)
+        .configValid(true).build()))
+      .when(configurationService).retrieveConfiguration(any());
+  }
+
+  @Test
+  public void getCodexInstancesByIdReturnsSameEtagForSameInstance() {
+    String etag = get("/codex-instances/99999").getHeader("ETag");
+
+    Response response = get("/codex-instances/99999");
+
+    assertNotNull(etag);
+    assertEquals(etag, response.getHeader("ETag"));
+    assertEquals("99999", response.jsonPath().getString("id"));
+  }
+
+  @Test
+  public void getCodexInstancesReturnsCacheControl() {
+    Response response = get("/codex-instances?query=title=Bridget Jones");
+
+    assertNotNull(response.getHeader("ETag"));
+    assertEquals(EtagTestConfig.CACHE_CONTROL, response.getHeader("Cache-Control"));
+  }
+
+  private Response get(String path) {
+    return RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+      .get(path)
+        .then()
+          .log()
+          .ifValidationFails()
+          .statusCode(200).extract().response();
+  }
+}
@@ -0,0 +1,164 @@
+package org.folio.rest.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+import static org.folio.utils.Utils.readMockFile;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.vertx.core.http.HttpServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.folio.holdingsiq.model.Configuration;
+import org.folio.holdingsiq.service.ConfigurationService;
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.InstanceCollection;
+import org.folio.spring.SpringContextUtil;
+
+/**
+ * Exact identifier and id searches with the identifier index and the instance record cache enabled.
+ */
+@RunWith(VertxUnitRunner.class)
+public class CodexInstancesIdentifierIndexTest extends VertxTestBase {
+
+  private static final String MOCK_RMAPI_TITLE_200_RESPONSE = "RMAPIService/SuccessGetTitleById.json";
+  private static final String MOCK_RMAPI_SHARED_ISBN_TITLES_200_RESPONSE = "RMAPIService/SuccessGetTitleListSharedIsbn.json";
+  private static final String SHARED_ISBN = "999-9-9999-9999-9";
+
+  private final AtomicInteger identifierSearches = new AtomicInteger();
+  private final AtomicInteger titleFetches = new AtomicInteger();
+
+  @Autowired
+  private ConfigurationService configurationService;
+
+  @Override
+  protected String getSpringConfiguration() {
+    return "org.folio.spring.CachingTestConfig";
+  }
+
+  @Before
+  public void setUp(TestContext context) {
+    super.setUp(context);
+    final Async async = context.async();
+    final int serverPort = Integer.parseInt(System.getProperty("serverPort", Integer.toString(51234)));
+    final HttpServer server = vertx.createHttpServer();
+    server.requestHandler(req -> {
+      if (req.path().equals("/rm/rmaccounts/test/titles/99999")) {
+        titleFetches.incrementAndGet();
+        req.response().setStatusCode(200).putHeader("content-type", "application/json")
+          .end(readMockFile(MOCK_RMAPI_TITLE_200_RESPONSE));
+      } else if (req.path().equals("/rm/rmaccounts/test/titles") && req.uri().contains("searchfield=isxn")) {
+        identifierSearches.incrementAndGet();
+        req.response().setStatusCode(200).putHeader("content-type", "application/json")
+          .end(readMockFile(MOCK_RMAPI_SHARED_ISBN_TITLES_200_RESPONSE));
+      } else {
+        req.response().setStatusCode(500).end("Unexpected call: " + req.path());
+      }
+    });
+    server.listen(serverPort, "localhost", ar -> async.complete());
+
+    SpringContextUtil.autowireDependenciesFromFirstContext(this, vertx);
+    doReturn(CompletableFuture.completedFuture(
+      Configuration.builder()
+        .customerId("test")
+        .apiKey("8675309")
+        .url("http://localhost:" + serverPort)
+        .configValid(true).build()))
+      .when(configurationService).retrieveConfiguration(any());
+  }
+
+  @Test
+  public void shouldNotAnswerFromTitleSeenOutsideIdentifierSearch() {
+    RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+      .get("/codex-instances/99999")
+        .then()
+          .statusCode(200);
+
+    InstanceCollection instances = searchSharedIsbn();
+
+    assertEquals(1, identifierSearches.get());
+    assertEquals(2, (int) instances.getResultInfo().getTotalRecords());
+    assertEquals(2, instances.getInstances().size());
+  }
+
+  @Test
+  public void shouldNotAnswerLookupByIdFromIdentifierSearch() {
+    searchSharedIsbn();
+
+    Instance instance = RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+      .get("/codex-instances/99999")
+        .then()
+          .statusCode(200).extract().as(Instance.class);
+
+    assertEquals(1, titleFetches.get());
+    assertEquals("99999", instance.getId());
+  }
+
+  @Test
+  public void shouldAnswerRepeatedIdentifierSearchFromIndex() {
+    InstanceCollection first = searchSharedIsbn();
+    InstanceCollection second = searchSharedIsbn();
+
+    assertEquals(1, identifierSearches.get());
+    assertEquals(first.getResultInfo().getTotalRecords(), second.getResultInfo().getTotalRecords());
+    assertEquals("99999", second.getInstances().get(0).getId());
+    assertEquals("99998", second.getInstances().get(1).getId());
+  }
+
+  @Test
+  public void shouldAnswerRepeatedIdSearchFromRecordCache() {
+    InstanceCollection first = searchId("99999");
+    InstanceCollection second = searchId("99999");
+
+    assertEquals(1, titleFetches.get());
+    assertEquals(1, (int) second.getResultInfo().getTotalRecords());
+    assertEquals(first.getInstances().get(0).getTitle(), second.getInstances().get(0).getTitle());
+  }
+
+  private InstanceCollection searchId(String id) {
+    return RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+      .get("/codex-instances?query=id=" + id)
+        .then()
+          .contentType(ContentType.JSON)
+          .log()
+          .ifValidationFails()
+          .statusCode(200).extract().as(InstanceCollection.class);
+  }
+
+  private InstanceCollection searchSharedIsbn() {
+    return RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+      .get("/codex-instances?query=identifier=" + SHARED_ISBN)
+        .then()
+          .contentType(ContentType.JSON)
+          .log()
+          .ifValidationFails()
+          .statusCode(200).extract().as(InstanceCollection.class);
+  }
+}
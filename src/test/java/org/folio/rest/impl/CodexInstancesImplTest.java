@@ -6,12 +6,18 @@ import static org.mockito.Mockito.doReturn;
 
 import static org.folio.utils.Utils.readMockFile;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
@@ -24,6 +30,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.folio.holdingsiq.model.Configuration;
 import org.folio.holdingsiq.service.ConfigurationService;
 import org.folio.holdingsiq.service.exception.ConfigurationServiceException;
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.InstanceCollection;
 import org.folio.spring.SpringContextUtil;
 
 @RunWith(VertxUnitRunner.class)
@@ -35,6 +43,9 @@ public class CodexInstancesImplTest extends VertxTestBase {
 
   private static final String SEARCH_TITLE_COLLECTION_WHEN_SEARCH_FIELD_NOT_GIVEN_SUCCESS_QUERY = "Bridget Jones";
   private static final String SEARCH_TITLE_COLLECTION_FAILS_UNSUPPORTED_QUERY = "title = Bridget Jones or publisher = xyz";
+  private static final String SEARCH_TITLE_QUERY = "title = \"Bridget Jones\"";
+  private static final String SEARCH_PUBLISHER_QUERY = "publisher = \"Test Publisher\"";
+  private static final int MAX_BATCH_IDS = 1000;
 
   @Autowired
   private ConfigurationService configurationService;
@@ -57,6 +68,9 @@ public class CodexInstancesImplTest extends VertxTestBase {
         if (req.uri().contains("searchfield=titlename&selection=all&resourcetype=all&searchtype=advanced&search=Bridget+Jones&offset=1&count=10&orderby=titlename")) {
           req.response().setStatusCode(200).putHeader("content-type", "application/json")
             .end(readMockFile(MOCK_CODEX_INSTANCE_TITLE_COLLECTION_200_RESPONSE_WHEN_FOUND));
+        } else if (req.uri().contains("searchfield=publisher") && req.uri().contains("search=Test+Publisher&offset=1&count=10")) {
+          req.response().setStatusCode(200).putHeader("content-type", "application/json")
+            .end(readMockFile(MOCK_CODEX_INSTANCE_TITLE_COLLECTION_200_RESPONSE_WHEN_FOUND));
         } else {
           req.response().setStatusCode(500).end("Unexpected call: " + req.path());
         }
@@ -252,6 +266,26 @@ public class CodexInstancesImplTest extends VertxTestBase {
     logger.info("Test done");
   }
 
+  @Test
+  public void getCodexInstancesIdSearchRMAPIErrorTest(TestContext context) {
+    logger.info("Testing for response when the RM API fails an id search");
+
+    RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+        .header(contentTypeHeader)
+      .get(String.format("/codex-instances?query=id=%d", 2))
+        .then()
+          .log()
+          .ifValidationFails()
+          .statusCode(500);
+
+    // Test done
+    logger.info("Test done");
+  }
+
   @Test
   public void getCodexInstancesHandlesInvalidQueryTest(TestContext context) {
     logger.info("Test when query is invalid, exception is thrown");
@@ -291,4 +325,136 @@ public class CodexInstancesImplTest extends VertxTestBase {
     // Test done
     logger.info("Test done");
   }
+
+  @Test
+  public void getCodexInstancesReturnsOnlyRequestedFields(TestContext context) {
+    final InstanceCollection instances = getInstances(SEARCH_TITLE_QUERY + " and ext.fields = \"id title\"");
+
+    Instance instance = instances.getInstances().get(1);
+    context.assertEquals("888888", instance.getId());
+    context.assertEquals("Test Title 2", instance.getTitle());
+    context.assertNull(instance.getPublisher());
+  }
+
+  @Test
+  public void getCodexInstancesMergesOrBranches(TestContext context) {
+    final InstanceCollection instances = getInstances(SEARCH_TITLE_QUERY + " or " + SEARCH_PUBLISHER_QUERY);
+
+    context.assertEquals(2, instances.getResultInfo().getTotalRecords());
+    context.assertEquals(2, instances.getInstances().size());
+    context.assertEquals("Test Title 1", instances.getInstances().get(0).getTitle());
+    context.assertEquals("Test Title 2", instances.getInstances().get(1).getTitle());
+  }
+
+  @Test
+  public void getCodexInstancesIdListReturnsFoundAndMissing(TestContext context) {
+    final InstanceCollection instances = getInstances("id = 99999 or id = 1");
+
+    context.assertEquals(1, instances.getResultInfo().getTotalRecords());
+    context.assertEquals("99999", instances.getInstances().get(0).getId());
+    context.assertEquals("1", instances.getResultInfo().getDiagnostics().get(0).getQuery());
+  }
+
+  @Test
+  public void postCodexInstancesBatchReturnsFoundAndMissing(TestContext context) {
+    final InstanceCollection instances = postBatch("99999", "1")
+      .then()
+        .contentType(ContentType.JSON)
+        .log()
+        .ifValidationFails()
+        .statusCode(200).extract().as(InstanceCollection.class);
+
+    context.assertEquals(1, instances.getResultInfo().getTotalRecords());
+    context.assertEquals("99999", instances.getInstances().get(0).getId());
+    context.assertEquals(1, instances.getResultInfo().getDiagnostics().size());
+    context.assertEquals("1", instances.getResultInfo().getDiagnostics().get(0).getQuery());
+  }
+
+  @Test
+  public void postCodexInstancesBatchReturnsCborWhenAccepted(TestContext context) throws IOException {
+    final byte[] body = RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+        .header(contentTypeHeader)
+        .header("Accept", "application/cbor")
+        .body(new JsonObject().put("ids", new JsonArray().add("99999")).encode())
+      .post("/codex-instances-batch")
+        .then()
+          .contentType("application/cbor")
+          .log()
+          .ifValidationFails()
+          .statusCode(200).extract().asByteArray();
+
+    final InstanceCollection instances = new ObjectMapper(new CBORFactory()).readValue(body, InstanceCollection.class);
+    context.assertEquals(1, instances.getResultInfo().getTotalRecords());
+    context.assertEquals("99999", instances.getInstances().get(0).getId());
+  }
+
+  @Test
+  public void postCodexInstancesBatchReturns400ForInvalidId() {
+    postBatch("99999", "abc")
+      .then()
+        .log()
+        .ifValidationFails()
+        .statusCode(400);
+  }
+
+  @Test
+  public void postCodexInstancesBatchReturns422ForBodyWithoutIds() {
+    RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+        .header(contentTypeHeader)
+        .body(new JsonObject().put("id", "1").encode())
+      .post("/codex-instances-batch")
+        .then()
+          .log()
+          .ifValidationFails()
+          .statusCode(422);
+  }
+
+  @Test
+  public void postCodexInstancesBatchReturns400ForTooManyIds() {
+    String[] ids = new String[MAX_BATCH_IDS + 1];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = Integer.toString(i);
+    }
+
+    postBatch(ids)
+      .then()
+        .log()
+        .ifValidationFails()
+        .statusCode(400);
+  }
+
+  private InstanceCollection getInstances(String query) {
+    return RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+        .header(contentTypeHeader)
+        .queryParam("query", query)
+      .get("/codex-instances")
+        .then()
+          .contentType(ContentType.JSON)
+          .log()
+          .ifValidationFails()
+          .statusCode(200).extract().as(InstanceCollection.class);
+  }
+
+  private Response postBatch(String... ids) {
+    return RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+        .header(contentTypeHeader)
+        .body(new JsonObject().put("ids", new JsonArray(Arrays.asList((Object[]) ids))).encode())
+      .post("/codex-instances-batch");
+  }
 }
@@ -3,10 +3,12 @@ package org.folio.rest.impl;
 import static org.folio.utils.Utils.readMockFile;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -25,7 +27,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -36,6 +41,7 @@ public class CodexPackagesImplTest extends VertxTestBase {
   private static final String MOCK_RMAPI_INSTANCE_PACKAGE_200_RESPONSE_WHEN_FOUND = "RMAPIService/SuccessGetPackageById.json";
   private static final String MOCK_RMAPI_INSTANCE_PACKAGE_404_RESPONSE_WHEN_NOT_FOUND = "RMAPIConfiguration/mock_content_fail_404.json";
   private static final String MOCK_RMAPI_PACKAGES_200_RESPONSE = "RMAPIService/SuccessGetPackageList.json";
+  private static final String MOCK_RMAPI_PEDIATRICS_PACKAGES_200_RESPONSE = "RMAPIService/SuccessGetPackageListPediatrics.json";
 
   private static final String CUSTOMER_ID = "test";
   private static final String VENDOR_ID = "111";
@@ -47,6 +53,8 @@ public class CodexPackagesImplTest extends VertxTestBase {
   private static final String NOT_MOCKED_QUERY = "name = abc";
   private static final String INVALID_SEARCH_PACKAGES_QUERY = "name = Academy or id = 22";
   private static final String GET_PACKAGES_SUCCESSFUL_RM_API_URL = "/rm/rmaccounts/test/packages?selection=all&contenttype=all&search=Academy&offset=1&count=10&orderby=packagename";
+  private static final String GET_PEDIATRICS_PACKAGES_RM_API_URL = "/rm/rmaccounts/test/packages?selection=all&contenttype=all&search=Pediatrics&offset=1&count=10&orderby=packagename";
+  private static final int MAX_BATCH_IDS = 1000;
 
   @Autowired
   private ConfigurationService configurationService;
@@ -75,6 +83,9 @@ public class CodexPackagesImplTest extends VertxTestBase {
       } else if (req.uri().equals(GET_PACKAGES_SUCCESSFUL_RM_API_URL)) {
         req.response().setStatusCode(200).putHeader("content-type", "application/json")
           .end(readMockFile(MOCK_RMAPI_PACKAGES_200_RESPONSE));
+      } else if (req.uri().equals(GET_PEDIATRICS_PACKAGES_RM_API_URL)) {
+        req.response().setStatusCode(200).putHeader("content-type", "application/json")
+          .end(readMockFile(MOCK_RMAPI_PEDIATRICS_PACKAGES_200_RESPONSE));
       } else {
         req.response().setStatusCode(500).end("Unexpected call: " + req.path());
       }
@@ -245,7 +256,7 @@ public class CodexPackagesImplTest extends VertxTestBase {
       .header(contentTypeHeader)
       .header(urlHeader)
       .header(tokenHeader)
-      .get("/codex-packages?query=" + INVALID_SEARCH_PACKAGES_QUERY)
+      .get("/codex-packages?query=" + SEARCH_PACKAGES_QUERY)
       .then()
       .log()
       .ifValidationFails()
@@ -254,6 +265,29 @@ public class CodexPackagesImplTest extends VertxTestBase {
     logger.info("Test done");
   }
 
+  @Test
+  public void getCodexPackagesReturns400ForInvalidQueryBeforeRetrievingConfiguration() {
+    logger.info("Test getCodexPackagesReturns400ForInvalidQueryBeforeRetrievingConfiguration");
+
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    future.completeExceptionally(new ConfigurationServiceException("UnAuthorized to access RM API Configuration", 401));
+    doReturn(future).when(configurationService).retrieveConfiguration(any());
+
+    RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(contentTypeHeader)
+      .header(urlHeader)
+      .header(tokenHeader)
+      .get("/codex-packages?query=" + INVALID_SEARCH_PACKAGES_QUERY)
+      .then()
+      .log()
+      .ifValidationFails()
+      .statusCode(400);
+
+    logger.info("Test done");
+  }
+
   @Test
   public void getCodexPackagesReturns500WhenHoldingIQReturns500() {
     logger.info("Test getCodexPackagesReturns500WhenHoldingIQReturns500");
@@ -273,6 +307,47 @@ public class CodexPackagesImplTest extends VertxTestBase {
     logger.info("Test done");
   }
 
+  @Test
+  public void getCodexPackagesIdSearchReturnsEmptyCollectionWhenPackageNotFound() {
+    logger.info("Test getCodexPackagesIdSearchReturnsEmptyCollectionWhenPackageNotFound");
+
+    final PackageCollection response = RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(contentTypeHeader)
+      .header(urlHeader)
+      .header(tokenHeader)
+      .get("/codex-packages?query=id=" + VENDOR_ID + "-" + INVALID_PACKAGE_ID)
+      .then()
+      .log()
+      .ifValidationFails()
+      .statusCode(200).extract().as(PackageCollection.class);
+
+    assertEquals(0, (int) response.getResultInfo().getTotalRecords());
+    assertTrue(response.getPackages().isEmpty());
+
+    logger.info("Test done");
+  }
+
+  @Test
+  public void getCodexPackagesIdSearchReturns500WhenHoldingIQReturns500() {
+    logger.info("Test getCodexPackagesIdSearchReturns500WhenHoldingIQReturns500");
+
+    RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(contentTypeHeader)
+      .header(urlHeader)
+      .header(tokenHeader)
+      .get("/codex-packages?query=id=" + NOT_MOCKED_CODEX_PACKAGE_ID)
+      .then()
+      .log()
+      .ifValidationFails()
+      .statusCode(500);
+
+    logger.info("Test done");
+  }
+
   @Test
   public void getCodexPackagesReturns400WhenQueryIsMissing() {
     logger.info("Test getCodexPackagesReturns400WhenQueryIsMissing");
@@ -345,7 +420,7 @@ public class CodexPackagesImplTest extends VertxTestBase {
       .header(urlHeader)
       .header(tokenHeader)
       .header(contentTypeHeader)
-      .get(String.format("/codex-packages?query=id=%s", NOT_MOCKED_CODEX_PACKAGE_ID))
+      .get(String.format("/codex-packages?query=id=%s-%s", VENDOR_ID, INVALID_PACKAGE_ID))
       .then()
       .contentType(ContentType.JSON)
       .log()
@@ -357,4 +432,130 @@ public class CodexPackagesImplTest extends VertxTestBase {
 
     logger.info("Test done");
   }
+
+  @Test
+  public void getCodexPackagesReturnsOnlyRequestedFields() {
+    final PackageCollection response = RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .header(contentTypeHeader)
+      .queryParam("query", SEARCH_PACKAGES_QUERY + " and ext.fields = \"id name\"")
+      .get("/codex-packages")
+      .then()
+      .contentType(ContentType.JSON)
+      .log()
+      .ifValidationFails()
+      .statusCode(200).extract().as(PackageCollection.class);
+
+    Package firstPackage = response.getPackages().get(0);
+    assertEquals("392-3007", firstPackage.getId());
+    assertEquals("American Academy of Family Physicians", firstPackage.getName());
+    assertNull(firstPackage.getProvider());
+  }
+
+  @Test
+  public void getCodexPackagesMergesOrBranches() {
+    final PackageCollection response = RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .header(contentTypeHeader)
+      .queryParam("query", SEARCH_PACKAGES_QUERY + " or name = Pediatrics")
+      .get("/codex-packages")
+      .then()
+      .contentType(ContentType.JSON)
+      .log()
+      .ifValidationFails()
+      .statusCode(200).extract().as(PackageCollection.class);
+
+    assertEquals(6, (int) response.getResultInfo().getTotalRecords());
+    assertEquals(6, response.getPackages().size());
+    assertEquals("American Academy of Family Physicians", response.getPackages().get(0).getName());
+    assertEquals("Pediatrics in Review", response.getPackages().get(5).getName());
+  }
+
+  @Test
+  public void getCodexPackagesIdListReturnsFoundAndMissing() {
+    final PackageCollection response = RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .header(contentTypeHeader)
+      .queryParam("query", "id = " + CODEX_PACKAGE_ID + " or id = " + VENDOR_ID + "-" + INVALID_PACKAGE_ID)
+      .get("/codex-packages")
+      .then()
+      .contentType(ContentType.JSON)
+      .log()
+      .ifValidationFails()
+      .statusCode(200).extract().as(PackageCollection.class);
+
+    assertEquals(1, (int) response.getResultInfo().getTotalRecords());
+    assertEquals(1, response.getPackages().size());
+    assertEquals(VENDOR_ID + "-" + INVALID_PACKAGE_ID, response.getResultInfo().getDiagnostics().get(0).getQuery());
+  }
+
+  @Test
+  public void postCodexPackagesBatchReturnsFoundAndMissing() {
+    final PackageCollection response = postBatch(CODEX_PACKAGE_ID, VENDOR_ID + "-" + INVALID_PACKAGE_ID)
+      .then()
+      .contentType(ContentType.JSON)
+      .log()
+      .ifValidationFails()
+      .statusCode(200).extract().as(PackageCollection.class);
+
+    assertEquals(1, (int) response.getResultInfo().getTotalRecords());
+    assertEquals(1, response.getPackages().size());
+    assertEquals(1, response.getResultInfo().getDiagnostics().size());
+    assertEquals(VENDOR_ID + "-" + INVALID_PACKAGE_ID, response.getResultInfo().getDiagnostics().get(0).getQuery());
+  }
+
+  @Test
+  public void postCodexPackagesBatchReturns400ForInvalidId() {
+    postBatch(CODEX_PACKAGE_ID, "abc")
+      .then()
+      .log()
+      .ifValidationFails()
+      .statusCode(400);
+  }
+
+  @Test
+  public void postCodexPackagesBatchReturns422ForBodyWithoutIds() {
+    RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+        .header(contentTypeHeader)
+        .body(new JsonObject().put("id", "1").encode())
+      .post("/codex-packages-batch")
+        .then()
+          .log()
+          .ifValidationFails()
+          .statusCode(422);
+  }
+
+  @Test
+  public void postCodexPackagesBatchReturns400ForTooManyIds() {
+    String[] ids = new String[MAX_BATCH_IDS + 1];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = VENDOR_ID + "-" + i;
+    }
+
+    postBatch(ids)
+      .then()
+      .log()
+      .ifValidationFails()
+      .statusCode(400);
+  }
+
+  private Response postBatch(String... ids) {
+    return RestAssured
+      .given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .header(contentTypeHeader)
+      .body(new JsonObject().put("ids", new JsonArray(Arrays.asList((Object[]) ids))).encode())
+      .post("/codex-packages-batch");
+  }
 }
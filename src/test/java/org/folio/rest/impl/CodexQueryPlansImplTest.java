@@ -0,0 +1,148 @@
+package org.folio.rest.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+import static org.folio.utils.Utils.readMockFile;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.holdingsiq.model.Configuration;
+import org.folio.holdingsiq.service.ConfigurationService;
+import org.folio.rest.jaxrs.model.CompressionStatistics;
+import org.folio.rest.jaxrs.model.ConversionStatistics;
+import org.folio.rest.jaxrs.model.InstanceCollection;
+import org.folio.rest.jaxrs.model.QueryPlanStatistics;
+import org.folio.rest.jaxrs.model.QueryPlanStatisticsCollection;
+import org.folio.spring.SpringContextUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class CodexQueryPlansImplTest extends VertxTestBase {
+
+  private static final String MOCK_RMAPI_TITLE_LIST_200_RESPONSE = "RMAPIService/SuccessGetTitleList.json";
+  private static final String MOCK_RMAPI_TITLE_200_RESPONSE = "RMAPIService/SuccessGetTitleById.json";
+
+  @Autowired
+  private ConfigurationService configurationService;
+
+  @Override
+  protected String getSpringConfiguration() {
+    return "org.folio.spring.CompressionTestConfig";
+  }
+
+  @Before
+  public void setUp(TestContext context) {
+    super.setUp(context);
+    final Async async = context.async();
+    final int serverPort = Integer.parseInt(System.getProperty("serverPort", Integer.toString(51234)));
+    final HttpServer server = vertx.createHttpServer();
+    server.requestHandler(req -> {
+      if (req.path().equals("/rm/rmaccounts/test/titles")) {
+        req.response().setStatusCode(200).putHeader("content-type", "application/json")
+          .end(readMockFile(MOCK_RMAPI_TITLE_LIST_200_RESPONSE));
+      } else if (req.path().equals("/rm/rmaccounts/test/titles/99999")) {
+        req.response().setStatusCode(200).putHeader("content-type", "application/json")
+          .end(readMockFile(MOCK_RMAPI_TITLE_200_RESPONSE));
+      } else {
+        req.response().setStatusCode(500).end("Unexpected call: " + req.path());
+      }
+    });
+    server.listen(serverPort, "localhost", ar -> async.complete());
+
+    SpringContextUtil.autowireDependenciesFromFirstContext(this, vertx);
+    doReturn(CompletableFuture.completedFuture(
+      Configuration.builder()
+        .customerId("test")
+        .apiKey("8675309")
+        .url("http://localhost:" + serverPort)
+        .configValid(true).build()))
+      .when(configurationService).retrieveConfiguration(any());
+  }
+
+  @Test
+  public void getCodexQueryPlansCountsSearchAndConversion() {
+    RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+      .get("/codex-instances?query=title=Bridget Jones")
+        .then()
+          .log()
+          .ifValidationFails()
+          .statusCode(200);
+
+    final QueryPlanStatisticsCollection response = RestAssured
+      .given()
+        .header(tenantHeader)
+      .get("/_/codex-query-plans")
+        .then()
+          .contentType(ContentType.JSON)
+          .log()
+          .ifValidationFails()
+          .statusCode(200).extract().as(QueryPlanStatisticsCollection.class);
+
+    assertEquals(response.getTotalRecords().intValue(), response.getPlans().size());
+    long searches = 0;
+    for (QueryPlanStatistics statistics : response.getPlans()) {
+      if ("instances".equals(statistics.getResource()) && "search".equals(statistics.getStrategy())) {
+        searches = statistics.getCount();
+      }
+    }
+    assertEquals(1, searches);
+
+    ConversionStatistics conversions = response.getConversions();
+    assertNotNull(conversions);
+    assertEquals(1, conversions.getEventLoopConversions() + conversions.getOffloadedConversions());
+    assertTrue(conversions.getMaxEventLoopMillis() <= conversions.getEventLoopMillis());
+  }
+
+  @Test
+  public void getCodexQueryPlansReportsCompressionOfBatchResponse() {
+    final InstanceCollection instances = RestAssured
+      .given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(tokenHeader)
+        .header(contentTypeHeader)
+        .header("Accept-Encoding", "gzip")
+        .body(new JsonObject().put("ids", new JsonArray().add("99999")).encode())
+      .post("/codex-instances-batch")
+        .then()
+          .log()
+          .ifValidationFails()
+          .statusCode(200).extract().as(InstanceCollection.class);
+    assertEquals("99999", instances.getInstances().get(0).getId());
+
+    final CompressionStatistics compression = RestAssured
+      .given()
+        .header(tenantHeader)
+      .get("/_/codex-query-plans")
+        .then()
+          .contentType(ContentType.JSON)
+          .log()
+          .ifValidationFails()
+          .statusCode(200).extract().as(QueryPlanStatisticsCollection.class).getCompression();
+
+    assertEquals(1, (long) compression.getCompressedResponses());
+    assertTrue(compression.getCompressedBytes() > 0);
+    assertEquals((double) compression.getCompressedBytes() / compression.getUncompressedBytes(),
+      compression.getCompressionRatio(), 0.0001);
+  }
+}
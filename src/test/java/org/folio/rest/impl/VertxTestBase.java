@@ -41,7 +41,7 @@ public class VertxTestBase {
 
     final JsonObject conf = new JsonObject();
     conf.put("http.port", okapiPort);
-    conf.put("spring.configuration", "org.folio.spring.TestConfig");
+    conf.put("spring.configuration", getSpringConfiguration());
 
     final DeploymentOptions opt = new DeploymentOptions().setConfig(conf);
     vertx.deployVerticle(RestVerticle.class.getName(), opt, event -> {
@@ -57,6 +57,13 @@ public class VertxTestBase {
     async.awaitSuccess();
   }
 
+  /**
+   * Spring configuration the module is deployed with, tests needing other beans can extend {@code TestConfig}.
+   */
+  protected String getSpringConfiguration() {
+    return "org.folio.spring.TestConfig";
+  }
+
   @After
   public void tearDown(TestContext context) {
     logger.info("Codex Instances Resource Testing Complete");
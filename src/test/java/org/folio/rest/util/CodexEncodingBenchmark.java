@@ -0,0 +1,95 @@
+package org.folio.rest.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.folio.holdingsiq.model.Title;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.folio.converter.hld2cdx.ContributorConverter;
+import org.folio.converter.hld2cdx.IdentifierConverter;
+import org.folio.converter.hld2cdx.SubjectConverter;
+import org.folio.converter.hld2cdx.TitleConverter;
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.InstanceCollection;
+import org.folio.rest.jaxrs.model.ResultInfo;
+
+/**
+ * Serialization time of a full page of instances in each {@link CodexEncoding}, the encoded sizes are printed before
+ * the benchmark starts.
+ *
+ * Not run by the build, start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.folio.rest.util.CodexEncodingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodexEncodingBenchmark {
+
+  private static final String TITLE_FILE = "RMAPIService/SuccessGetTitleById.json";
+  private static final int PAGE_SIZE = 100;
+
+  @Param({"JSON", "CBOR", "SMILE"})
+  private CodexEncoding encoding;
+
+  private InstanceCollection page;
+
+  @Setup
+  public void setUp() throws IOException {
+    page = createPage();
+  }
+
+  @Benchmark
+  public byte[] encodePage() {
+    return encoding.encode(page);
+  }
+
+  public static void main(String[] args) throws RunnerException, IOException {
+    InstanceCollection page = createPage();
+    for (CodexEncoding encoding : CodexEncoding.values()) {
+      System.out.println(encoding + ": " + encoding.encode(page).length + " bytes for " + PAGE_SIZE + " instances");
+    }
+    new Runner(new OptionsBuilder()
+      .include(CodexEncodingBenchmark.class.getSimpleName())
+      .build()).run();
+  }
+
+  static InstanceCollection createPage() throws IOException {
+    ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    Title title;
+    try (InputStream stream = CodexEncodingBenchmark.class.getClassLoader().getResourceAsStream(TITLE_FILE)) {
+      title = mapper.readValue(stream, Title.class);
+    }
+    TitleConverter converter = new TitleConverter(new IdentifierConverter(), new ContributorConverter(),
+      new SubjectConverter());
+
+    List<Instance> instances = new ArrayList<>(PAGE_SIZE);
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      instances.add(converter.convert(title).withId(Integer.toString(i)));
+    }
+    return new InstanceCollection()
+      .withInstances(instances)
+      .withResultInfo(new ResultInfo().withTotalRecords(PAGE_SIZE));
+  }
+}
@@ -0,0 +1,102 @@
+package org.folio.rest.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.Test;
+
+import org.folio.rest.jaxrs.model.Contributor;
+import org.folio.rest.jaxrs.model.Identifier;
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.InstanceCollection;
+import org.folio.rest.jaxrs.model.Package;
+import org.folio.rest.jaxrs.model.PackageCollection;
+import org.folio.rest.jaxrs.model.ResultInfo;
+import org.folio.rest.tools.utils.ObjectMapperTool;
+
+public class CodexEncodingTest {
+
+  @Test
+  public void shouldWriteInstanceCollectionLikeRMB() throws IOException {
+    InstanceCollection collection = instances();
+
+    assertArrayEquals(rmbEncode(collection), CodexEncoding.JSON.encode(collection));
+  }
+
+  @Test
+  public void shouldWritePackageCollectionLikeRMB() throws IOException {
+    PackageCollection collection = new PackageCollection()
+      .withPackages(Arrays.asList(new Package().withId("19-5207").withName("EBSCO eBooks").withItemCount(100)))
+      .withResultInfo(new ResultInfo().withTotalRecords(1));
+
+    assertArrayEquals(rmbEncode(collection), CodexEncoding.JSON.encode(collection));
+  }
+
+  @Test
+  public void shouldWriteSameFieldsInCbor() throws IOException {
+    InstanceCollection collection = instances();
+
+    byte[] cbor = CodexEncoding.CBOR.encode(collection);
+
+    Object decoded = new ObjectMapper(new CBORFactory()).readValue(cbor, Object.class);
+    assertEquals(ObjectMapperTool.getMapper().readValue(rmbEncode(collection), Object.class), decoded);
+  }
+
+  @Test
+  public void shouldWriteSameFieldsInSmile() throws IOException {
+    InstanceCollection collection = instances();
+
+    byte[] smile = CodexEncoding.SMILE.encode(collection);
+
+    Object decoded = new ObjectMapper(new SmileFactory()).readValue(smile, Object.class);
+    assertEquals(ObjectMapperTool.getMapper().readValue(rmbEncode(collection), Object.class), decoded);
+  }
+
+  @Test
+  public void shouldDefaultToJson() {
+    assertEquals(CodexEncoding.JSON, CodexEncoding.fromAccept(null));
+    assertEquals(CodexEncoding.JSON, CodexEncoding.fromAccept("*/*"));
+    assertEquals(CodexEncoding.JSON, CodexEncoding.fromAccept("text/plain"));
+  }
+
+  @Test
+  public void shouldPickEncodingWithHighestQuality() {
+    assertEquals(CodexEncoding.CBOR, CodexEncoding.fromAccept("application/cbor"));
+    assertEquals(CodexEncoding.SMILE,
+      CodexEncoding.fromAccept("application/json;q=0.5, application/x-jackson-smile, application/cbor"));
+    assertEquals(CodexEncoding.JSON, CodexEncoding.fromAccept("application/cbor;q=0, application/json"));
+  }
+
+  @Test
+  public void shouldKeepJsonCacheKey() {
+    assertEquals("a|instance|1", CodexEncoding.JSON.cacheKey("a|instance|1"));
+    assertEquals("a|instance|1|cbor", CodexEncoding.CBOR.cacheKey("a|instance|1"));
+  }
+
+  /**
+   * Serializes the entity the way RMB writes response entities.
+   */
+  private static byte[] rmbEncode(Object entity) throws IOException {
+    return ObjectMapperTool.getMapper().writeValueAsBytes(entity);
+  }
+
+  private static InstanceCollection instances() {
+    Instance instance = new Instance()
+      .withId("1")
+      .withTitle("Tom, Dick and Harry é")
+      .withPublisher("Project Gutenberg")
+      .withType(Instance.Type.EBOOKS)
+      .withSource("kb");
+    instance.getIdentifier().add(new Identifier().withType("ISBN(Print)").withValue("978-1-137-41458-8"));
+    instance.getContributor().add(new Contributor().withName("Reed, Talbot Baines").withType("author"));
+    return new InstanceCollection()
+      .withInstances(Arrays.asList(instance, new Instance().withId("2")))
+      .withResultInfo(new ResultInfo().withTotalRecords(2));
+  }
+}
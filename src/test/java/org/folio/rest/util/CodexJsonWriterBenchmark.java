@@ -0,0 +1,68 @@
+package org.folio.rest.util;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.folio.rest.jaxrs.model.InstanceCollection;
+import org.folio.rest.tools.utils.ObjectMapperTool;
+
+/**
+ * Serialization time and allocation of a full page of instances written by the RMB mapper and by the
+ * {@link CodexJsonWriter}, which write the same bytes.
+ *
+ * Not run by the build, start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.folio.rest.util.CodexJsonWriterBenchmark}
+ * and read bytes per operation from {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodexJsonWriterBenchmark {
+
+  private ObjectWriter mapperWriter;
+  private CodexJsonWriter jsonWriter;
+  private InstanceCollection page;
+
+  @Setup
+  public void setUp() throws IOException {
+    mapperWriter = ObjectMapperTool.getMapper().writerFor(InstanceCollection.class);
+    jsonWriter = new CodexJsonWriter(ObjectMapperTool.getMapper());
+    page = CodexEncodingBenchmark.createPage();
+  }
+
+  @Benchmark
+  public byte[] writeWithMapper() throws IOException {
+    return mapperWriter.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public byte[] writeWithJsonWriter() throws IOException {
+    return jsonWriter.write(page);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(CodexJsonWriterBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build()).run();
+  }
+}
@@ -0,0 +1,100 @@
+package org.folio.rest.util;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import static org.folio.utils.Utils.readMockFile;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.folio.holdingsiq.model.PackageData;
+import org.folio.holdingsiq.model.Title;
+import org.junit.Test;
+
+import org.folio.converter.hld2cdx.ContributorConverter;
+import org.folio.converter.hld2cdx.CoverageConverter;
+import org.folio.converter.hld2cdx.IdentifierConverter;
+import org.folio.converter.hld2cdx.PackageConverter;
+import org.folio.converter.hld2cdx.SubjectConverter;
+import org.folio.converter.hld2cdx.TitleConverter;
+import org.folio.rest.jaxrs.model.Instance;
+import org.folio.rest.jaxrs.model.InstanceCollection;
+import org.folio.rest.jaxrs.model.Package;
+import org.folio.rest.jaxrs.model.PackageCollection;
+import org.folio.rest.jaxrs.model.ResultInfo;
+import org.folio.rest.tools.utils.ObjectMapperTool;
+
+public class CodexJsonWriterTest {
+
+  private static final String TITLE_FILE = "RMAPIService/SuccessGetTitleById.json";
+  private static final String PACKAGE_FILE = "RMAPIService/SuccessGetPackageById.json";
+
+  private final CodexJsonWriter writer = new CodexJsonWriter(ObjectMapperTool.getMapper());
+
+  @Test
+  public void shouldWriteConvertedInstancesLikeMapper() throws IOException {
+    InstanceCollection collection = new InstanceCollection()
+      .withInstances(Arrays.asList(convertTitle().withId("1"), convertTitle().withId("2")))
+      .withResultInfo(new ResultInfo().withTotalRecords(2));
+
+    assertArrayEquals(mapperEncode(collection), writer.write(collection));
+  }
+
+  @Test
+  public void shouldWriteConvertedPackagesLikeMapper() throws IOException {
+    PackageCollection collection = new PackageCollection()
+      .withPackages(Collections.singletonList(convertPackage()))
+      .withResultInfo(new ResultInfo().withTotalRecords(1));
+
+    assertArrayEquals(mapperEncode(collection), writer.write(collection));
+  }
+
+  @Test
+  public void shouldWriteSingleRecordsLikeMapper() throws IOException {
+    Instance instance = convertTitle();
+    Package pkg = convertPackage();
+
+    assertArrayEquals(mapperEncode(instance), writer.write(instance));
+    assertArrayEquals(mapperEncode(pkg), writer.write(pkg));
+  }
+
+  @Test
+  public void shouldWriteMissingAndEscapedFieldsLikeMapper() throws IOException {
+    Instance escaped = new Instance().withId("\"1\"\n").withTitle("Tom, Dick and Harry é");
+    InstanceCollection collection = new InstanceCollection()
+      .withInstances(Arrays.asList(new Instance(), escaped))
+      .withResultInfo(new ResultInfo());
+
+    assertArrayEquals(mapperEncode(collection), writer.write(collection));
+    assertArrayEquals(mapperEncode(new InstanceCollection()), writer.write(new InstanceCollection()));
+  }
+
+  @Test
+  public void shouldHandOtherValuesToMapper() throws IOException {
+    Object value = Collections.singletonMap("instances", Arrays.asList(1.5f, (short) 2, null, Instance.Type.EBOOKS));
+
+    assertArrayEquals(mapperEncode(value), writer.write(value));
+  }
+
+  private static byte[] mapperEncode(Object value) throws IOException {
+    return ObjectMapperTool.getMapper().writeValueAsBytes(value);
+  }
+
+  private static Instance convertTitle() throws IOException {
+    TitleConverter converter = new TitleConverter(new IdentifierConverter(), new ContributorConverter(),
+      new SubjectConverter());
+    return converter.convert(read(TITLE_FILE, Title.class));
+  }
+
+  private static Package convertPackage() throws IOException {
+    return new PackageConverter(new CoverageConverter()).convert(read(PACKAGE_FILE, PackageData.class));
+  }
+
+  private static <T> T read(String file, Class<T> type) throws IOException {
+    return new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+      .readValue(readMockFile(file), type);
+  }
+}
@@ -0,0 +1,136 @@
+package org.folio.rest.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.junit.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import org.folio.cache.ResponseCache;
+import org.folio.codex.QueryStrategy;
+import org.folio.rest.jaxrs.model.Instance;
+
+public class CodexResponseFactoryTest {
+
+  private static final String KEY = ResponseCache.key("tenant", "instance", "1");
+  private static final String CACHE_CONTROL = "private, max-age=60";
+
+  private final CodexResponseFactory factory = new CodexResponseFactory(
+    new ResponseCache(true, 1024 * 1024, 60), true, CACHE_CONTROL, new StandardEnvironment());
+
+  @Test
+  public void shouldReturnBodyWithEtag() {
+    Response response = respond(false);
+
+    assertEquals(200, response.getStatus());
+    assertNotNull(response.getHeaderString(HttpHeaders.ETAG));
+    assertNull(response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+  }
+
+  @Test
+  public void shouldReturnSameEtagForCachedBody() {
+    String etag = respond(false).getHeaderString(HttpHeaders.ETAG);
+
+    Response response = respond(false);
+
+    assertEquals(200, response.getStatus());
+    assertEquals(etag, response.getHeaderString(HttpHeaders.ETAG));
+  }
+
+  @Test
+  public void shouldAddCacheControlToCollections() {
+    Response response = respond(true);
+
+    assertEquals(CACHE_CONTROL, response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+  }
+
+  @Test
+  public void shouldNegotiateBinaryEncoding() {
+    String jsonEtag = respond(false).getHeaderString(HttpHeaders.ETAG);
+
+    Response response = factory.respond(new CodexRequest("tenant", false)
+        .withAccept("application/cbor"), KEY,
+      () -> CompletableFuture.completedFuture(new Instance().withId("1")),
+      instance -> Response.ok(instance).build()).join();
+
+    assertEquals(200, response.getStatus());
+    assertEquals("application/cbor", response.getHeaderString(HttpHeaders.CONTENT_TYPE));
+    assertEquals("Accept, Accept-Encoding", response.getHeaderString("Vary"));
+    assertNotEquals(jsonEtag, response.getHeaderString(HttpHeaders.ETAG));
+  }
+
+  @Test
+  public void shouldNegotiateUncachedBinaryEncoding() {
+    ResponseCache responseCache = new ResponseCache(true, 1024 * 1024, 60);
+    CodexResponseFactory uncachedFactory = new CodexResponseFactory(responseCache, false, CACHE_CONTROL,
+      new StandardEnvironment());
+
+    Response response = uncachedFactory.respondUncached(new CodexRequest("tenant", false)
+        .withAccept("application/x-jackson-smile"),
+      () -> CompletableFuture.completedFuture(new Instance().withId("1")),
+      instance -> Response.ok(instance).build()).join();
+
+    assertEquals("application/x-jackson-smile", response.getHeaderString(HttpHeaders.CONTENT_TYPE));
+    assertEquals(0, responseCache.size());
+  }
+
+  @Test
+  public void shouldReportQueryPlanWhenEnabled() {
+    StandardEnvironment environment = new StandardEnvironment();
+    environment.getPropertySources().addFirst(
+      new MapPropertySource("test", Collections.singletonMap("query.plan.header.enabled", "true")));
+    CodexResponseFactory debugFactory = new CodexResponseFactory(new ResponseCache(true, 1024 * 1024, 60),
+      true, CACHE_CONTROL, environment);
+    CodexRequest request = new CodexRequest("tenant", true);
+
+    Response loaded = debugFactory.respond(request, KEY, () -> {
+      request.setStrategy(QueryStrategy.SEARCH);
+      return CompletableFuture.completedFuture(new Instance().withId("1"));
+    }, instance -> Response.ok(instance).build()).join();
+    Response cached = debugFactory.respond(new CodexRequest("tenant", true), KEY,
+      () -> CompletableFuture.completedFuture(new Instance().withId("1")),
+      instance -> Response.ok(instance).build()).join();
+
+    assertEquals("search", loaded.getHeaderString("X-Codex-Query-Plan"));
+    assertEquals("cache", cached.getHeaderString("X-Codex-Query-Plan"));
+    assertNull(respond(true).getHeaderString("X-Codex-Query-Plan"));
+  }
+
+  @Test
+  public void shouldCompressLargeBodyWhenAccepted() {
+    CodexResponseFactory compressingFactory = new CodexResponseFactory(new ResponseCache(true, 1024 * 1024, 60),
+      true, CACHE_CONTROL, new StandardEnvironment(), new ResponseCompressor(true, 0, 6));
+
+    Response response = compressingFactory.respond(
+      new CodexRequest("tenant", false).withAcceptEncoding("gzip"), KEY,
+      () -> CompletableFuture.completedFuture(new Instance().withId("1")),
+      instance -> Response.ok(instance).build()).join();
+
+    assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  @Test
+  public void shouldNotCompressWhenDisabled() {
+    Response response = factory.respond(
+      new CodexRequest("tenant", false).withAcceptEncoding("gzip"), KEY,
+      () -> CompletableFuture.completedFuture(new Instance().withId("1")),
+      instance -> Response.ok(instance).build()).join();
+
+    assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  private Response respond(boolean collection) {
+    return factory.respond(new CodexRequest("tenant", collection), KEY,
+      () -> CompletableFuture.completedFuture(new Instance().withId("1")),
+      instance -> Response.ok(instance).build()).join();
+  }
+}
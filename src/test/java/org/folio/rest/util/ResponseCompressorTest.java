@@ -0,0 +1,74 @@
+package org.folio.rest.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+public class ResponseCompressorTest {
+
+  private final ResponseCompressor compressor = new ResponseCompressor(true, 100, 6);
+
+  @Test
+  public void shouldAcceptGzip() {
+    assertTrue(compressor.accepts("gzip, deflate, br"));
+    assertTrue(compressor.accepts("deflate;q=1, GZIP;q=0.5"));
+    assertTrue(compressor.accepts("*"));
+    assertFalse(compressor.accepts("gzip;q=0"));
+    assertFalse(compressor.accepts("identity"));
+    assertFalse(compressor.accepts(null));
+  }
+
+  @Test
+  public void shouldNotAcceptWhenDisabled() {
+    assertFalse(ResponseCompressor.disabled().accepts("gzip"));
+  }
+
+  @Test
+  public void shouldLeaveSmallBodyUncompressed() {
+    assertNull(compressor.compress(new byte[99]));
+    assertEquals(0, compressor.getCompressedResponses());
+  }
+
+  @Test
+  public void shouldCompressLargeBody() throws IOException {
+    byte[] body = String.join(",", Collections.nCopies(100, "{\"id\":\"1\",\"title\":\"Moby Dick\"}"))
+      .getBytes(StandardCharsets.UTF_8);
+
+    byte[] compressed = compressor.compress(body);
+
+    assertArrayEquals(body, decompress(compressed));
+    assertEquals(1, compressor.getCompressedResponses());
+    assertEquals(body.length, compressor.getUncompressedBytes());
+    assertEquals(compressed.length, compressor.getCompressedBytes());
+    assertTrue(compressor.getCompressionRatio() < 0.2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidLevel() {
+    new ResponseCompressor(true, 100, 10);
+  }
+
+  private static byte[] decompress(byte[] compressed) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      byte[] buffer = new byte[4096];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+    }
+    return out.toByteArray();
+  }
+}
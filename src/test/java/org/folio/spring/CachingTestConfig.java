@@ -0,0 +1,35 @@
+package org.folio.spring;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.cache.IdentifierIndex;
+import org.folio.cache.InstanceRecordCodec;
+import org.folio.cache.OffHeapRecordStore;
+import org.folio.cache.RecordCache;
+import org.folio.rest.jaxrs.model.Instance;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * {@link TestConfig} with the instance record cache and the identifier index enabled.
+ */
+@Configuration
+@Import(TestConfig.class)
+public class CachingTestConfig {
+  private static final int SLAB_SIZE = 1024 * 1024;
+  private static final int SLAB_COUNT = 4;
+  private static final long EXPIRATION_SECONDS = 600;
+
+  @Bean
+  public RecordCache<Instance> instanceRecordCache() {
+    return new RecordCache<>("instances", Collections.singletonList(new OffHeapRecordStore<>(new InstanceRecordCodec(),
+      SLAB_SIZE, SLAB_COUNT, TimeUnit.SECONDS.toMillis(EXPIRATION_SECONDS))));
+  }
+
+  @Bean
+  public IdentifierIndex identifierIndex() {
+    return new IdentifierIndex(true, SLAB_SIZE, EXPIRATION_SECONDS);
+  }
+}
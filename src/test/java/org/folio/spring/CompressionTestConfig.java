@@ -0,0 +1,20 @@
+package org.folio.spring;
+
+import org.folio.rest.util.ResponseCompressor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * {@link TestConfig} with response compression of bodies of any size enabled.
+ */
+@Configuration
+@Import(TestConfig.class)
+public class CompressionTestConfig {
+  private static final int LEVEL = 6;
+
+  @Bean
+  public ResponseCompressor responseCompressor() {
+    return new ResponseCompressor(true, 0, LEVEL);
+  }
+}
@@ -0,0 +1,22 @@
+package org.folio.spring;
+
+import org.folio.cache.ResponseCache;
+import org.folio.rest.util.CodexResponseFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+
+/**
+ * {@link TestConfig} with entity tags and a {@code Cache-Control} header for collections enabled.
+ */
+@Configuration
+@Import(TestConfig.class)
+public class EtagTestConfig {
+  public static final String CACHE_CONTROL = "private, max-age=60";
+
+  @Bean
+  public CodexResponseFactory codexResponseFactory(ResponseCache responseCache, Environment environment) {
+    return new CodexResponseFactory(responseCache, true, CACHE_CONTROL, environment);
+  }
+}